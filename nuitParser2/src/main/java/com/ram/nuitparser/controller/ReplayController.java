@@ -0,0 +1,44 @@
+package com.ram.nuitparser.controller;
+
+import com.ram.nuitparser.service.replay.LogReplayService;
+import com.ram.nuitparser.service.replay.ReplayStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/telex/replay")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ReplayController {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayController.class);
+
+    private final LogReplayService replayService;
+
+    public ReplayController(LogReplayService replayService) {
+        this.replayService = replayService;
+        logger.info("ReplayController initialized");
+    }
+
+    @PostMapping
+    public ResponseEntity<?> startReplay(@RequestParam String path) {
+        logger.info("Received replay request for {}", path);
+        try {
+            return ResponseEntity.accepted().body(replayService.start(path));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected replay request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            logger.warn("Replay already running: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public ReplayStatus getStatus() {
+        return replayService.status();
+    }
+}
@@ -1,14 +1,30 @@
 package com.ram.nuitparser.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ram.nuitparser.enums.TelexType;
 import com.ram.nuitparser.model.telex.TelexMessage;
 import com.ram.nuitparser.service.ParsedTelexHolder;
+import com.ram.nuitparser.service.StoredTelex;
+import com.ram.nuitparser.service.TelexQuery;
+import com.ram.nuitparser.service.TelexQueryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/telex")
@@ -16,32 +32,63 @@ import java.util.List;
 public class TelexController {
     private static final Logger logger = LoggerFactory.getLogger(TelexController.class);
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int EXPORT_FLUSH_INTERVAL = 256;
+    private static final String OLDEST_SEQUENCE_HEADER = "X-Telex-Oldest-Sequence";
+    private static final String MISSED_HEADER = "X-Telex-Missed";
+
     private final ParsedTelexHolder holder;
+    private final ObjectMapper objectMapper;
+    // Flushes every EXPORT_FLUSH_INTERVAL lines instead of after each value
+    private final ObjectWriter exportWriter;
 
-    public TelexController(ParsedTelexHolder holder) {
+    public TelexController(ParsedTelexHolder holder, ObjectMapper objectMapper) {
         this.holder = holder;
+        this.objectMapper = objectMapper;
+        this.exportWriter = objectMapper.writerFor(TelexExportLine.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
         logger.info("TelexController initialized");
     }
 
     @GetMapping
     public ResponseEntity<?> getTelexes(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "50") int size) {
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) TelexType type,
+            @RequestParam(required = false) String flight,
+            @RequestParam(required = false) String departure,
+            @RequestParam(required = false) String arrival,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Long after) {
 
         logger.info("Received request for telex data - page: {}, size: {}", page, size);
 
-        // Get paginated messages and raw telexes
-        List<TelexMessage> messages = holder.getTelexMessages(page, size);
-        List<String> rawTelexes = holder.getRawTelexes(page, size);
+        // Any filter or cursor switches to the indexed keyset path
+        if (type != null || flight != null || departure != null || arrival != null
+                || from != null || to != null || after != null) {
+            TelexQuery query = new TelexQuery(
+                    type != null ? type.name() : null,
+                    upper(flight), upper(departure), upper(arrival),
+                    from, to, after != null ? after : -1, size);
+            TelexQueryResult result = holder.query(query);
+            logger.info("Returning {} filtered telex records, next cursor {}",
+                    result.items().size(), result.nextCursor());
+            return ResponseEntity.ok(new TelexCursorPageResponse(
+                    createResponseList(result.items()), size, result.nextCursor()));
+        }
+
+        // Message and raw body are stored together, so one read gives a consistent page
+        List<StoredTelex> entries = holder.getPage(page, size);
 
         // Handle case where no telexes have been processed
-        if (messages.isEmpty() && rawTelexes.isEmpty()) {
+        if (entries.isEmpty()) {
             logger.warn("No telex data available for page {} - returning 204", page);
             return ResponseEntity.noContent().build();
         }
 
-        logger.debug("Building telex response with {} messages for page {}", messages.size(), page);
-        List<TelexResponse> content = createResponseList(messages, rawTelexes);
+        logger.debug("Building telex response with {} messages for page {}", entries.size(), page);
+        List<TelexResponse> content = createResponseList(entries);
 
         // Add pagination metadata
         long totalCount = holder.getTotalCount();
@@ -56,19 +103,75 @@ public class TelexController {
         return ResponseEntity.ok(response);
     }
 
-    private List<TelexResponse> createResponseList(
-            List<TelexMessage> messages,
-            List<String> rawTelexes
-    ) {
-        // Ensure both lists have the same size
-        int minSize = Math.min(messages.size(), rawTelexes.size());
-
-        // Create a list of responses by iterating through the indices
-        List<TelexResponse> responses = new ArrayList<>(minSize);
-        for (int i = 0; i < minSize; i++) {
-            responses.add(new TelexResponse(rawTelexes.get(i), messages.get(i)));
+    /**
+     * Streams stored telexes as NDJSON, one {@link TelexExportLine} per line, straight to the
+     * response without building the result in memory. Pass the last received {@code sequence}
+     * as {@code after} to resume an export.
+     * <p>
+     * The {@value #OLDEST_SEQUENCE_HEADER} header gives the oldest sequence still retained when the
+     * export started. When resuming from an {@code after} that has been evicted since, the
+     * {@value #MISSED_HEADER} header gives the number of telexes the client will never receive.
+     * Sequences are contiguous, so a jump between two lines also means entries were evicted
+     * while the export was running.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTelexes(
+            @RequestParam(defaultValue = "-1") long after,
+            @RequestParam(defaultValue = "0") long limit) {
+
+        logger.info("Received export request - after: {}, limit: {}", after, limit);
+
+        long oldest = holder.getOldestSequence();
+        // A fresh export (after < 0) starts at whatever is retained; only a resume can lose data
+        long missed = after >= 0 ? Math.max(0, oldest - after - 1) : 0;
+        if (missed > 0) {
+            logger.warn("Export resumed after sequence {}, but the oldest retained is {}: {} telexes missed",
+                    after, oldest, missed);
         }
 
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                long[] written = {0};
+                long last = holder.forEachAfter(after, limit, entry -> {
+                    try {
+                        exportWriter.writeValue(generator, new TelexExportLine(
+                                entry.sequence(), entry.ingestedAt(), entry.raw(), entry.message()));
+                        if (++written[0] % EXPORT_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (written[0] > 0) {
+                    generator.writeRaw('\n');
+                }
+                logger.info("Exported {} telexes, last sequence {}", written[0], last);
+            } catch (UncheckedIOException e) {
+                // Client went away mid-export; it can resume from the last sequence it received
+                logger.warn("Export aborted: {}", e.getCause().getMessage());
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(NDJSON)
+                .header(OLDEST_SEQUENCE_HEADER, Long.toString(oldest));
+        if (missed > 0) {
+            response.header(MISSED_HEADER, Long.toString(missed));
+        }
+        return response.body(body);
+    }
+
+    private static String upper(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private List<TelexResponse> createResponseList(List<StoredTelex> entries) {
+        List<TelexResponse> responses = new ArrayList<>(entries.size());
+        for (StoredTelex entry : entries) {
+            responses.add(new TelexResponse(entry.raw(), entry.message()));
+        }
         return responses;
     }
 
@@ -81,6 +184,21 @@ public class TelexController {
             int totalPages
     ) {}
 
+    // Keyset page: pass nextCursor back as "after" to get the following page
+    public record TelexCursorPageResponse(
+            List<TelexResponse> content,
+            int pageSize,
+            Long nextCursor
+    ) {}
+
+    // One line of the NDJSON export
+    public record TelexExportLine(
+            long sequence,
+            Instant ingestedAt,
+            String raw,
+            TelexMessage parsed
+    ) {}
+
     // Individual telex response
     public record TelexResponse(
             String raw,
@@ -5,6 +5,11 @@ public enum TelexType {
     ASM,    // adhoc Schedule Message
     SSM,    // Standard Schedule Message
     MVT,    // Movement Message
+    DIV,    // Diversion Message (MVT family)
     LDM,    // Load Message
+    CPM,    // Container/Pallet Distribution Message
+    PSM,    // Passenger Service Message
+    PTM,    // Passenger Transfer Message
+    UCM,    // ULD Control Message
     UNKNOWN
 }
@@ -0,0 +1,19 @@
+package com.ram.nuitparser.model.telex;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A telex time resolved to a full instant, with the UTC offset in force at the airport it refers
+ * to at that instant ({@code null} when the airport's timezone is unknown).
+ */
+public record FlightTime(Instant utc, ZoneOffset offset) {
+
+    @JsonProperty("local")
+    public LocalDateTime local() {
+        return offset == null ? null : LocalDateTime.ofEpochSecond(utc.getEpochSecond(), utc.getNano(), offset);
+    }
+}
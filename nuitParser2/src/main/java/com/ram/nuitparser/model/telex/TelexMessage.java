@@ -11,6 +11,12 @@ public interface TelexMessage {
     void setOrigin(String origin);
     String getMsgId();
     void setMsgId(String msgId);
+    String getHeader();
+    void setHeader(String header);
+    String getDblSig();
+    void setDblSig(String dblSig);
+    String getSmi();
+    void setSmi(String smi);
 
     // Flight information (common across all telex types)
     String getFlightDesignator();
@@ -24,4 +30,8 @@ public interface TelexMessage {
     void setDepartureTimezone(String timezone);
     void setArrivalAirportName(String name);
     void setArrivalTimezone(String timezone);
+
+    // Version of the reference data the message was enriched with (0 = not enriched)
+    long getReferenceDataVersion();
+    void setReferenceDataVersion(long version);
 }
\ No newline at end of file
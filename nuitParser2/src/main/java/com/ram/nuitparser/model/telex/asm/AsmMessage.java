@@ -1,5 +1,6 @@
 package com.ram.nuitparser.model.telex.asm;
 
+import com.ram.nuitparser.model.telex.FlightTime;
 import com.ram.nuitparser.model.telex.TelexMessage;
 import lombok.Data;
 import java.util.List;
@@ -24,6 +25,9 @@ public class AsmMessage implements TelexMessage {
     private String destination;
     private String origin;
     private String msgId;
+    private String header;
+    private String dblSig;
+    private String smi;
 
     // Additional fields from ASM specification
     private String flightNumber;
@@ -42,6 +46,11 @@ public class AsmMessage implements TelexMessage {
     private String departureTimezone;
     private String arrivalAirportName;
     private String arrivalTimezone;
+    private long referenceDataVersion;
+
+    // Normalized times, set after enrichment
+    private FlightTime departureAt;
+    private FlightTime arrivalAt;
 
     public String getActionDescription() {
         if (action == null) {
@@ -0,0 +1,26 @@
+package com.ram.nuitparser.model.telex.ldm;
+
+import lombok.Data;
+
+/**
+ * Load of one LDM destination block ({@code -CMN.15/25/2/0.0.T898.2/203.3/550.4/145.PAX/7/35.PAD/0/0})
+ * plus the per-station weight and baggage piece lines for that station. Weights are kilograms.
+ */
+@Data
+public class LdmDestination {
+    private static final int[] NONE = new int[0];
+
+    private String airport;
+    private int[] passengers = NONE;         // passenger categories as sent, e.g. male/female/child/infant
+    private int[] classPassengers = NONE;    // PAX, per cabin class
+    private int[] padPassengers = NONE;      // PAD, per cabin class
+    private int totalWeight;                 // T
+    private int[] compartmentWeights = NONE; // index 0 is compartment 1
+
+    // Station line: "CMN FRE 0 POS 0 BAG 898 TRA 0"
+    private int freightWeight;
+    private int mailWeight;
+    private int baggageWeight;
+    private int transitWeight;
+    private int baggagePieces;
+}
@@ -3,6 +3,9 @@ package com.ram.nuitparser.model.telex.ldm;
 import com.ram.nuitparser.model.telex.TelexMessage;
 import lombok.Data;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 public class LdmMessage implements TelexMessage {
     private String type = "LDM";
@@ -11,15 +14,21 @@ public class LdmMessage implements TelexMessage {
     private String arrivalAirport;
     private String aircraftRegistration;
     private String aircraftType;
+    private String configuration;
     private String dateOfFlight;
+    private int cockpitCrew;
+    private int cabinCrew;
 
     // Header fields (common across all telex types)
     private String priority;
     private String destination;
     private String origin;
     private String msgId;
+    private String header;
+    private String dblSig;
+    private String smi;
 
-    // Load details
+    // Load totals over all destinations; passengerCapacity is the seat count of the configuration
     private int passengerCount;
     private int passengerCapacity;
     private int adultPassengers;
@@ -30,12 +39,11 @@ public class LdmMessage implements TelexMessage {
     private double mailWeight;
     private double totalWeight;
     private String weightIndex;
+    private int baggagePieces;
+    private int[] compartmentWeights = new int[0]; // index 0 is compartment 1
 
-    // Compartment breakdown
-    private String compartment1;
-    private String compartment2;
-    private String compartment3;
-    private String compartment4;
+    // One block per "-XXX" destination line, in message order
+    private List<LdmDestination> destinations = new ArrayList<>();
 
     // Special information
     private String specialInstructions;
@@ -49,4 +57,5 @@ public class LdmMessage implements TelexMessage {
     private String departureTimezone;
     private String arrivalAirportName;
     private String arrivalTimezone;
+    private long referenceDataVersion;
 }
\ No newline at end of file
@@ -1,11 +1,11 @@
 package com.ram.nuitparser.model.telex.mvt;
 
 public enum MovementType {
-    DEP,  // Departure
-    ARR,  // Arrival
-    DIV,  // Diversion
+    DEP,  // Departure (AD)
+    ARR,  // Arrival (AA)
+    DIV,  // Diversion (DIV message)
     CAN,  // Cancellation
-    DLY;  // Delay
+    DLY;  // Delay (ED, EO, NI or DL without an actual movement)
 
     public static MovementType fromCode(String code) {
         return switch(code) {
@@ -17,4 +17,4 @@ public enum MovementType {
             default -> null;
         };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package com.ram.nuitparser.model.telex.mvt;
+
+/**
+ * One delay of an MVT "DL" element: the IATA delay code (e.g. 93, or 72A with a sub-code) and
+ * the duration attributed to it.
+ *
+ * @param durationMinutes null when the message gives the code without a duration
+ */
+public record MvtDelay(String code, Integer durationMinutes) {
+}
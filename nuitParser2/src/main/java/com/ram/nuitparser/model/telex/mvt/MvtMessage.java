@@ -1,8 +1,12 @@
 package com.ram.nuitparser.model.telex.mvt;
 
+import com.ram.nuitparser.model.telex.FlightTime;
 import com.ram.nuitparser.model.telex.TelexMessage;
 import lombok.Data;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 public class MvtMessage implements TelexMessage {
     private String type = "MVT";
@@ -18,17 +22,26 @@ public class MvtMessage implements TelexMessage {
     private String destination;
     private String origin;
     private String msgId;
+    private String header;
+    private String dblSig;
+    private String smi;
 
-    // Movement times
-    private String actualOffBlockTime;
-    private String actualTakeoffTime;
-    private String actualLandingTime;
-    private String actualInBlockTime;
+    // Movement times, hhmm (ddhhmm when the message states the day)
+    private String actualOffBlockTime;      // AD, first time
+    private String actualTakeoffTime;       // AD, airborne
+    private String actualLandingTime;       // AA, touchdown
+    private String actualInBlockTime;       // AA, on-block
+    private String estimatedDepartureTime;  // ED
+    private String estimatedOffBlockTime;   // EO
+    private String estimatedArrivalTime;    // EA
+    private String estimatedOnBlockTime;    // EB
+    private String nextInformationTime;     // NI
 
     // Status information
-    private String movementStatus; // DEPARTED, ARRIVED, etc.
-    private String delayReason;
-    private String remarks;
+    private MovementType movementType;
+    private List<MvtDelay> delays = new ArrayList<>();
+    private String delayReason; // first delay code, or the free text of a legacy "DELAY" line
+    private String remarks;     // SI and other free-text lines
 
     // Enrichment fields
     private String airlineName;
@@ -37,4 +50,16 @@ public class MvtMessage implements TelexMessage {
     private String departureTimezone;
     private String arrivalAirportName;
     private String arrivalTimezone;
+    private long referenceDataVersion;
+
+    // Normalized times, set after enrichment
+    private FlightTime actualOffBlockAt;
+    private FlightTime actualTakeoffAt;
+    private FlightTime actualLandingAt;
+    private FlightTime actualInBlockAt;
+    private FlightTime estimatedDepartureAt;
+    private FlightTime estimatedOffBlockAt;
+    private FlightTime estimatedArrivalAt;
+    private FlightTime estimatedOnBlockAt;
+    private FlightTime nextInformationAt;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.ram.nuitparser.model.telex.ssm;
+
+/**
+ * One leg of an SSM schedule for one period of operation. Legs of the same period block share
+ * the flight, period and equipment strings, so a large schedule costs little more than its
+ * station and time values.
+ *
+ * @param departureDateVariation days after (or, when negative, before) the period dates that the
+ *                               leg departs; 0 for the same day
+ */
+public record SsmLeg(
+        String flightDesignator,
+        String effectiveDate,
+        String discontinuationDate,
+        String daysOfOperation,
+        String serviceType,
+        String aircraftType,
+        String configuration,
+        String departureAirport,
+        String departureTime,
+        int departureDateVariation,
+        String arrivalAirport,
+        String arrivalTime,
+        int arrivalDateVariation
+) {
+}
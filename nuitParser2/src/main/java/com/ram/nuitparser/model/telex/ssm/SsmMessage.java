@@ -3,6 +3,9 @@ package com.ram.nuitparser.model.telex.ssm;
 import com.ram.nuitparser.model.telex.TelexMessage;
 import lombok.Data;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 public class SsmMessage implements TelexMessage {
     private String type = "SSM";
@@ -16,13 +19,20 @@ public class SsmMessage implements TelexMessage {
     private String departureTime;
     private String arrivalTime;
     private String route;
+    private List<String> deIdentifiers;
     private String remarks;
 
+    // Every leg of every flight and period block; the single-valued fields above describe the first
+    private List<SsmLeg> legs = new ArrayList<>();
+
     // Header fields (common across all telex types)
     private String priority;
     private String destination;
     private String origin;
     private String msgId;
+    private String header;
+    private String dblSig;
+    private String smi;
 
     // Enrichment fields
     private String airlineName;
@@ -31,4 +41,5 @@ public class SsmMessage implements TelexMessage {
     private String departureTimezone;
     private String arrivalAirportName;
     private String arrivalTimezone;
+    private long referenceDataVersion;
 }
\ No newline at end of file
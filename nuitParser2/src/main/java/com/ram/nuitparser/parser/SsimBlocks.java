@@ -0,0 +1,82 @@
+package com.ram.nuitparser.parser;
+
+import java.util.function.Consumer;
+
+import static com.ram.nuitparser.parser.SsimTokens.matchCode;
+import static com.ram.nuitparser.parser.SsimTokens.tokenEnd;
+
+/**
+ * Splits an ASM/SSM body into its flight blocks. Blocks are separated by "//" lines and each
+ * one is handed on as a self-contained body: the shared preamble (ASM/SSM, UTC/LT, message
+ * reference), the action line, then the block's own lines. A block may restate the action
+ * line, which then applies to it and the blocks after it. The blocks are offset views of the
+ * original content, so no line text is copied; their {@link TelexLines#text()} therefore spans
+ * the original content from the preamble to the end of the block.
+ */
+public final class SsimBlocks {
+
+    private SsimBlocks() {
+    }
+
+    public static void forEach(TelexLines body, String[] actionCodes, Consumer<TelexLines> sink) {
+        String content = body.content();
+        int actionLine = -1;
+        for (int i = 0; i < body.size() && actionLine < 0; i++) {
+            if (isAction(body, i, actionCodes)) {
+                actionLine = i;
+            }
+        }
+        if (actionLine < 0 || !hasSeparator(body, actionLine + 1)) {
+            sink.accept(body);
+            return;
+        }
+
+        int preambleEnd = actionLine;
+        int blockStart = actionLine + 1;
+        for (int i = blockStart; i <= body.size(); i++) {
+            if (i < body.size() && !isSeparator(content, body.start(i), body.end(i))) {
+                continue;
+            }
+            int first = blockStart;
+            while (first < i && body.isBlank(first)) first++;
+            if (first < i && isAction(body, first, actionCodes)) {
+                actionLine = first++;
+            }
+            if (first < i) {
+                sink.accept(block(body, preambleEnd, actionLine, first, i));
+            }
+            blockStart = i + 1;
+        }
+    }
+
+    private static TelexLines block(TelexLines body, int preambleEnd, int actionLine, int from, int to) {
+        TelexLines.Builder builder = new TelexLines.Builder(body.content());
+        for (int i = 0; i < preambleEnd; i++) {
+            builder.addLine(body.start(i), body.end(i));
+        }
+        builder.addLine(body.start(actionLine), body.end(actionLine));
+        for (int i = from; i < to; i++) {
+            builder.addLine(body.start(i), body.end(i));
+        }
+        return builder.build();
+    }
+
+    private static boolean isAction(TelexLines body, int index, String[] actionCodes) {
+        String content = body.content();
+        int start = body.start(index);
+        return matchCode(content, start, tokenEnd(content, start, body.end(index)), actionCodes) != null;
+    }
+
+    private static boolean hasSeparator(TelexLines body, int from) {
+        for (int i = from; i < body.size(); i++) {
+            if (isSeparator(body.content(), body.start(i), body.end(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSeparator(String content, int start, int end) {
+        return end - start == 2 && content.startsWith("//", start);
+    }
+}
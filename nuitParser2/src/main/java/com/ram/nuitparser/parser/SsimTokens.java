@@ -0,0 +1,126 @@
+package com.ram.nuitparser.parser;
+
+/**
+ * Character level helpers shared by the SSIM (ASM/SSM) tokenizers and the MVT and LDM readers.
+ * Everything works on {@code [from, to)} offsets into the telex content so lines never have to
+ * be copied out.
+ */
+public final class SsimTokens {
+
+    private SsimTokens() {
+    }
+
+    public static int tokenEnd(String content, int from, int end) {
+        int pos = from;
+        while (pos < end && content.charAt(pos) != ' ' && content.charAt(pos) != '\t') pos++;
+        return pos;
+    }
+
+    public static int skipSpaces(String content, int from, int end) {
+        int pos = from;
+        while (pos < end && (content.charAt(pos) == ' ' || content.charAt(pos) == '\t')) pos++;
+        return pos;
+    }
+
+    /**
+     * Position of {@code c} in {@code [from, to)}, or {@code to} when absent; unlike
+     * {@link String#indexOf(int, int)} the search never runs past the token or line.
+     */
+    public static int find(String content, char c, int from, int to) {
+        int pos = from;
+        while (pos < to && content.charAt(pos) != c) pos++;
+        return pos;
+    }
+
+    /**
+     * Unsigned decimal value of {@code [from, to)}; 0 when empty, longer than 9 digits or not
+     * all digits.
+     */
+    public static int number(String content, int from, int to) {
+        if (from >= to || to - from > 9) return 0;
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = content.charAt(i);
+            if (!isDigit(c)) return 0;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Returns the entry of {@code codes} spelled by the token, or null; the constant is returned
+     * so no string is allocated for the match.
+     */
+    public static String matchCode(String content, int from, int to, String[] codes) {
+        for (String code : codes) {
+            if (code.length() == to - from && content.startsWith(code, from)) {
+                return code;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Station code and four digit time ({@code CMN0140}), optionally followed by a /date variation.
+     */
+    public static boolean isStationTime(String content, int from, int to) {
+        if (to - from < 7 || (to - from > 7 && content.charAt(from + 7) != '/')) return false;
+        return allLetters(content, from, from + 3) && allDigits(content, from + 3, from + 7);
+    }
+
+    /**
+     * Leg line: departure and arrival station/time tokens ({@code CMN0140 MED0740}).
+     */
+    public static boolean isLegLine(String content, int start, int end) {
+        int first = tokenEnd(content, start, end);
+        if (!isStationTime(content, start, first)) return false;
+        int second = skipSpaces(content, first, end);
+        return isStationTime(content, second, tokenEnd(content, second, end));
+    }
+
+    /**
+     * Date variation of a station/time token: {@code /1}, {@code /2} for following days,
+     * {@code /A} for the day before; 0 when absent.
+     */
+    public static int dateVariation(String content, int from, int to) {
+        if (to - from < 9 || content.charAt(from + 7) != '/') return 0;
+        char c = content.charAt(from + 8);
+        if (c == 'A') return -1;
+        return isDigit(c) ? c - '0' : 0;
+    }
+
+    /**
+     * Data element identifier: 1-3 digit number, '/', then the value ({@code 4/AT}).
+     */
+    public static boolean isDei(String content, int from, int to) {
+        int pos = from;
+        while (pos < to && pos - from < 3 && isDigit(content.charAt(pos))) pos++;
+        return pos > from && pos < to - 1 && content.charAt(pos) == '/';
+    }
+
+    public static boolean allLetters(String content, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isLetter(content.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    public static boolean allDigits(String content, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(content.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    public static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    public static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    public static boolean isAlphaNumeric(char c) {
+        return isLetter(c) || isDigit(c);
+    }
+}
@@ -0,0 +1,89 @@
+package com.ram.nuitparser.parser;
+
+/**
+ * Bounded pool of canonical instances for the short, highly repetitive values the parsers keep
+ * (station codes, times, dates, designators, registrations, header codes). A value is looked up
+ * straight from its {@code [from, to)} range of the telex content, so a hit allocates nothing and
+ * every retained message shares the pooled instance.
+ * <p>
+ * The table is a fixed-size open-addressing array probed a few slots deep; when all probed slots
+ * are taken the first one is overwritten, so the pool never grows and adapts to the current
+ * traffic. It is deliberately unsynchronized: strings are immutable and safely published through
+ * their final fields, so a racing reader at worst misses and allocates a duplicate.
+ * <p>
+ * The shared pool behind {@link #pooled} has {@value #DEFAULT_SIZE} slots until
+ * {@link StringPoolConfigurer} resizes it from the {@code telex.string-pool.size} property
+ * (0 disables pooling).
+ */
+public final class StringPool {
+
+    private static final int MAX_LENGTH = 32;
+    private static final int PROBES = 4;
+
+    public static final int DEFAULT_SIZE = 1 << 15;
+
+    private static volatile StringPool shared = new StringPool(DEFAULT_SIZE);
+
+    private final String[] slots;
+    private final int mask;
+
+    public StringPool(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("String pool size must not be negative: " + size);
+        }
+        int capacity = size == 0 ? 0 : Integer.highestOneBit(Math.max(size, PROBES) - 1) << 1;
+        this.slots = new String[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Replaces the shared pool with an empty one of {@code size} slots (0 disables pooling).
+     */
+    public static void configureShared(int size) {
+        shared = new StringPool(size);
+    }
+
+    public static int sharedCapacity() {
+        return shared.slots.length;
+    }
+
+    /**
+     * The canonical instance of {@code content[from, to)} from the shared pool.
+     */
+    public static String pooled(String content, int from, int to) {
+        return shared.intern(content, from, to);
+    }
+
+    public static String pooled(String value) {
+        return value == null ? null : shared.intern(value, 0, value.length());
+    }
+
+    public String intern(String content, int from, int to) {
+        int length = to - from;
+        if (slots.length == 0 || length > MAX_LENGTH) {
+            return content.substring(from, to);
+        }
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + content.charAt(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        for (int probe = 0; probe < PROBES; probe++) {
+            String candidate = slots[(slot + probe) & mask];
+            if (candidate == null) {
+                return store((slot + probe) & mask, content, from, to);
+            }
+            if (candidate.length() == length && content.startsWith(candidate, from)) {
+                return candidate;
+            }
+        }
+        return store(slot, content, from, to);
+    }
+
+    private String store(int slot, String content, int from, int to) {
+        // The whole content already is the value when interning a standalone string
+        String value = from == 0 && to == content.length() ? content : content.substring(from, to);
+        slots[slot] = value;
+        return value;
+    }
+}
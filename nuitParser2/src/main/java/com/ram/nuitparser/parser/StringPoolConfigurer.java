@@ -0,0 +1,21 @@
+package com.ram.nuitparser.parser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the shared {@link StringPool} the parsers and the envelope scanner intern into from the
+ * {@code telex.string-pool.size} property. {@link com.ram.nuitparser.service.TelexParserService}
+ * depends on this bean, so the pool is configured before the first telex is parsed.
+ */
+@Component
+public class StringPoolConfigurer {
+    private static final Logger logger = LoggerFactory.getLogger(StringPoolConfigurer.class);
+
+    public StringPoolConfigurer(@Value("${telex.string-pool.size:" + StringPool.DEFAULT_SIZE + "}") int size) {
+        StringPool.configureShared(size);
+        logger.info("Shared string pool configured with {} slots", StringPool.sharedCapacity());
+    }
+}
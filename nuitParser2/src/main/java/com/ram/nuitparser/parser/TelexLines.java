@@ -0,0 +1,157 @@
+package com.ram.nuitparser.parser;
+
+import java.util.Arrays;
+
+/**
+ * Read-only view of a telex body as line offsets into the original content string.
+ * Line bounds are already trimmed, so parsers can walk lines without splitting or
+ * re-trimming the body; blank lines are kept (with an empty range) so line positions
+ * match the body as written.
+ */
+public final class TelexLines {
+
+    private static final TelexLines EMPTY = new TelexLines("", new int[0], new int[0], 0);
+
+    private final String content;
+    private final int[] starts;
+    private final int[] ends;
+    private final int count;
+    private String text;
+
+    TelexLines(String content, int[] starts, int[] ends, int count) {
+        this.content = content;
+        this.starts = starts;
+        this.ends = ends;
+        this.count = count;
+    }
+
+    public static TelexLines empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the line view of a bare body (no envelope headers), e.g. in tests.
+     */
+    public static TelexLines of(String body) {
+        Builder builder = new Builder(body);
+        int length = body.length();
+        int lineStart = 0;
+        while (lineStart <= length) {
+            int lineEnd = body.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            builder.addLine(lineStart, lineEnd);
+            lineStart = lineEnd + 1;
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public String line(int index) {
+        checkIndex(index);
+        return content.substring(starts[index], ends[index]);
+    }
+
+    public int start(int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    public int end(int index) {
+        checkIndex(index);
+        return ends[index];
+    }
+
+    public boolean isBlank(int index) {
+        checkIndex(index);
+        return starts[index] == ends[index];
+    }
+
+    /**
+     * The string the offsets point into.
+     */
+    public String content() {
+        return content;
+    }
+
+    /**
+     * The body text from the first to the last non-blank line, with '\n' line separators.
+     */
+    public String text() {
+        String result = text;
+        if (result == null) {
+            result = count == 0 ? "" : buildText();
+            text = result;
+        }
+        return result;
+    }
+
+    private String buildText() {
+        String body = content.substring(starts[0], ends[count - 1]);
+        // Stored bodies use '\n' regardless of the sender's line endings
+        return body.indexOf('\r') < 0 ? body : body.replace("\r\n", "\n");
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Line " + index + " out of " + count);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return text();
+    }
+
+    /**
+     * Accumulates trimmed line offsets; leading and trailing blank lines are dropped.
+     */
+    public static final class Builder {
+        private final String content;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int count;
+        private int lastNonBlank = -1;
+
+        public Builder(String content) {
+            this.content = content;
+        }
+
+        /**
+         * Adds the line [lineStart, lineEnd) of the content, excluding the line terminator.
+         */
+        public void addLine(int lineStart, int lineEnd) {
+            int start = lineStart;
+            int end = lineEnd;
+            while (start < end && content.charAt(start) <= ' ') start++;
+            while (end > start && content.charAt(end - 1) <= ' ') end--;
+
+            if (start == end && count == 0) {
+                return;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            if (start < end) {
+                lastNonBlank = count;
+            }
+            count++;
+        }
+
+        public TelexLines build() {
+            int size = lastNonBlank + 1;
+            return size == 0 ? EMPTY : new TelexLines(content, starts, ends, size);
+        }
+    }
+}
@@ -1,6 +1,34 @@
 package com.ram.nuitparser.parser;
 
+import com.ram.nuitparser.enums.TelexType;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
 public interface TelexParser<T> {
-    T parse(String body, String priority, String destination, String origin,
-            String msgId, String header, String dblSig, String smi);
-}
\ No newline at end of file
+    T parse(TelexEnvelope envelope);
+
+    /**
+     * The telex types this parser handles. {@link TelexRouter} dispatches on these, and a type
+     * claimed by two parsers fails startup.
+     */
+    Set<TelexType> supportedTypes();
+
+    /**
+     * Hands every message carried by the envelope to {@code sink} as soon as it is parsed.
+     * Parsers for telexes with several flight blocks ("//" separated) override this; by
+     * default the envelope holds exactly one message.
+     */
+    default void parseEach(TelexEnvelope envelope, Consumer<? super T> sink) {
+        sink.accept(parse(envelope));
+    }
+
+    default List<T> parseAll(TelexEnvelope envelope) {
+        List<T> messages = new ArrayList<>();
+        parseEach(envelope, messages::add);
+        return messages;
+    }
+}
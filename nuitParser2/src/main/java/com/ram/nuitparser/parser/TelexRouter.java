@@ -2,56 +2,67 @@ package com.ram.nuitparser.parser;
 
 import com.ram.nuitparser.enums.TelexType;
 import com.ram.nuitparser.model.telex.TelexMessage;
-import com.ram.nuitparser.parser.asm.ASMParser;
-import com.ram.nuitparser.parser.ldm.LDMParser;
-import com.ram.nuitparser.parser.mvt.MVTParser;
-import com.ram.nuitparser.parser.ssm.SSMParser;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches a telex to the parser bean that declared its type. The dispatch table is built
+ * once from every {@link TelexParser} in the context, so adding a message type only needs a
+ * new parser bean (and its identifier in {@code TelexTypeKeyword} when it is not standard).
+ */
 @Component
 public class TelexRouter {
     private static final Logger logger = LoggerFactory.getLogger(TelexRouter.class);
 
-    private final ASMParser asmParser;
-    private final MVTParser mvtParser;
-    private final SSMParser ssmParser;
-    private final LDMParser ldmParser;
-
-    public TelexRouter(ASMParser asmParser, MVTParser mvtParser, SSMParser ssmParser, LDMParser ldmParser) {
-        this.asmParser = asmParser;
-        this.mvtParser = mvtParser;
-        this.ssmParser = ssmParser;
-        this.ldmParser = ldmParser;
-        logger.info("TelexRouter initialized with 4 parsers");
-    }
+    private final Map<TelexType, TelexParser<? extends TelexMessage>> parsers = new EnumMap<>(TelexType.class);
 
-    public TelexMessage route(String body, TelexType type,
-                              String priority, String destination, String origin,
-                              String msgId, String header, String dblSig, String smi) {
-        logger.info("Getting parser for type: {}", type);
-        switch (type) {
-            case ASM -> {
-                logger.debug("Returning ASM parser");
-                return asmParser.parse(body, priority, destination, origin, msgId, header, dblSig, smi);
-            }
-            case SSM -> {
-                logger.debug("Returning SSM parser");
-                return ssmParser.parse(body, priority, destination, origin, msgId, header, dblSig, smi);
-            }
-            case MVT -> {
-                logger.debug("Returning MVT parser");
-                return mvtParser.parse(body, priority, destination, origin, msgId, header, dblSig, smi);
-            }
-            case LDM -> {
-                logger.debug("Returning LDM parser");
-                return ldmParser.parse(body, priority, destination, origin, msgId, header, dblSig, smi);
-            }
-            default -> {
-                logger.error("No parser available for type: {}", type);
-                return null;
+    public TelexRouter(List<TelexParser<? extends TelexMessage>> parsers) {
+        for (TelexParser<? extends TelexMessage> parser : parsers) {
+            for (TelexType type : parser.supportedTypes()) {
+                TelexParser<? extends TelexMessage> previous = this.parsers.putIfAbsent(type, parser);
+                if (previous != null) {
+                    throw new IllegalStateException("Telex type " + type + " is handled by both "
+                            + previous.getClass().getSimpleName() + " and " + parser.getClass().getSimpleName());
+                }
             }
         }
+        logger.info("TelexRouter initialized with {} parsers for types {}", parsers.size(), this.parsers.keySet());
+    }
+
+    public TelexMessage route(TelexEnvelope envelope, TelexType type) {
+        TelexParser<? extends TelexMessage> parser = parserFor(type);
+        return parser == null ? null : parser.parse(envelope);
+    }
+
+    /**
+     * Streams every message of a multi-flight telex to {@code sink} as it is parsed.
+     */
+    public void routeEach(TelexEnvelope envelope, TelexType type, Consumer<? super TelexMessage> sink) {
+        TelexParser<? extends TelexMessage> parser = parserFor(type);
+        if (parser != null) {
+            parser.parseEach(envelope, sink);
+        }
+    }
+
+    public List<TelexMessage> routeAll(TelexEnvelope envelope, TelexType type) {
+        List<TelexMessage> messages = new ArrayList<>();
+        routeEach(envelope, type, messages::add);
+        return messages;
+    }
+
+    private TelexParser<? extends TelexMessage> parserFor(TelexType type) {
+        TelexParser<? extends TelexMessage> parser = type == null ? null : parsers.get(type);
+        if (parser == null) {
+            logger.error("No parser available for type: {}", type);
+        }
+        return parser;
     }
-}
\ No newline at end of file
+}
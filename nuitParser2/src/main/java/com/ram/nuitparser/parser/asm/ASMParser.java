@@ -1,19 +1,22 @@
 package com.ram.nuitparser.parser.asm;
 
+import com.ram.nuitparser.enums.TelexType;
 import com.ram.nuitparser.model.telex.asm.AsmMessage;
+import com.ram.nuitparser.parser.SsimBlocks;
+import com.ram.nuitparser.parser.TelexLines;
 import com.ram.nuitparser.parser.TelexParser;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Component
 public class ASMParser implements TelexParser<AsmMessage> {
-    private static final Logger logger = LoggerFactory.getLogger(ASMParser.class);
 
     // Patterns for parsing ASM message components based on Avinor specification
     private static final Pattern ACTION_PATTERN = Pattern.compile("\\b(RPL|NEW|CNL|CHG|COR|RIN|ADM|CON|EQT|FLT|RRT|TIM)\\b");
@@ -28,27 +31,42 @@ public class ASMParser implements TelexParser<AsmMessage> {
     private static final Pattern MEAL_PATTERN = Pattern.compile("\\b([A-Z])\\b");
 
     @Override
-    public AsmMessage parse(String body, String priority, String destination, String origin, String msgId, String header, String dblSig, String smi) {
-        logger.info("Starting ASM message parsing");
+    public Set<TelexType> supportedTypes() {
+        return Set.of(TelexType.ASM);
+    }
+
+    @Override
+    public AsmMessage parse(TelexEnvelope envelope) {
+        TelexLines body = envelope.body();
+
         AsmMessage message = new AsmMessage();
+        if (!AsmTokenizer.tokenize(body, message)) {
+            // Not laid out as SSIM expects; fall back to matching the patterns on every line
+            message = new AsmMessage();
+            parseWithPatterns(body, message);
+        }
 
-        // Set only the common header fields (sender and receivers are no longer in the model)
-        message.setPriority(priority);
-        message.setDestination(destination);
-        message.setOrigin(origin);
-        message.setMsgId(msgId);
+        // Copy the envelope header fields (priority, receivers, origin, ids, SMI)
+        envelope.applyTo(message);
+        return message;
+    }
 
-        List<String> deiList = new ArrayList<>();
+    /**
+     * One message per "//" separated flight block.
+     */
+    @Override
+    public void parseEach(TelexEnvelope envelope, Consumer<? super AsmMessage> sink) {
+        SsimBlocks.forEach(envelope.body(), AsmTokenizer.ACTION_CODES,
+                block -> sink.accept(parse(envelope.withBody(block))));
+    }
 
-        String[] lines = body.split("\\n");
-        logger.debug("Processing {} lines in ASM message", lines.length);
+    void parseWithPatterns(TelexLines body, AsmMessage message) {
+        List<String> deiList = new ArrayList<>();
 
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i].trim();
+        for (int i = 0; i < body.size(); i++) {
+            String line = body.line(i);
             if (line.isEmpty()) continue;
 
-            logger.debug("Processing line {}: {}", i, line);
-
             // Extract action code (RPL, NEW, CNL, etc.)
             extractAction(message, line);
 
@@ -69,8 +87,6 @@ public class ASMParser implements TelexParser<AsmMessage> {
         }
 
         message.setDeIdentifiers(deiList);
-        logger.info("Completed ASM message parsing for flight: {}", message.getFlightDesignator());
-        return message;
     }
 
     private void extractAction(AsmMessage message, String line) {
@@ -82,7 +98,6 @@ public class ASMParser implements TelexParser<AsmMessage> {
 
             // Set the action code - the description will be available via getActionDescription()
             message.setAction(actionCode);
-            logger.debug("Found action: {} - {}", actionCode, message.getActionDescription());
         }
     }
 
@@ -100,8 +115,6 @@ public class ASMParser implements TelexParser<AsmMessage> {
             message.setFlightNumber(flightNumber);
             message.setFlightSuffix(flightSuffix);
             message.setFlightDate(date);
-
-            logger.debug("Found flight: {} on date: {}", message.getFlightDesignator(), date);
         }
     }
 
@@ -112,14 +125,12 @@ public class ASMParser implements TelexParser<AsmMessage> {
         Matcher aircraftMatcher = AIRCRAFT_PATTERN.matcher(line);
         if (aircraftMatcher.find()) {
             message.setAircraftType(aircraftMatcher.group(1));
-            logger.debug("Found aircraft type: {}", aircraftMatcher.group(1));
         }
 
         // Extract equipment version
         Matcher equipmentMatcher = EQUIPMENT_PATTERN.matcher(line);
         if (equipmentMatcher.find()) {
             message.setEquipmentVersion(equipmentMatcher.group(1));
-            logger.debug("Found equipment version: {}", equipmentMatcher.group(1));
         }
     }
 
@@ -127,7 +138,6 @@ public class ASMParser implements TelexParser<AsmMessage> {
         Matcher deiMatcher = DEI_PATTERN.matcher(line);
         while (deiMatcher.find()) {
             deiList.add(deiMatcher.group(1));
-            logger.debug("Found DEI: {}", deiMatcher.group(1));
         }
     }
 
@@ -142,8 +152,6 @@ public class ASMParser implements TelexParser<AsmMessage> {
 
             airports.add(airport);
             times.add(time);
-
-            logger.debug("Found airport: {} with time: {}", airport, time);
         }
 
         // Assign departure and arrival airports/times
@@ -160,7 +168,6 @@ public class ASMParser implements TelexParser<AsmMessage> {
         Matcher daysMatcher = DAYS_OPERATION_PATTERN.matcher(line);
         if (daysMatcher.find() && message.getDaysOfOperation() == null) {
             message.setDaysOfOperation(daysMatcher.group(1));
-            logger.debug("Found days of operation: {}", daysMatcher.group(1));
         }
 
         // Extract period of operation
@@ -168,21 +175,18 @@ public class ASMParser implements TelexParser<AsmMessage> {
         if (periodMatcher.find() && message.getPeriodOfOperation() == null) {
             String period = periodMatcher.group(1) + " " + periodMatcher.group(2);
             message.setPeriodOfOperation(period);
-            logger.debug("Found period of operation: {}", period);
         }
 
         // Extract crew information
         Matcher crewMatcher = CREW_PATTERN.matcher(line);
         if (crewMatcher.find() && message.getCrewInformation() == null) {
             message.setCrewInformation(crewMatcher.group(1));
-            logger.debug("Found crew information: {}", crewMatcher.group(1));
         }
 
         // Extract meal service information
         Matcher mealMatcher = MEAL_PATTERN.matcher(line);
         if (mealMatcher.find() && message.getMealService() == null) {
             message.setMealService(mealMatcher.group(1));
-            logger.debug("Found meal service: {}", mealMatcher.group(1));
         }
     }
 }
\ No newline at end of file
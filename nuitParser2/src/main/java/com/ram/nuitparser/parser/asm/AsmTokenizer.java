@@ -0,0 +1,188 @@
+package com.ram.nuitparser.parser.asm;
+
+import com.ram.nuitparser.model.telex.asm.AsmMessage;
+import com.ram.nuitparser.parser.TelexLines;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ram.nuitparser.parser.SsimTokens.*;
+import static com.ram.nuitparser.parser.StringPool.pooled;
+
+/**
+ * Single-pass ASM tokenizer following the SSIM Chapter 5 line order: preamble (ASM, UTC/LT,
+ * message reference), action line, flight line, optional equipment line, then routing lines.
+ * Each body line is classified once from its shape and its fields are read straight from the
+ * content offsets; only the extracted values are allocated.
+ *
+ * <p>Returns {@code false} when the body does not follow that layout, so the caller can fall
+ * back to the pattern based extraction.
+ */
+public final class AsmTokenizer {
+
+    static final String[] ACTION_CODES =
+            {"RPL", "NEW", "CNL", "CHG", "COR", "RIN", "ADM", "CON", "EQT", "FLT", "RRT", "TIM"};
+
+    private enum State { PREAMBLE, FLIGHT, EQUIPMENT, ROUTING }
+
+    private AsmTokenizer() {
+    }
+
+    public static boolean tokenize(TelexLines body, AsmMessage message) {
+        String content = body.content();
+        List<String> deis = new ArrayList<>(4);
+        State state = State.PREAMBLE;
+        boolean firstLeg = true;
+
+        for (int i = 0; i < body.size(); i++) {
+            int start = body.start(i);
+            int end = body.end(i);
+            if (start == end) continue;
+            // "//" separates the next flight of a multi-flight ASM; "SI" starts free text
+            if (content.startsWith("//", start) || content.startsWith("SI ", start)) break;
+
+            switch (state) {
+                case PREAMBLE -> {
+                    String action = matchCode(content, start, tokenEnd(content, start, end), ACTION_CODES);
+                    if (action != null) {
+                        message.setAction(action);
+                        state = State.FLIGHT;
+                    }
+                }
+                case FLIGHT -> {
+                    if (!flightLine(content, start, end, message, deis)) {
+                        return false;
+                    }
+                    state = State.EQUIPMENT;
+                }
+                case EQUIPMENT -> {
+                    // Equipment line is absent for e.g. TIM and CNL
+                    if (isLegLine(content, start, end)) {
+                        legLine(content, start, end, message, deis, true);
+                        firstLeg = false;
+                    } else if (!equipmentLine(content, start, end, message, deis)) {
+                        return false;
+                    }
+                    state = State.ROUTING;
+                }
+                case ROUTING -> {
+                    if (isLegLine(content, start, end)) {
+                        legLine(content, start, end, message, deis, firstLeg);
+                        firstLeg = false;
+                    } else {
+                        // Segment information lines only carry DEIs
+                        collectDeis(content, start, end, deis);
+                    }
+                }
+            }
+        }
+
+        if (message.getAction() == null || message.getFlightDesignator() == null) {
+            return false;
+        }
+        message.setDeIdentifiers(deis);
+        return true;
+    }
+
+    /**
+     * {@code AT763/05SEP25 [DEIs]}: airline designator, flight number, optional suffix, then the date.
+     */
+    private static boolean flightLine(String content, int start, int end, AsmMessage message, List<String> deis) {
+        int tokenEnd = tokenEnd(content, start, end);
+        int slash = content.indexOf('/', start);
+        if (slash < 0 || slash >= tokenEnd) return false;
+
+        int pos = start;
+        // Two character IATA designator, or three letter ICAO designator
+        if (slash - pos < 3 || !isAlphaNumeric(content.charAt(pos)) || !isAlphaNumeric(content.charAt(pos + 1))) {
+            return false;
+        }
+        pos += 2;
+        if (isLetter(content.charAt(pos))) pos++;
+        int numberStart = pos;
+        while (pos < slash && isDigit(content.charAt(pos))) pos++;
+        int numberLength = pos - numberStart;
+        if (numberLength < 1 || numberLength > 4) return false;
+        int suffixEnd = pos;
+        if (suffixEnd < slash && isLetter(content.charAt(suffixEnd))) suffixEnd++;
+        if (suffixEnd != slash) return false;
+
+        // Date: day of month and month (DDMMM); the year, if present, is not kept
+        int dateStart = slash + 1;
+        int datePos = dateStart;
+        while (datePos < tokenEnd && datePos - dateStart < 2 && isDigit(content.charAt(datePos))) datePos++;
+        if (datePos == dateStart || tokenEnd - datePos < 3
+                || !isLetter(content.charAt(datePos))
+                || !isLetter(content.charAt(datePos + 1))
+                || !isLetter(content.charAt(datePos + 2))) {
+            return false;
+        }
+
+        message.setFlightDesignator(pooled(content, start, suffixEnd));
+        message.setFlightNumber(pooled(content, numberStart, numberStart + numberLength));
+        message.setFlightSuffix(pooled(content, numberStart + numberLength, suffixEnd));
+        message.setFlightDate(pooled(content, dateStart, datePos + 3));
+
+        collectDeis(content, tokenEnd, end, deis);
+        return true;
+    }
+
+    /**
+     * {@code J 73H .J12Y147 CNRNZ 4/AT}: service type, aircraft type, {@code .}configuration,
+     * optional registration and DEIs.
+     */
+    private static boolean equipmentLine(String content, int start, int end, AsmMessage message, List<String> deis) {
+        int serviceEnd = tokenEnd(content, start, end);
+        if (serviceEnd - start != 1 || !isLetter(content.charAt(start))) return false;
+
+        int typeStart = skipSpaces(content, serviceEnd, end);
+        int typeEnd = tokenEnd(content, typeStart, end);
+        if (typeEnd - typeStart != 3) return false;
+        message.setAircraftType(pooled(content, typeStart, typeEnd));
+
+        int pos = skipSpaces(content, typeEnd, end);
+        while (pos < end) {
+            int tokenEnd = tokenEnd(content, pos, end);
+            if (content.charAt(pos) == '.' && tokenEnd - pos > 1) {
+                if (message.getEquipmentVersion() == null) {
+                    message.setEquipmentVersion(pooled(content, pos + 1, tokenEnd));
+                }
+            } else if (isDei(content, pos, tokenEnd)) {
+                deis.add(pooled(content, pos, tokenEnd));
+            }
+            pos = skipSpaces(content, tokenEnd, end);
+        }
+        return true;
+    }
+
+    /**
+     * {@code ORY1810 CMN2115 [DEIs]}. Departure comes from the first leg, arrival from the last,
+     * so a multi-leg flight reads as origin to final destination.
+     */
+    private static void legLine(String content, int start, int end, AsmMessage message,
+                                List<String> deis, boolean firstLeg) {
+        int first = tokenEnd(content, start, end);
+        int second = skipSpaces(content, first, end);
+        int secondEnd = tokenEnd(content, second, end);
+
+        if (firstLeg) {
+            message.setDepartureAirport(pooled(content, start, start + 3));
+            message.setDepartureTime(pooled(content, start + 3, start + 7));
+        }
+        message.setArrivalAirport(pooled(content, second, second + 3));
+        message.setArrivalTime(pooled(content, second + 3, second + 7));
+
+        collectDeis(content, secondEnd, end, deis);
+    }
+
+    private static void collectDeis(String content, int from, int end, List<String> deis) {
+        int pos = skipSpaces(content, from, end);
+        while (pos < end) {
+            int tokenEnd = tokenEnd(content, pos, end);
+            if (isDei(content, pos, tokenEnd)) {
+                deis.add(pooled(content, pos, tokenEnd));
+            }
+            pos = skipSpaces(content, tokenEnd, end);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ram.nuitparser.parser.envelope;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.ram.nuitparser.parser.StringPool.pooled;
+
+/**
+ * Extracts the receiver IDs from a DESTINATION header value ({@code TYPE B STX,CASPCAT STX,QLHQMAT})
+ * by scanning for "STX," entries, with no regex. Distribution lists repeat constantly, so the
+ * parsed {@link ReceiverList} is kept in a small LRU cache keyed by the block text and shared
+ * by every telex sent to the same list.
+ */
+@Component
+public class DestinationAddressParser {
+    private static final Logger logger = LoggerFactory.getLogger(DestinationAddressParser.class);
+
+    private static final String ENTRY = "STX,";
+
+    private final int cacheSize;
+    private final Map<String, ReceiverList> cache;
+    private long hits;
+    private long misses;
+
+    public DestinationAddressParser(@Value("${telex.destination.cache-size:1024}") int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("telex.destination.cache-size must not be negative: " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ReceiverList> eldest) {
+                return size() > DestinationAddressParser.this.cacheSize;
+            }
+        };
+        logger.info("DestinationAddressParser initialized with cache size {}", cacheSize);
+    }
+
+    public ReceiverList parse(String destinationBlock) {
+        if (destinationBlock == null || destinationBlock.isBlank()) {
+            return ReceiverList.EMPTY;
+        }
+        if (cacheSize == 0) {
+            return scan(destinationBlock);
+        }
+        synchronized (cache) {
+            ReceiverList cached = cache.get(destinationBlock);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        // Scan outside the lock; two threads racing on a new list just store equal values
+        ReceiverList receivers = scan(destinationBlock);
+        synchronized (cache) {
+            cache.put(destinationBlock, receivers);
+        }
+        return receivers;
+    }
+
+    static ReceiverList scan(String block) {
+        int count = 0;
+        for (int pos = block.indexOf(ENTRY); pos >= 0; pos = block.indexOf(ENTRY, pos + ENTRY.length())) {
+            if (idEnd(block, pos + ENTRY.length()) > pos + ENTRY.length()) count++;
+        }
+        if (count == 0) {
+            return ReceiverList.EMPTY;
+        }
+
+        String[] ids = new String[count];
+        StringBuilder joined = new StringBuilder(count * 8);
+        int n = 0;
+        for (int pos = block.indexOf(ENTRY); pos >= 0; pos = block.indexOf(ENTRY, pos + ENTRY.length())) {
+            int start = pos + ENTRY.length();
+            int end = idEnd(block, start);
+            if (end > start) {
+                if (n > 0) joined.append(',');
+                joined.append(block, start, end);
+                ids[n++] = pooled(block, start, end);
+            }
+        }
+        return new ReceiverList(ids, joined.toString());
+    }
+
+    // Receiver IDs are upper-case letters and digits
+    private static int idEnd(String block, int from) {
+        int pos = from;
+        while (pos < block.length()) {
+            char c = block.charAt(pos);
+            if (!(c >= 'A' && c <= 'Z') && !(c >= '0' && c <= '9')) break;
+            pos++;
+        }
+        return pos;
+    }
+
+    public long getCacheHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+    public long getCacheMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+}
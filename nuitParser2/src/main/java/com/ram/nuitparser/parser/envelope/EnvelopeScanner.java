@@ -0,0 +1,111 @@
+package com.ram.nuitparser.parser.envelope;
+
+import com.ram.nuitparser.parser.TelexLines;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.ram.nuitparser.parser.StringPool.pooled;
+
+/**
+ * Single-pass scanner for the "=HEADER value" envelope format of incoming telex files.
+ * Walks the content once, line by line via indexOf, and records the body as offsets
+ * instead of copying it; no intermediate String[] is created.
+ */
+public final class EnvelopeScanner {
+
+    private static final String TEXT_HEADER = "=TEXT";
+    // Short codes that repeat across telexes and end up on every message; ids and timestamps are not pooled
+    private static final Set<String> POOLED_HEADERS = Set.of("PRIORITY", "ORIGIN", "DBLSIG", "SMI");
+
+    private EnvelopeScanner() {
+    }
+
+    public static ScannedEnvelope scan(String content) {
+        Map<String, String> headers = new HashMap<>();
+        TelexLines.Builder body = new TelexLines.Builder(content);
+
+        String currentHeader = null;
+        int valueStart = -1;
+        int valueEnd = -1;
+        StringBuilder multiLineValue = null;
+        // 0 = before =TEXT, 1 = inside the body, 2 = body finished
+        int bodyState = 0;
+
+        int length = content.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int newline = content.indexOf('\n', lineStart);
+            int next = newline < 0 ? length : newline + 1;
+            int lineEnd = newline < 0 ? length : newline;
+            if (lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            if (lineEnd > lineStart && content.charAt(lineStart) == '=') {
+                if (currentHeader != null) {
+                    headers.put(currentHeader, headerValue(currentHeader, content, valueStart, valueEnd, multiLineValue));
+                    currentHeader = null;
+                }
+                multiLineValue = null;
+
+                if (bodyState == 1) {
+                    bodyState = 2;
+                }
+                if (bodyState == 0 && content.startsWith(TEXT_HEADER, lineStart)) {
+                    bodyState = 1;
+                } else {
+                    int nameEnd = content.indexOf(' ', lineStart + 1);
+                    if (nameEnd < 0 || nameEnd > lineEnd) {
+                        nameEnd = lineEnd;
+                    }
+                    int nameStart = trimStart(content, lineStart + 1, nameEnd);
+                    currentHeader = pooled(content, nameStart, trimEnd(content, nameStart, nameEnd));
+                    valueStart = trimStart(content, nameEnd, lineEnd);
+                    valueEnd = trimEnd(content, valueStart, lineEnd);
+                }
+            } else if (bodyState == 1) {
+                body.addLine(lineStart, lineEnd);
+            } else if (currentHeader != null) {
+                int start = trimStart(content, lineStart, lineEnd);
+                int end = trimEnd(content, start, lineEnd);
+                if (start < end) {
+                    if (valueStart == valueEnd && multiLineValue == null) {
+                        valueStart = start;
+                        valueEnd = end;
+                    } else {
+                        if (multiLineValue == null) {
+                            multiLineValue = new StringBuilder(content.length() / 4);
+                            multiLineValue.append(content, valueStart, valueEnd);
+                        }
+                        multiLineValue.append(' ').append(content, start, end);
+                    }
+                }
+            }
+            lineStart = next;
+        }
+
+        if (currentHeader != null) {
+            headers.put(currentHeader, headerValue(currentHeader, content, valueStart, valueEnd, multiLineValue));
+        }
+        return new ScannedEnvelope(headers, body.build());
+    }
+
+    private static String headerValue(String name, String content, int start, int end, StringBuilder multiLineValue) {
+        if (multiLineValue != null) {
+            return multiLineValue.toString();
+        }
+        return POOLED_HEADERS.contains(name) ? pooled(content, start, end) : content.substring(start, end);
+    }
+
+    private static int trimStart(String content, int from, int to) {
+        while (from < to && content.charAt(from) <= ' ') from++;
+        return from;
+    }
+
+    private static int trimEnd(String content, int from, int to) {
+        while (to > from && content.charAt(to - 1) <= ' ') to--;
+        return to;
+    }
+}
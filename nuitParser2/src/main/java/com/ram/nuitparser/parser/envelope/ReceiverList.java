@@ -0,0 +1,39 @@
+package com.ram.nuitparser.parser.envelope;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Immutable receiver IDs of one DESTINATION block, backed by a plain array and carrying the
+ * comma-joined form the message models expose, so neither is rebuilt per message. Instances
+ * are shared through the {@link DestinationAddressParser} cache.
+ */
+public final class ReceiverList extends AbstractList<String> implements RandomAccess {
+
+    static final ReceiverList EMPTY = new ReceiverList(new String[0], "");
+
+    private final String[] ids;
+    private final String joined;
+
+    ReceiverList(String[] ids, String joined) {
+        this.ids = ids;
+        this.joined = joined;
+    }
+
+    @Override
+    public String get(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * The IDs joined with ",", as set on {@code TelexMessage.setDestination}.
+     */
+    public String joined() {
+        return joined;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ram.nuitparser.parser.envelope;
+
+import com.ram.nuitparser.parser.TelexLines;
+
+import java.util.Map;
+
+/**
+ * Result of a single scan over a raw telex file: the envelope headers (without the
+ * =TEXT section) and the body as line offsets into the original content.
+ */
+public record ScannedEnvelope(
+        Map<String, String> headers,
+        TelexLines body
+) {}
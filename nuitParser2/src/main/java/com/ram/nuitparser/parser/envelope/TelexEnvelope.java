@@ -0,0 +1,92 @@
+package com.ram.nuitparser.parser.envelope;
+
+import com.ram.nuitparser.model.telex.TelexMessage;
+import com.ram.nuitparser.parser.TelexLines;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything a parser needs from one incoming telex: the scanned envelope headers, the body
+ * as line offsets and the receiver IDs taken from the DESTINATION block. Immutable, so it can
+ * be handed to any parser as is.
+ * <p>
+ * The headers map is kept as given, not copied: it must not be modified afterwards.
+ * {@link #of} wraps the scanner's map, which nothing else holds, and {@link #withBody}
+ * shares it between all blocks of a telex.
+ */
+public record TelexEnvelope(
+        Map<String, String> headers,
+        TelexLines body,
+        List<String> receivers
+) {
+    public TelexEnvelope {
+        headers = headers == null ? Map.of() : headers;
+        body = body == null ? TelexLines.empty() : body;
+        // ReceiverList is already immutable and shared through the destination cache
+        receivers = receivers == null ? List.of()
+                : receivers instanceof ReceiverList ? receivers : List.copyOf(receivers);
+    }
+
+    public static TelexEnvelope of(ScannedEnvelope scanned, List<String> receivers) {
+        return new TelexEnvelope(Collections.unmodifiableMap(scanned.headers()), scanned.body(), receivers);
+    }
+
+    /**
+     * The same headers and receivers over a different body, e.g. one flight block of the telex.
+     */
+    public TelexEnvelope withBody(TelexLines block) {
+        return new TelexEnvelope(headers, block, receivers);
+    }
+
+    public String headerValue(String name) {
+        return headers.getOrDefault(name, "");
+    }
+
+    public boolean hasHeader(String name) {
+        return headers.containsKey(name);
+    }
+
+    public String priority() {
+        return headerValue("PRIORITY");
+    }
+
+    public String origin() {
+        return headerValue("ORIGIN");
+    }
+
+    public String msgId() {
+        return headerValue("MSGID");
+    }
+
+    public String header() {
+        return headerValue("HEADER");
+    }
+
+    public String dblSig() {
+        return headerValue("DBLSIG");
+    }
+
+    public String smi() {
+        return headerValue("SMI");
+    }
+
+    // Comma-separated receiver IDs, as exposed on the message models
+    public String destination() {
+        return receivers instanceof ReceiverList list ? list.joined() : String.join(",", receivers);
+    }
+
+    /**
+     * Copies the envelope header fields onto a freshly parsed message.
+     */
+    public void applyTo(TelexMessage message) {
+        message.setPriority(priority());
+        message.setDestination(destination());
+        message.setOrigin(origin());
+        message.setMsgId(msgId());
+        message.setHeader(header());
+        message.setDblSig(dblSig());
+        message.setSmi(smi());
+    }
+}
@@ -1,207 +1,306 @@
 package com.ram.nuitparser.parser.ldm;
 
+import com.ram.nuitparser.enums.TelexType;
+import com.ram.nuitparser.model.telex.ldm.LdmDestination;
 import com.ram.nuitparser.model.telex.ldm.LdmMessage;
+import com.ram.nuitparser.parser.TelexLines;
 import com.ram.nuitparser.parser.TelexParser;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Arrays;
+import java.util.Set;
 
+import static com.ram.nuitparser.parser.SsimTokens.*;
+import static com.ram.nuitparser.parser.StringPool.pooled;
+
+/**
+ * Reads an LDM in one pass following IATA AHM 583: the flight line
+ * ({@code AT933/17.CNRGV.J12Y147.2/4}: flight/day, registration, configuration, crew), one
+ * "-XXX" load line per destination, then supplementary lines, per-station weights
+ * ({@code CMN FRE 0 POS 0 BAG 898 TRA 0}), checked baggage pieces, NOTOC and DAA.
+ */
 @Component
 public class LDMParser implements TelexParser<LdmMessage> {
-    private static final Logger logger = LoggerFactory.getLogger(LDMParser.class);
-
-    // Patterns for parsing LDM message components based on Avinor specification
-    private static final Pattern FLIGHT_PATTERN = Pattern.compile("([A-Z0-9]{2,3}[0-9]{1,4})/(\\d{1,2})");
-    private static final Pattern AIRCRAFT_REG_PATTERN = Pattern.compile("\\.([A-Z]{5})\\.");
-    private static final Pattern AIRCRAFT_TYPE_PATTERN = Pattern.compile("\\.([A-Z]\\d+Y\\d+)\\.");
-    private static final Pattern SEGMENT_PATTERN = Pattern.compile("\\.(\\d+/\\d+)");
-    private static final Pattern AIRPORT_PATTERN = Pattern.compile("-([A-Z]{3})\\.");
-    private static final Pattern LOAD_DETAILS_PATTERN = Pattern.compile("(\\d+)/(\\d+)/(\\d+)/(\\d+)\\.(\\d+)\\.T(\\d+)\\.(\\d+)/(\\d+\\.\\d+)/(\\d+\\.\\d+)/(\\d+\\.\\d+)");
-    private static final Pattern PASSENGER_PATTERN = Pattern.compile("PAX/(\\d+)/(\\d+)");
-    private static final Pattern PASSENGER_DETAIL_PATTERN = Pattern.compile("PAD/(\\d+)/(\\d+)/(\\d+)");
-    private static final Pattern NOTOC_PATTERN = Pattern.compile("NOTOC:\\s*([A-Z]+)");
-    private static final Pattern DAA_PATTERN = Pattern.compile("DAA/([A-Z]+)");
 
-    @Override
-    public LdmMessage parse(String body, String priority, String destination, String origin, String msgId, String header, String dblSig, String smi) {
-        logger.info("Starting LDM message parsing");
-        LdmMessage message = new LdmMessage();
-
-        // Set only the common header fields (sender and receivers are no longer in the model)
-        message.setPriority(priority);
-        message.setDestination(destination);
-        message.setOrigin(origin);
-        message.setMsgId(msgId);
+    private static final String[] IDENTIFIERS = {"LDM", "COR", "PDM"};
+    private static final String[] STATION_WEIGHTS = {"FRE", "POS", "BAG", "TRA"};
+    private static final String BAGGAGE_PIECES = "CHECKED BAGGAGE PIECES";
 
+    @Override
+    public Set<TelexType> supportedTypes() {
+        return Set.of(TelexType.LDM);
+    }
 
-        String[] lines = body.split("\\n");
+    @Override
+    public LdmMessage parse(TelexEnvelope envelope) {
+        LdmMessage message = new LdmMessage();
 
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i].trim();
-            logger.debug("Processing line {}: {}", i, line);
+        // Copy the envelope header fields (priority, receivers, origin, ids, SMI)
+        envelope.applyTo(message);
+        new LoadReader(envelope.body(), message).read();
+        return message;
+    }
 
-            // Process first line (main flight information)
-            if (i == 0) {
-                parseFirstLine(line, message);
-                continue;
-            }
+    /**
+     * Per-message parse state: whether the flight line was read and whether free text now
+     * continues a supplementary (SI) block.
+     */
+    private static final class LoadReader {
+        private final TelexLines body;
+        private final String content;
+        private final LdmMessage message;
+        private final StringBuilder supplementary = new StringBuilder();
 
-            // Process second line (load details)
-            if (i == 1 && line.startsWith("-")) {
-                parseLoadDetails(line, message);
-                continue;
-            }
+        private boolean flightSeen;
+        private boolean inSupplementary;
 
-            // Process special instructions
-            if (line.startsWith("SI ")) {
-                message.setSpecialInstructions(line.substring(3).trim());
-                continue;
-            }
+        private LoadReader(TelexLines body, LdmMessage message) {
+            this.body = body;
+            this.content = body.content();
+            this.message = message;
+        }
 
-            // Process additional load information
-            if (line.contains("FRE") || line.contains("POS") || line.contains("BAG") || line.contains("TRA")) {
-                parseAdditionalLoadInfo(line, message);
-                continue;
-            }
+        private void read() {
+            for (int i = 0; i < body.size(); i++) {
+                int start = body.start(i);
+                int end = body.end(i);
+                if (start == end) continue;
+                int firstEnd = tokenEnd(content, start, end);
 
-            // Process baggage pieces information
-            if (line.contains("CHECKED BAGGAGE PIECES")) {
-                parseBaggagePieces(line, message);
-                continue;
+                if (!flightSeen) {
+                    if (matchCode(content, start, firstEnd, IDENTIFIERS) == null) {
+                        flightLine(start, firstEnd);
+                    }
+                } else if (content.charAt(start) == '-') {
+                    destinationLine(start, firstEnd);
+                } else if (firstEnd - start == 2 && content.startsWith("SI", start)) {
+                    inSupplementary = true;
+                    appendSupplementary(skipSpaces(content, firstEnd, end), end);
+                } else if (isStationWeights(start, firstEnd, end)) {
+                    stationWeights(start, firstEnd, end);
+                } else if (content.startsWith(BAGGAGE_PIECES, start)) {
+                    baggagePieces(start + BAGGAGE_PIECES.length(), end);
+                } else if (content.startsWith("NOTOC", start)) {
+                    int colon = find(content, ':', start, end);
+                    message.setNotocStatus(pooled(content, skipSpaces(content, Math.min(colon + 1, end), end), end));
+                } else if (content.startsWith("DAA/", start)) {
+                    message.setDaaStatus(pooled(content, start + 4, firstEnd));
+                } else if (inSupplementary) {
+                    appendSupplementary(start, end);
+                }
             }
+            finish();
+        }
 
-            // Process NOTOC status
-            Matcher notocMatcher = NOTOC_PATTERN.matcher(line);
-            if (notocMatcher.find()) {
-                message.setNotocStatus(notocMatcher.group(1));
-                continue;
+        // AT933/17.CNRGV.J12Y147.2/4
+        private void flightLine(int start, int end) {
+            flightSeen = true;
+            int flightEnd = find(content, '.', start, end);
+            int slash = find(content, '/', start, flightEnd);
+            message.setFlightDesignator(pooled(content, start, slash));
+            if (slash < flightEnd) {
+                message.setDateOfFlight(pooled(content, slash + 1, flightEnd));
             }
-
-            // Process DAA status
-            Matcher daaMatcher = DAA_PATTERN.matcher(line);
-            if (daaMatcher.find()) {
-                message.setDaaStatus(daaMatcher.group(1));
+            int element = 0;
+            for (int pos = flightEnd + 1; pos < end; element++) {
+                int elementEnd = find(content, '.', pos, end);
+                if (element == 0) {
+                    message.setAircraftRegistration(pooled(content, pos, elementEnd));
+                } else if (element == 1) {
+                    message.setConfiguration(pooled(content, pos, elementEnd));
+                    message.setPassengerCapacity(seats(pos, elementEnd));
+                } else if (element == 2) {
+                    int crewSlash = find(content, '/', pos, elementEnd);
+                    message.setCockpitCrew(number(content, pos, crewSlash));
+                    message.setCabinCrew(crewSlash < elementEnd ? number(content, crewSlash + 1, elementEnd) : 0);
+                }
+                pos = elementEnd + 1;
             }
         }
 
-        logger.info("Completed LDM message parsing for flight: {}", message.getFlightDesignator());
-        return message;
-    }
-
-    private void parseFirstLine(String line, LdmMessage message) {
-        // Extract flight designator and date
-        Matcher flightMatcher = FLIGHT_PATTERN.matcher(line);
-        if (flightMatcher.find()) {
-            message.setFlightDesignator(flightMatcher.group(1));
-            message.setDateOfFlight(flightMatcher.group(2));
-            logger.debug("Found flight: {} on day: {}", flightMatcher.group(1), flightMatcher.group(2));
+        // J12Y147: the sum of the per-class seat counts
+        private int seats(int from, int to) {
+            int seats = 0;
+            int pos = from;
+            while (pos < to) {
+                int digitsEnd = pos;
+                while (digitsEnd < to && isDigit(content.charAt(digitsEnd))) digitsEnd++;
+                seats += number(content, pos, digitsEnd);
+                pos = Math.max(digitsEnd, pos + 1);
+            }
+            return seats;
         }
 
-        // Extract aircraft registration
-        Matcher acRegMatcher = AIRCRAFT_REG_PATTERN.matcher(line);
-        if (acRegMatcher.find()) {
-            message.setAircraftRegistration(acRegMatcher.group(1));
-            logger.debug("Found aircraft registration: {}", acRegMatcher.group(1));
-        }
+        // -CMN.15/25/2/0.0.T898.2/203.3/550.4/145.PAX/7/35.PAD/0/0
+        private void destinationLine(int start, int end) {
+            LdmDestination destination = new LdmDestination();
+            int airportEnd = find(content, '.', start + 1, end);
+            destination.setAirport(pooled(content, start + 1, airportEnd));
+            message.getDestinations().add(destination);
 
-        // Extract aircraft type
-        Matcher acTypeMatcher = AIRCRAFT_TYPE_PATTERN.matcher(line);
-        if (acTypeMatcher.find()) {
-            message.setAircraftType(acTypeMatcher.group(1));
-            logger.debug("Found aircraft type: {}", acTypeMatcher.group(1));
+            int[] compartments = null;
+            boolean totalSeen = false;
+            for (int pos = airportEnd + 1; pos < end; ) {
+                int elementEnd = find(content, '.', pos, end);
+                int slash = find(content, '/', pos, elementEnd);
+                if (content.startsWith("PAX/", pos)) {
+                    destination.setClassPassengers(numbers(pos + 4, elementEnd));
+                } else if (content.startsWith("PAD/", pos)) {
+                    destination.setPadPassengers(numbers(pos + 4, elementEnd));
+                } else if (content.charAt(pos) == 'T' && allDigits(content, pos + 1, elementEnd)) {
+                    totalSeen = true;
+                    destination.setTotalWeight(number(content, pos + 1, elementEnd));
+                } else if (slash < elementEnd && totalSeen) {
+                    int compartment = number(content, pos, slash);
+                    if (compartment > 0) {
+                        if (compartments == null || compartments.length < compartment) {
+                            compartments = compartments == null
+                                    ? new int[Math.max(compartment, 4)]
+                                    : Arrays.copyOf(compartments, compartment);
+                        }
+                        compartments[compartment - 1] += number(content, slash + 1, elementEnd);
+                    }
+                } else if (slash < elementEnd) {
+                    destination.setPassengers(numbers(pos, elementEnd));
+                } else if (message.getWeightIndex() == null && elementEnd > pos) {
+                    message.setWeightIndex(pooled(content, pos, elementEnd));
+                }
+                pos = elementEnd + 1;
+            }
+            if (compartments != null) {
+                destination.setCompartmentWeights(compartments);
+            }
         }
 
-        // Extract segment information
-        Matcher segmentMatcher = SEGMENT_PATTERN.matcher(line);
-        if (segmentMatcher.find()) {
-            logger.debug("Found segment info: {}", segmentMatcher.group(1));
-            // You might want to store this in a separate field if needed
+        private boolean isStationWeights(int start, int firstEnd, int end) {
+            if (firstEnd - start != 3 || !allLetters(content, start, firstEnd)) return false;
+            int second = skipSpaces(content, firstEnd, end);
+            return matchCode(content, second, tokenEnd(content, second, end), STATION_WEIGHTS) != null;
         }
-    }
 
-    private void parseLoadDetails(String line, LdmMessage message) {
-        // Extract airport code
-        Matcher airportMatcher = AIRPORT_PATTERN.matcher(line);
-        if (airportMatcher.find()) {
-            message.setArrivalAirport(airportMatcher.group(1));
-            logger.debug("Found arrival airport: {}", airportMatcher.group(1));
+        // CMN    FRE       0    POS       0    BAG     898    TRA       0
+        private void stationWeights(int start, int firstEnd, int end) {
+            LdmDestination destination = destination(start, firstEnd);
+            if (destination == null) return;
+            int pos = skipSpaces(content, firstEnd, end);
+            while (pos < end) {
+                int codeEnd = tokenEnd(content, pos, end);
+                String code = matchCode(content, pos, codeEnd, STATION_WEIGHTS);
+                int value = skipSpaces(content, codeEnd, end);
+                int valueEnd = tokenEnd(content, value, end);
+                if (code != null) {
+                    int weight = number(content, value, valueEnd);
+                    switch (code) {
+                        case "FRE" -> destination.setFreightWeight(weight);
+                        case "POS" -> destination.setMailWeight(weight);
+                        case "BAG" -> destination.setBaggageWeight(weight);
+                        case "TRA" -> destination.setTransitWeight(weight);
+                        default -> {
+                        }
+                    }
+                }
+                pos = skipSpaces(content, valueEnd, end);
+            }
         }
 
-        // Extract load details
-        Matcher loadMatcher = LOAD_DETAILS_PATTERN.matcher(line);
-        if (loadMatcher.find()) {
-            try {
-                message.setCompartment1(loadMatcher.group(1) + "/" + loadMatcher.group(2) + "/" +
-                        loadMatcher.group(3) + "/" + loadMatcher.group(4));
-                message.setWeightIndex(loadMatcher.group(5));
-                message.setTotalWeight(Double.parseDouble(loadMatcher.group(6)));
-                message.setCompartment2(loadMatcher.group(7));
-                message.setCompartment3(loadMatcher.group(8));
-                message.setCompartment4(loadMatcher.group(9));
-
-                logger.debug("Found load details: total weight={}, compartments={}/{}/{}/{}",
-                        loadMatcher.group(6), loadMatcher.group(7), loadMatcher.group(8),
-                        loadMatcher.group(9), loadMatcher.group(10));
-            } catch (NumberFormatException e) {
-                logger.warn("Failed to parse load details: {}", line);
+        // CMN 2/T/13 3/Y/29 4/F/7: compartment/category/pieces
+        private void baggagePieces(int from, int end) {
+            int stationStart = skipSpaces(content, from, end);
+            int stationEnd = tokenEnd(content, stationStart, end);
+            LdmDestination destination = destination(stationStart, stationEnd);
+            if (destination == null) return;
+            int pieces = 0;
+            for (int pos = skipSpaces(content, stationEnd, end); pos < end; ) {
+                int tokenEnd = tokenEnd(content, pos, end);
+                int lastSlash = tokenEnd;
+                while (lastSlash > pos && content.charAt(lastSlash - 1) != '/') lastSlash--;
+                pieces += number(content, lastSlash, tokenEnd);
+                pos = skipSpaces(content, tokenEnd, end);
             }
+            destination.setBaggagePieces(destination.getBaggagePieces() + pieces);
         }
 
-        // Extract passenger information
-        Matcher paxMatcher = PASSENGER_PATTERN.matcher(line);
-        if (paxMatcher.find()) {
-            try {
-                message.setPassengerCount(Integer.parseInt(paxMatcher.group(1)));
-                message.setPassengerCapacity(Integer.parseInt(paxMatcher.group(2)));
-                logger.debug("Found passenger info: {}/{}", paxMatcher.group(1), paxMatcher.group(2));
-            } catch (NumberFormatException e) {
-                logger.warn("Failed to parse passenger numbers: {}", line);
+        private LdmDestination destination(int from, int to) {
+            for (LdmDestination destination : message.getDestinations()) {
+                String airport = destination.getAirport();
+                if (airport.length() == to - from && content.startsWith(airport, from)) {
+                    return destination;
+                }
             }
+            return null;
         }
 
-        // Extract detailed passenger information
-        Matcher padMatcher = PASSENGER_DETAIL_PATTERN.matcher(line);
-        if (padMatcher.find()) {
-            try {
-                message.setAdultPassengers(Integer.parseInt(padMatcher.group(1)));
-                message.setChildPassengers(Integer.parseInt(padMatcher.group(2)));
-                message.setInfantPassengers(Integer.parseInt(padMatcher.group(3)));
-                logger.debug("Found passenger detail: adults={}, children={}, infants={}",
-                        padMatcher.group(1), padMatcher.group(2), padMatcher.group(3));
-            } catch (NumberFormatException e) {
-                logger.warn("Failed to parse passenger details: {}", line);
+        private void appendSupplementary(int start, int end) {
+            if (start < end) {
+                if (!supplementary.isEmpty()) supplementary.append(' ');
+                supplementary.append(content, start, end);
             }
         }
-    }
 
-    private void parseAdditionalLoadInfo(String line, LdmMessage message) {
-        // Parse additional load information like FRE, POS, BAG, TRA
-        String[] parts = line.split("\\s+");
-        try {
-            for (int i = 0; i < parts.length; i++) {
-                if ("FRE".equals(parts[i]) && i + 1 < parts.length) {
-                    message.setFreightWeight(Double.parseDouble(parts[i + 1]));
-                } else if ("POS".equals(parts[i]) && i + 1 < parts.length) {
-                    // Position data, might not need to store
-                } else if ("BAG".equals(parts[i]) && i + 1 < parts.length) {
-                    message.setBaggageWeight(Double.parseDouble(parts[i + 1]));
-                } else if ("TRA".equals(parts[i]) && i + 1 < parts.length) {
-                    // Transit data, might not need to store
+        private void finish() {
+            int[] compartments = new int[0];
+            int adults = 0;
+            int children = 0;
+            int infants = 0;
+            double total = 0;
+            double freight = 0;
+            double mail = 0;
+            double baggage = 0;
+            int pieces = 0;
+            for (LdmDestination destination : message.getDestinations()) {
+                // Categories end with children and infants (M/F/C/I or A/C/I); fewer figures are all adults
+                int[] passengers = destination.getPassengers();
+                int adultFigures = passengers.length >= 3 ? passengers.length - 2 : passengers.length;
+                for (int c = 0; c < adultFigures; c++) adults += passengers[c];
+                if (passengers.length >= 3) {
+                    children += passengers[passengers.length - 2];
+                    infants += passengers[passengers.length - 1];
+                }
+                int[] weights = destination.getCompartmentWeights();
+                if (weights.length > compartments.length) {
+                    compartments = Arrays.copyOf(compartments, weights.length);
                 }
+                for (int c = 0; c < weights.length; c++) compartments[c] += weights[c];
+                total += destination.getTotalWeight();
+                freight += destination.getFreightWeight();
+                mail += destination.getMailWeight();
+                baggage += destination.getBaggageWeight();
+                pieces += destination.getBaggagePieces();
+            }
+            message.setAdultPassengers(adults);
+            message.setChildPassengers(children);
+            message.setInfantPassengers(infants);
+            message.setPassengerCount(adults + children + infants);
+            message.setCompartmentWeights(compartments);
+            message.setTotalWeight(total);
+            message.setFreightWeight(freight);
+            message.setMailWeight(mail);
+            message.setBaggageWeight(baggage);
+            message.setBaggagePieces(pieces);
+            if (!message.getDestinations().isEmpty()) {
+                message.setArrivalAirport(message.getDestinations().get(0).getAirport());
+            }
+            if (!supplementary.isEmpty()) {
+                message.setSpecialInstructions(supplementary.toString());
             }
-            logger.debug("Found additional load info: freight={}, baggage={}",
-                    message.getFreightWeight(), message.getBaggageWeight());
-        } catch (NumberFormatException e) {
-            logger.warn("Failed to parse additional load info: {}", line);
         }
-    }
 
-    private void parseBaggagePieces(String line, LdmMessage message) {
-        // Parse checked baggage pieces information
-        logger.debug("Found baggage pieces info: {}", line);
-        // You might want to store this in a separate field if needed
+        // "15/25/2/0" as {15, 25, 2, 0}
+        private int[] numbers(int from, int to) {
+            if (from >= to) return new int[0];
+            int count = 1;
+            for (int i = from; i < to; i++) {
+                if (content.charAt(i) == '/') count++;
+            }
+            int[] numbers = new int[count];
+            int pos = from;
+            for (int n = 0; n < count; n++) {
+                int numberEnd = find(content, '/', pos, to);
+                numbers[n] = number(content, pos, numberEnd);
+                pos = numberEnd + 1;
+            }
+            return numbers;
+        }
     }
-}
\ No newline at end of file
+}
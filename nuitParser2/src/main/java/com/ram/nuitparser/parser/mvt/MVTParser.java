@@ -1,151 +1,270 @@
 package com.ram.nuitparser.parser.mvt;
 
+import com.ram.nuitparser.enums.TelexType;
+import com.ram.nuitparser.model.telex.mvt.MovementType;
+import com.ram.nuitparser.model.telex.mvt.MvtDelay;
 import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import com.ram.nuitparser.parser.TelexLines;
 import com.ram.nuitparser.parser.TelexParser;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.Set;
 
+import static com.ram.nuitparser.parser.SsimTokens.*;
+import static com.ram.nuitparser.parser.StringPool.pooled;
+
+/**
+ * Reads an MVT (or DIV) in one pass following IATA AHM 780: an optional identifier line, the
+ * flight line ({@code AT205/12.CNROC.CMN}: flight/day, registration, movement station), then
+ * element lines such as {@code AD1015/1025 EA1310 JFK}, {@code AA1305/1310}, {@code ED121030},
+ * {@code NI121200} and {@code DL72/93/0030/0015}, and free-text SI lines.
+ */
 @Component
 public class MVTParser implements TelexParser<MvtMessage> {
-    private static final Logger logger = LoggerFactory.getLogger(MVTParser.class);
 
-    // Patterns for parsing MVT message components based on Avinor specification
-    private static final Pattern FLIGHT_PATTERN = Pattern.compile("([A-Z0-9]{2,3}[0-9]{1,4})/(\\d{1,2})\\.");
-    private static final Pattern AIRCRAFT_REG_PATTERN = Pattern.compile("\\.([A-Z]{5})\\.");
-    private static final Pattern AIRPORT_PATTERN = Pattern.compile("\\.([A-Z]{3})");
-    private static final Pattern TIME_PATTERN = Pattern.compile("(\\d{4})");
-    private static final Pattern DELAY_PATTERN = Pattern.compile("DELAY\\s+(.+)", Pattern.CASE_INSENSITIVE);
+    private static final String[] IDENTIFIERS = {"MVT", "DIV", "COR", "PDM"};
+    private static final String[] ELEMENTS = {"AD", "AA", "ED", "EO", "EA", "EB", "NI", "DL"};
 
     @Override
-    public MvtMessage parse(String body, String priority, String destination, String origin, String msgId, String header, String dblSig, String smi) {
-        logger.info("Starting MVT message parsing");
-        MvtMessage message = new MvtMessage();
+    public Set<TelexType> supportedTypes() {
+        return Set.of(TelexType.MVT, TelexType.DIV);
+    }
 
-        // Set only the common header fields (sender and receivers are no longer in the model)
-        message.setPriority(priority);
-        message.setDestination(destination);
-        message.setOrigin(origin);
-        message.setMsgId(msgId);
+    @Override
+    public MvtMessage parse(TelexEnvelope envelope) {
+        MvtMessage message = new MvtMessage();
 
+        // Copy the envelope header fields (priority, receivers, origin, ids, SMI)
+        envelope.applyTo(message);
+        new MovementReader(envelope.body(), message).read();
+        return message;
+    }
 
-        String[] lines = body.split("\\n");
+    /**
+     * Per-message parse state: which movement elements were seen and the stations they name.
+     */
+    private static final class MovementReader {
+        private final TelexLines body;
+        private final String content;
+        private final MvtMessage message;
+        private final StringBuilder remarks = new StringBuilder();
 
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i].trim();
-            logger.debug("Processing line {}: {}", i, line);
+        private boolean flightSeen;
+        private boolean diversion;
+        private boolean cancelled;
+        private boolean departed;
+        private boolean arrived;
+        private boolean estimated;
+        private String station;
+        private String estimatedArrivalStation;
 
-            // Process first line (main flight information)
-            if (i == 0) {
-                parseFirstLine(line, message);
-                continue;
-            }
+        private MovementReader(TelexLines body, MvtMessage message) {
+            this.body = body;
+            this.content = body.content();
+            this.message = message;
+            // Received telexes give the type in the SMI header and the body starts at the flight line
+            this.diversion = "DIV".equals(message.getSmi());
+        }
 
-            // Process times and status
-            if (line.contains("AD") || line.contains("EO") || line.contains("EA")) {
-                parseTimesAndStatus(line, message);
-                continue;
-            }
+        private void read() {
+            for (int i = 0; i < body.size(); i++) {
+                int start = body.start(i);
+                int end = body.end(i);
+                if (start == end) continue;
+                int firstEnd = tokenEnd(content, start, end);
 
-            // Process delay information
-            if (line.toUpperCase().contains("DELAY")) {
-                parseDelayInfo(line, message);
-                continue;
+                if (!flightSeen) {
+                    if (matchCode(content, start, firstEnd, IDENTIFIERS) != null) {
+                        identifierLine(start, end);
+                    } else {
+                        flightLine(start, end);
+                    }
+                } else if (firstEnd - start == 2 && content.startsWith("SI", start)) {
+                    appendRemark(skipSpaces(content, firstEnd, end), end);
+                } else if (elementCode(start, firstEnd) != null) {
+                    elementLine(start, end);
+                } else if (firstEnd - start == 3 && content.startsWith("CNL", start)) {
+                    cancelled = true;
+                } else if (content.regionMatches(true, start, "DELAY", 0, 5)) {
+                    // Free-text delay line some stations still send instead of DL codes
+                    message.setDelayReason(content.substring(skipSpaces(content, tokenEnd(content, start, end), end), end));
+                } else {
+                    appendRemark(start, end);
+                }
             }
+            finish();
+        }
 
-            // Process remarks (anything that doesn't match other patterns)
-            if (message.getRemarks() == null && !line.isEmpty()) {
-                message.setRemarks(line);
-                logger.debug("Found remarks: {}", line);
+        private void identifierLine(int start, int end) {
+            for (int pos = start; pos < end; ) {
+                int tokenEnd = tokenEnd(content, pos, end);
+                if (tokenEnd - pos == 3 && content.startsWith("DIV", pos)) {
+                    diversion = true;
+                }
+                pos = skipSpaces(content, tokenEnd, end);
             }
         }
 
-        logger.info("Completed MVT message parsing for flight: {}", message.getFlightDesignator());
-        return message;
-    }
-
-    private void parseFirstLine(String line, MvtMessage message) {
-        // Extract flight designator and date
-        Matcher flightMatcher = FLIGHT_PATTERN.matcher(line);
-        if (flightMatcher.find()) {
-            message.setFlightDesignator(flightMatcher.group(1));
-            message.setDateOfFlight(flightMatcher.group(2));
-            logger.debug("Found flight: {} on day: {}", flightMatcher.group(1), flightMatcher.group(2));
+        // AT205/12.CNROC.CMN
+        private void flightLine(int start, int end) {
+            flightSeen = true;
+            int lineEnd = tokenEnd(content, start, end);
+            int flightEnd = find(content, '.', start, lineEnd);
+            int slash = find(content, '/', start, flightEnd);
+            if (slash < flightEnd) {
+                message.setFlightDesignator(pooled(content, start, slash));
+                message.setDateOfFlight(pooled(content, slash + 1, flightEnd));
+            } else {
+                message.setFlightDesignator(pooled(content, start, flightEnd));
+            }
+            if (flightEnd < lineEnd) {
+                int registrationEnd = find(content, '.', flightEnd + 1, lineEnd);
+                if (registrationEnd > flightEnd + 1) {
+                    message.setAircraftRegistration(pooled(content, flightEnd + 1, registrationEnd));
+                }
+                if (registrationEnd < lineEnd) {
+                    int stationEnd = find(content, '.', registrationEnd + 1, lineEnd);
+                    if (stationEnd - registrationEnd - 1 == 3) {
+                        station = pooled(content, registrationEnd + 1, stationEnd);
+                    }
+                }
+            }
         }
 
-        // Extract aircraft registration
-        Matcher acRegMatcher = AIRCRAFT_REG_PATTERN.matcher(line);
-        if (acRegMatcher.find()) {
-            message.setAircraftRegistration(acRegMatcher.group(1));
-            logger.debug("Found aircraft registration: {}", acRegMatcher.group(1));
+        // Two letter element code followed by its value, either attached (AD1015) or as the next token
+        private String elementCode(int start, int tokenEnd) {
+            if (tokenEnd - start < 2 || (tokenEnd - start > 2 && !isDigit(content.charAt(start + 2)))) {
+                return null;
+            }
+            return matchCode(content, start, start + 2, ELEMENTS);
         }
 
-        // Extract airports
-        Matcher airportMatcher = AIRPORT_PATTERN.matcher(line);
-        int airportCount = 0;
-        while (airportMatcher.find()) {
-            if (airportCount == 0) {
-                message.setDepartureAirport(airportMatcher.group(1));
-                logger.debug("Found departure airport: {}", airportMatcher.group(1));
-            } else if (airportCount == 1) {
-                message.setArrivalAirport(airportMatcher.group(1));
-                logger.debug("Found arrival airport: {}", airportMatcher.group(1));
+        // AD1015/1025 EA1310 JFK
+        private void elementLine(int start, int end) {
+            boolean expectStation = false;
+            int pos = start;
+            while (pos < end) {
+                int tokenEnd = tokenEnd(content, pos, end);
+                String code = elementCode(pos, tokenEnd);
+                if (code != null) {
+                    int value = pos + 2;
+                    int valueEnd = tokenEnd;
+                    if (value == tokenEnd) {
+                        // Detached value: "DL 72/0030"
+                        value = skipSpaces(content, tokenEnd, end);
+                        valueEnd = tokenEnd(content, value, end);
+                        tokenEnd = valueEnd;
+                    }
+                    element(code, value, valueEnd);
+                    expectStation = code.equals("EA");
+                } else if (expectStation && tokenEnd - pos == 3 && allLetters(content, pos, tokenEnd)) {
+                    estimatedArrivalStation = pooled(content, pos, tokenEnd);
+                    expectStation = false;
+                } else {
+                    expectStation = false;
+                }
+                pos = skipSpaces(content, tokenEnd, end);
             }
-            airportCount++;
         }
-    }
 
-    private void parseTimesAndStatus(String line, MvtMessage message) {
-        // Extract status codes and times
-        String[] parts = line.split("\\s+");
-        for (String s : parts) {
-            String part = s.toUpperCase();
-
-            if (part.startsWith("AD")) {
-                // Actual Departure (off-block time)
-                Matcher timeMatcher = TIME_PATTERN.matcher(part.substring(2));
-                if (timeMatcher.find()) {
-                    message.setActualOffBlockTime(timeMatcher.group(1));
-                    message.setMovementStatus("DEPARTED");
-                    logger.debug("Found actual off-block time: {}", timeMatcher.group(1));
+        private void element(String code, int value, int valueEnd) {
+            if (value == valueEnd) return;
+            int firstEnd = find(content, '/', value, valueEnd);
+            String first = pooled(content, value, firstEnd);
+            String second = firstEnd + 1 < valueEnd ? pooled(content, firstEnd + 1, valueEnd) : null;
+
+            switch (code) {
+                case "AD" -> {
+                    departed = true;
+                    message.setActualOffBlockTime(first);
+                    message.setActualTakeoffTime(second);
+                }
+                case "AA" -> {
+                    arrived = true;
+                    message.setActualLandingTime(first);
+                    message.setActualInBlockTime(second);
+                }
+                case "ED" -> {
+                    estimated = true;
+                    message.setEstimatedDepartureTime(first);
                 }
-            } else if (part.startsWith("EO")) {
-                // Estimated Off-block time
-                // Not used in this implementation, but could be stored if needed
-                Matcher timeMatcher = TIME_PATTERN.matcher(part.substring(2));
-                if (timeMatcher.find()) {
-                    logger.debug("Found estimated off-block time: {}", timeMatcher.group(1));
+                case "EO" -> {
+                    estimated = true;
+                    message.setEstimatedOffBlockTime(first);
                 }
-            } else if (part.startsWith("EA")) {
-                // Estimated Arrival (in-block time)
-                Matcher timeMatcher = TIME_PATTERN.matcher(part.substring(2));
-                if (timeMatcher.find()) {
-                    message.setActualInBlockTime(timeMatcher.group(1));
-                    message.setMovementStatus("ARRIVED");
-                    logger.debug("Found estimated arrival time: {}", timeMatcher.group(1));
+                case "EA" -> message.setEstimatedArrivalTime(first);
+                case "EB" -> message.setEstimatedOnBlockTime(first);
+                case "NI" -> {
+                    estimated = true;
+                    message.setNextInformationTime(first);
                 }
-            } else if (part.length() == 4 && part.matches("\\d{4}")) {
-                // Standalone time (could be takeoff or landing time)
-                if (message.getActualTakeoffTime() == null) {
-                    message.setActualTakeoffTime(part);
-                    logger.debug("Found takeoff time: {}", part);
-                } else if (message.getActualLandingTime() == null) {
-                    message.setActualLandingTime(part);
-                    logger.debug("Found landing time: {}", part);
+                case "DL" -> delays(value, valueEnd);
+                default -> {
                 }
             }
         }
-    }
 
-    private void parseDelayInfo(String line, MvtMessage message) {
-        // Extract delay reason
-        Matcher delayMatcher = DELAY_PATTERN.matcher(line);
-        if (delayMatcher.find()) {
-            message.setDelayReason(delayMatcher.group(1));
-            logger.debug("Found delay reason: {}", delayMatcher.group(1));
+        // DL72/0030 or DL72/93/0030/0015: the codes first, then their durations in the same order
+        private void delays(int value, int valueEnd) {
+            estimated = true;
+            List<MvtDelay> delays = message.getDelays();
+            int firstDelay = delays.size();
+            int durationIndex = firstDelay;
+            int pos = value;
+            while (pos < valueEnd) {
+                int itemEnd = find(content, '/', pos, valueEnd);
+                if (itemEnd - pos == 4 && allDigits(content, pos, itemEnd)) {
+                    int minutes = (content.charAt(pos) - '0') * 600 + (content.charAt(pos + 1) - '0') * 60
+                            + (content.charAt(pos + 2) - '0') * 10 + (content.charAt(pos + 3) - '0');
+                    if (durationIndex < delays.size()) {
+                        delays.set(durationIndex, new MvtDelay(delays.get(durationIndex).code(), minutes));
+                        durationIndex++;
+                    }
+                } else if (itemEnd > pos) {
+                    delays.add(new MvtDelay(pooled(content, pos, itemEnd), null));
+                }
+                pos = itemEnd + 1;
+            }
+            if (message.getDelayReason() == null && delays.size() > firstDelay) {
+                message.setDelayReason(delays.get(firstDelay).code());
+            }
+        }
+
+        private void appendRemark(int start, int end) {
+            if (start < end) {
+                if (!remarks.isEmpty()) remarks.append(' ');
+                remarks.append(content, start, end);
+            }
+        }
+
+        private void finish() {
+            // The flight line names the station where the reported movement took place
+            if (arrived && !departed) {
+                message.setArrivalAirport(station);
+            } else {
+                message.setDepartureAirport(station);
+                if (estimatedArrivalStation != null) {
+                    message.setArrivalAirport(estimatedArrivalStation);
+                }
+            }
+
+            if (cancelled) {
+                message.setMovementType(MovementType.CAN);
+            } else if (diversion) {
+                message.setMovementType(MovementType.DIV);
+            } else if (arrived) {
+                message.setMovementType(MovementType.ARR);
+            } else if (departed) {
+                message.setMovementType(MovementType.DEP);
+            } else if (estimated) {
+                message.setMovementType(MovementType.DLY);
+            }
+
+            if (!remarks.isEmpty()) {
+                message.setRemarks(remarks.toString());
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -1,147 +1,292 @@
 package com.ram.nuitparser.parser.ssm;
 
+import com.ram.nuitparser.enums.TelexType;
+import com.ram.nuitparser.model.telex.ssm.SsmLeg;
 import com.ram.nuitparser.model.telex.ssm.SsmMessage;
+import com.ram.nuitparser.parser.SsimBlocks;
+import com.ram.nuitparser.parser.TelexLines;
 import com.ram.nuitparser.parser.TelexParser;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static com.ram.nuitparser.parser.SsimTokens.*;
+import static com.ram.nuitparser.parser.StringPool.pooled;
+
+/**
+ * Reads an SSM in one pass following the SSIM Chapter 4 layout: preamble and action line, then
+ * for every flight (separated by "//") the flight line followed by one or more period blocks.
+ * A period block is one or more period/frequency lines, an equipment line and the leg lines;
+ * every leg is emitted once for each period of its block. {@link #parse} keeps all flights in
+ * one message; {@link #parseEach} emits a message per flight.
+ */
 @Component
 public class SSMParser implements TelexParser<SsmMessage> {
-    private static final Logger logger = LoggerFactory.getLogger(SSMParser.class);
 
-    // Updated patterns based on your sample SSM message
-    private static final Pattern FLIGHT_PATTERN = Pattern.compile("\\b([A-Z]{2}\\d{2,4})\\b");
-    private static final Pattern AIRCRAFT_PATTERN = Pattern.compile("\\b([A-Z]\\s*\\d{3})\\b");
-    private static final Pattern DATE_PATTERN = Pattern.compile("\\b(\\d{1,2}[A-Z]{3}\\d{2})\\b");
-    private static final Pattern ROUTE_PATTERN = Pattern.compile("\\b([A-Z]{3}\\d{4})\\s+([A-Z]{3}\\d{4})\\b");
-    private static final Pattern SECOND_ROUTE_PATTERN = Pattern.compile("\\b([A-Z]{3}\\d{4})\\s+([A-Z]{3}\\d{4})\\b");
-    private static final Pattern CONFIG_PATTERN = Pattern.compile("\\b([A-Z]\\d+Y\\d+)\\b");
+    private static final String[] ACTION_CODES =
+            {"NEW", "CNL", "RPL", "SKD", "ACK", "ADM", "CON", "EQT", "FLT", "NAC", "REV", "RSD", "TIM"};
+
+    @Override
+    public Set<TelexType> supportedTypes() {
+        return Set.of(TelexType.SSM);
+    }
 
     @Override
-    public SsmMessage parse(String body, String priority, String destination, String origin, String msgId, String header, String dblSig, String smi) {
-        logger.info("Starting SSM message parsing");
+    public SsmMessage parse(TelexEnvelope envelope) {
         SsmMessage message = new SsmMessage();
 
-        // Set common header fields
-        message.setPriority(priority);
-        message.setDestination(destination);
-        message.setOrigin(origin);
-        message.setMsgId(msgId);
-       // message.setRawBody(body);
+        // Copy the envelope header fields (priority, receivers, origin, ids, SMI)
+        envelope.applyTo(message);
+        new ScheduleReader(envelope.body(), message).read();
+        return message;
+    }
 
-        String[] lines = body.split("\\n");
-        logger.debug("Processing {} lines in SSM message", lines.length);
+    /**
+     * One message per "//" separated flight block, each with the legs of that flight only.
+     */
+    @Override
+    public void parseEach(TelexEnvelope envelope, Consumer<? super SsmMessage> sink) {
+        SsimBlocks.forEach(envelope.body(), ACTION_CODES, block -> sink.accept(parse(envelope.withBody(block))));
+    }
 
-        // Log each line for debugging
-        for (int i = 0; i < lines.length; i++) {
-            logger.debug("Line {}: {}", i, lines[i].trim());
-        }
+    private record Period(String effectiveDate, String discontinuationDate, String daysOfOperation) {
+    }
 
-        // Process each line with all patterns
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i].trim();
-            if (line.isEmpty()) continue;
+    /**
+     * Per-message parse state: the current flight, its period block and equipment.
+     */
+    private static final class ScheduleReader {
+        private final TelexLines body;
+        private final String content;
+        private final SsmMessage message;
+        private final List<SsmLeg> legs;
 
-            logger.debug("Processing line {}: {}", i, line);
+        private final List<Period> periods = new ArrayList<>(2);
+        private final StringBuilder route = new StringBuilder();
+        private final List<String> deis = new ArrayList<>();
+        private final StringBuilder supplementary = new StringBuilder();
 
-            // Try all patterns on each line
-            extractFlightInfo(message, line, i);
-            extractAircraftInfo(message, line, i);
-            extractDates(message, line, i);
-            extractRouteInfo(message, line, i);
-            extractConfigInfo(message, line, i);
-        }
+        private boolean preamble = true;
+        private boolean expectFlight;
+        private boolean periodBlockOpen;
+        private boolean routeOpen;
+        private int flightIndex = -1;
+        private String flight;
+        private String serviceType;
+        private String aircraftType;
+        private String configuration;
 
-        logger.info("Completed SSM message parsing for flight: {}", message.getFlightDesignator());
-        logger.info("Parsed details - Departure: {}, Arrival: {}, Aircraft: {}, Effective: {}, Until: {}",
-                message.getDepartureAirport(), message.getArrivalAirport(),
-                message.getAircraftType(), message.getEffectiveDate(), message.getDiscontinuationDate());
+        private ScheduleReader(TelexLines body, SsmMessage message) {
+            this.body = body;
+            this.content = body.content();
+            this.message = message;
+            this.legs = message.getLegs();
+        }
 
-        return message;
-    }
+        private void read() {
+            for (int i = 0; i < body.size(); i++) {
+                int start = body.start(i);
+                int end = body.end(i);
+                if (start == end) continue;
+                int firstEnd = tokenEnd(content, start, end);
 
-    private void extractFlightInfo(SsmMessage message, String line, int lineNumber) {
-        if (message.getFlightDesignator() != null) return;
+                if (preamble) {
+                    if (matchCode(content, start, firstEnd, ACTION_CODES) != null) {
+                        preamble = false;
+                        expectFlight = true;
+                    }
+                } else if (firstEnd - start == 2 && content.startsWith("//", start)) {
+                    expectFlight = true;
+                } else if (firstEnd - start == 2 && content.startsWith("SI", start)) {
+                    supplementaryLine(start, end);
+                } else if (expectFlight) {
+                    // A new action may be stated again after "//"
+                    if (matchCode(content, start, firstEnd, ACTION_CODES) == null) {
+                        flightLine(start, firstEnd, end);
+                    }
+                } else if (isLegLine(content, start, end)) {
+                    legLine(start, firstEnd, end);
+                } else if (isPeriodLine(start, firstEnd, end)) {
+                    periodLine(start, firstEnd, end);
+                } else if (firstEnd - start == 1 && isLetter(content.charAt(start))) {
+                    equipmentLine(start, firstEnd, end);
+                }
+                // Anything else (segment information lines) carries nothing we keep
+            }
 
-        Matcher flightMatcher = FLIGHT_PATTERN.matcher(line);
-        if (flightMatcher.find()) {
-            message.setFlightDesignator(flightMatcher.group(1));
-            logger.debug("Found flight designator on line {}: {}", lineNumber, flightMatcher.group(1));
+            if (!route.isEmpty()) {
+                message.setRoute(route.toString());
+            }
+            if (!deis.isEmpty()) {
+                message.setDeIdentifiers(deis);
+            }
+            if (!supplementary.isEmpty()) {
+                message.setRemarks(supplementary.toString());
+            }
         }
-    }
 
-    private void extractAircraftInfo(SsmMessage message, String line, int lineNumber) {
-        if (message.getAircraftType() != null) return;
+        private void flightLine(int start, int firstEnd, int end) {
+            int designatorEnd = content.indexOf('/', start);
+            if (designatorEnd < 0 || designatorEnd > firstEnd) {
+                designatorEnd = firstEnd;
+            }
+            flight = pooled(content, start, designatorEnd);
+            flightIndex++;
+            expectFlight = false;
+            periods.clear();
+            periodBlockOpen = false;
+            routeOpen = flightIndex == 0;
+            serviceType = null;
+            aircraftType = null;
+            configuration = null;
+
+            if (flightIndex == 0) {
+                message.setFlightDesignator(flight);
+                appendDeis(firstEnd, end);
+            }
+        }
 
-        Matcher acMatcher = AIRCRAFT_PATTERN.matcher(line);
-        if (acMatcher.find()) {
-            message.setAircraftType(acMatcher.group(1).replace(" ", ""));
-            logger.debug("Found aircraft type on line {}: {}", lineNumber, acMatcher.group(1));
+        // 04SEP25 11SEP25 1234[ /W2]
+        private boolean isPeriodLine(int start, int firstEnd, int end) {
+            if (!isDate(start, firstEnd)) return false;
+            int second = skipSpaces(content, firstEnd, end);
+            int secondEnd = tokenEnd(content, second, end);
+            if (!isDate(second, secondEnd)) return false;
+            int days = skipSpaces(content, secondEnd, end);
+            int daysEnd = tokenEnd(content, days, end);
+            if (daysEnd == days || daysEnd - days > 7) return false;
+            for (int i = days; i < daysEnd; i++) {
+                char c = content.charAt(i);
+                if (c < '1' || c > '7') return false;
+            }
+            return true;
         }
-    }
 
-    private void extractDates(SsmMessage message, String line, int lineNumber) {
-        Matcher dateMatcher = DATE_PATTERN.matcher(line);
-        int dateCount = 0;
+        // DDMMM or DDMMMYY
+        private boolean isDate(int from, int to) {
+            int length = to - from;
+            return (length == 5 || length == 7)
+                    && allDigits(content, from, from + 2)
+                    && allLetters(content, from + 2, from + 5)
+                    && allDigits(content, from + 5, to);
+        }
 
-        while (dateMatcher.find()) {
-            if (dateCount == 0 && message.getEffectiveDate() == null) {
-                message.setEffectiveDate(dateMatcher.group(1));
-                logger.debug("Found effective date on line {}: {}", lineNumber, dateMatcher.group(1));
-            } else if (dateCount == 1 && message.getDiscontinuationDate() == null) {
-                message.setDiscontinuationDate(dateMatcher.group(1));
-                logger.debug("Found discontinuation date on line {}: {}", lineNumber, dateMatcher.group(1));
+        private void periodLine(int start, int firstEnd, int end) {
+            if (periodBlockOpen) {
+                // Equipment or legs were read since the last period line, so this starts a new block
+                periods.clear();
+                periodBlockOpen = false;
+                routeOpen = false;
+            }
+            int second = skipSpaces(content, firstEnd, end);
+            int secondEnd = tokenEnd(content, second, end);
+            int days = skipSpaces(content, secondEnd, end);
+            Period period = new Period(
+                    pooled(content, start, firstEnd),
+                    pooled(content, second, secondEnd),
+                    pooled(content, days, tokenEnd(content, days, end)));
+            periods.add(period);
+            if (flightIndex == 0 && message.getEffectiveDate() == null) {
+                message.setEffectiveDate(period.effectiveDate());
+                message.setDiscontinuationDate(period.discontinuationDate());
+                message.setDaysOfOperation(period.daysOfOperation());
             }
-            dateCount++;
         }
-    }
 
-    private void extractRouteInfo(SsmMessage message, String line, int lineNumber) {
-        // Try first route pattern
-        Matcher routeMatcher = ROUTE_PATTERN.matcher(line);
-        if (routeMatcher.find()) {
-            String dep = routeMatcher.group(1).substring(0, 3); // Extract airport code from "CMN0140"
-            String arr = routeMatcher.group(2).substring(0, 3); // Extract airport code from "MED0740"
+        // J 332 J24Y275 3/HFM 4/HFM 5/AT
+        private void equipmentLine(int start, int firstEnd, int end) {
+            periodBlockOpen = true;
+            serviceType = pooled(content, start, firstEnd);
+            int typeStart = skipSpaces(content, firstEnd, end);
+            int typeEnd = tokenEnd(content, typeStart, end);
+            aircraftType = typeEnd > typeStart ? pooled(content, typeStart, typeEnd) : null;
+            configuration = null;
 
-            if (message.getDepartureAirport() == null) {
-                message.setDepartureAirport(dep);
-                logger.debug("Found departure airport on line {}: {}", lineNumber, dep);
+            int pos = skipSpaces(content, typeEnd, end);
+            while (pos < end) {
+                int tokenEnd = tokenEnd(content, pos, end);
+                if (!isDei(content, pos, tokenEnd) && configuration == null) {
+                    int configStart = content.charAt(pos) == '.' ? pos + 1 : pos;
+                    configuration = pooled(content, configStart, tokenEnd);
+                }
+                pos = skipSpaces(content, tokenEnd, end);
             }
 
-            if (message.getArrivalAirport() == null) {
-                message.setArrivalAirport(arr);
-                logger.debug("Found arrival airport on line {}: {}", lineNumber, arr);
+            if (flightIndex == 0 && message.getAircraftType() == null) {
+                message.setAircraftType(aircraftType);
+            }
+            if (flightIndex == 0) {
+                appendDeis(typeEnd, end);
             }
+        }
+
+        // CMN0140 MED0740[/1] [DEIs]
+        private void legLine(int start, int firstEnd, int end) {
+            periodBlockOpen = true;
+            int second = skipSpaces(content, firstEnd, end);
+            int secondEnd = tokenEnd(content, second, end);
 
-            // Extract times if needed
-            String depTime = routeMatcher.group(1).substring(3);
-            String arrTime = routeMatcher.group(2).substring(3);
-            logger.debug("Found times on line {}: Dep {}, Arr {}", lineNumber, depTime, arrTime);
+            String departureAirport = pooled(content, start, start + 3);
+            String departureTime = pooled(content, start + 3, start + 7);
+            String arrivalAirport = pooled(content, second, second + 3);
+            String arrivalTime = pooled(content, second + 3, second + 7);
+            int departureVariation = dateVariation(content, start, firstEnd);
+            int arrivalVariation = dateVariation(content, second, secondEnd);
+
+            if (periods.isEmpty()) {
+                legs.add(leg(null, departureAirport, departureTime, departureVariation,
+                        arrivalAirport, arrivalTime, arrivalVariation));
+            }
+            for (Period period : periods) {
+                legs.add(leg(period, departureAirport, departureTime, departureVariation,
+                        arrivalAirport, arrivalTime, arrivalVariation));
+            }
+
+            if (message.getDepartureAirport() == null) {
+                message.setDepartureAirport(departureAirport);
+                message.setDepartureTime(departureTime);
+                message.setArrivalAirport(arrivalAirport);
+                message.setArrivalTime(arrivalTime);
+            }
+            // The route string follows the legs of the first flight's first period block
+            if (routeOpen) {
+                if (route.isEmpty()) route.append(departureAirport);
+                route.append('-').append(arrivalAirport);
+            }
         }
 
-        // Try second route pattern for additional segments
-        Matcher secondRouteMatcher = SECOND_ROUTE_PATTERN.matcher(line);
-        if (secondRouteMatcher.find()) {
-            String dep = secondRouteMatcher.group(1).substring(0, 3);
-            String arr = secondRouteMatcher.group(2).substring(0, 3);
+        private SsmLeg leg(Period period, String departureAirport, String departureTime, int departureVariation,
+                           String arrivalAirport, String arrivalTime, int arrivalVariation) {
+            return new SsmLeg(flight,
+                    period != null ? period.effectiveDate() : null,
+                    period != null ? period.discontinuationDate() : null,
+                    period != null ? period.daysOfOperation() : null,
+                    serviceType, aircraftType, configuration,
+                    departureAirport, departureTime, departureVariation,
+                    arrivalAirport, arrivalTime, arrivalVariation);
+        }
 
-            // For multi-segment flights, you might want to handle this differently
-            if (message.getArrivalAirport() != null && !message.getArrivalAirport().equals(arr)) {
-                logger.debug("Found additional route segment on line {}: {} to {}", lineNumber, dep, arr);
-                // You might want to store this in a separate field for multi-segment flights
+        private void supplementaryLine(int start, int end) {
+            int text = skipSpaces(content, start + 2, end);
+            if (text < end) {
+                if (!supplementary.isEmpty()) supplementary.append(' ');
+                supplementary.append(content, text, end);
             }
         }
-    }
 
-    private void extractConfigInfo(SsmMessage message, String line, int lineNumber) {
-        Matcher configMatcher = CONFIG_PATTERN.matcher(line);
-        if (configMatcher.find()) {
-            logger.debug("Found aircraft configuration on line {}: {}", lineNumber, configMatcher.group(1));
-            // You might want to store this in a field if your SsmMessage supports it
+        private void appendDeis(int from, int end) {
+            int pos = skipSpaces(content, from, end);
+            while (pos < end) {
+                int tokenEnd = tokenEnd(content, pos, end);
+                if (isDei(content, pos, tokenEnd)) {
+                    deis.add(pooled(content, pos, tokenEnd));
+                }
+                pos = skipSpaces(content, tokenEnd, end);
+            }
         }
     }
-}
\ No newline at end of file
+}
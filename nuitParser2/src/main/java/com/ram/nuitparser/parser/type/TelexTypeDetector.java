@@ -0,0 +1,123 @@
+package com.ram.nuitparser.parser.type;
+
+import com.ram.nuitparser.enums.TelexType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classifies a telex from its standard message identifier. The keywords are compiled into a
+ * trie over letters and digits held in flat int arrays, and a line is classified by walking
+ * its first token through it: case-insensitive, no allocation, and only whole tokens match,
+ * so "ASMARA" is not an ASM. A leading "COR" (correction) or "PDM" (possible duplicate) is
+ * skipped before the identifier.
+ */
+@Component
+public class TelexTypeDetector {
+    private static final Logger logger = LoggerFactory.getLogger(TelexTypeDetector.class);
+
+    private static final int ALPHABET = 36;
+    private static final int NONE = -1;
+    private static final int QUALIFIER = -2;
+    private static final List<String> QUALIFIERS = List.of("COR", "PDM");
+    private static final TelexType[] TYPES = TelexType.values();
+
+    // next[node * ALPHABET + symbol] is the child node, 0 when absent (the root is never a child)
+    private int[] next = new int[ALPHABET * 16];
+    // Type ordinal ending at the node, NONE or QUALIFIER
+    private int[] values = new int[16];
+    private int nodes = 1;
+
+    @Autowired
+    public TelexTypeDetector(ObjectProvider<TelexTypeKeyword> registered) {
+        this(withStandard(registered.orderedStream().toList()));
+    }
+
+    public TelexTypeDetector(List<TelexTypeKeyword> keywords) {
+        Arrays.fill(values, NONE);
+        for (String qualifier : QUALIFIERS) {
+            insert(qualifier, QUALIFIER);
+        }
+        for (TelexTypeKeyword keyword : keywords) {
+            insert(keyword.keyword(), keyword.type().ordinal());
+        }
+        next = Arrays.copyOf(next, nodes * ALPHABET);
+        values = Arrays.copyOf(values, nodes);
+        logger.info("TelexTypeDetector initialized with {} keywords", keywords.size());
+    }
+
+    private static List<TelexTypeKeyword> withStandard(List<TelexTypeKeyword> registered) {
+        List<TelexTypeKeyword> keywords = new ArrayList<>(TelexTypeKeyword.standard());
+        keywords.addAll(registered);
+        return keywords;
+    }
+
+    public TelexType detect(String line) {
+        return line == null ? TelexType.UNKNOWN : detect(line, 0, line.length());
+    }
+
+    /**
+     * Classifies {@code content[from, to)}, typically the SMI header or the first body line.
+     */
+    public TelexType detect(CharSequence content, int from, int to) {
+        int pos = from;
+        while (true) {
+            while (pos < to && content.charAt(pos) <= ' ') pos++;
+            if (pos == to) {
+                return TelexType.UNKNOWN;
+            }
+            int node = 0;
+            for (int symbol; pos < to && (symbol = symbol(content.charAt(pos))) >= 0; pos++) {
+                node = next[node * ALPHABET + symbol];
+                if (node == 0) {
+                    return TelexType.UNKNOWN;
+                }
+            }
+            int value = values[node];
+            if (value != QUALIFIER) {
+                return value >= 0 ? TYPES[value] : TelexType.UNKNOWN;
+            }
+        }
+    }
+
+    private void insert(String keyword, int value) {
+        int node = 0;
+        for (int i = 0; i < keyword.length(); i++) {
+            int slot = node * ALPHABET + symbol(keyword.charAt(i));
+            if (next[slot] == 0) {
+                // Allocate first: newNode() may replace the next array
+                int child = newNode();
+                next[slot] = child;
+            }
+            node = next[slot];
+        }
+        if (values[node] != NONE && values[node] != value) {
+            throw new IllegalStateException("Telex type keyword " + keyword + " is already registered as "
+                    + (values[node] == QUALIFIER ? "a qualifier" : TYPES[values[node]]));
+        }
+        values[node] = value;
+    }
+
+    private int newNode() {
+        if (nodes == values.length) {
+            next = Arrays.copyOf(next, next.length * 2);
+            values = Arrays.copyOf(values, values.length * 2);
+            Arrays.fill(values, nodes, values.length, NONE);
+        }
+        return nodes++;
+    }
+
+    // A-Z (either case) to 0-25, 0-9 to 26-35, anything else is a token boundary
+    static int symbol(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        if (c >= '0' && c <= '9') return 26 + c - '0';
+        return -1;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ram.nuitparser.parser.type;
+
+import com.ram.nuitparser.enums.TelexType;
+
+import java.util.List;
+
+/**
+ * Maps a standard message identifier (the SMI header, or the first token of the telex body)
+ * to a telex type. The standard identifiers are always known to {@link TelexTypeDetector};
+ * declare further keywords as Spring beans to extend detection without code changes.
+ *
+ * @param keyword letters and digits only, matched case-insensitively as a whole token
+ */
+public record TelexTypeKeyword(String keyword, TelexType type) {
+
+    private static final List<TelexTypeKeyword> STANDARD = List.of(
+            new TelexTypeKeyword("ASM", TelexType.ASM),
+            new TelexTypeKeyword("SSM", TelexType.SSM),
+            new TelexTypeKeyword("MVT", TelexType.MVT),
+            new TelexTypeKeyword("DIV", TelexType.DIV),
+            new TelexTypeKeyword("LDM", TelexType.LDM),
+            new TelexTypeKeyword("CPM", TelexType.CPM),
+            new TelexTypeKeyword("PSM", TelexType.PSM),
+            new TelexTypeKeyword("PTM", TelexType.PTM),
+            new TelexTypeKeyword("UCM", TelexType.UCM));
+
+    public TelexTypeKeyword {
+        if (keyword == null || keyword.isEmpty() || type == null) {
+            throw new IllegalArgumentException("Keyword and type are required");
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (TelexTypeDetector.symbol(keyword.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Keyword must be letters and digits only: " + keyword);
+            }
+        }
+    }
+
+    public static List<TelexTypeKeyword> standard() {
+        return STANDARD;
+    }
+}
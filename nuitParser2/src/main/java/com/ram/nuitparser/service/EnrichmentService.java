@@ -1,124 +1,232 @@
 package com.ram.nuitparser.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ram.nuitparser.model.enrichment.*;
 import com.ram.nuitparser.model.telex.TelexMessage;
+import com.ram.nuitparser.service.enrichment.FlightDesignatorResolver;
+import com.ram.nuitparser.service.enrichment.ReferenceDataIndex;
+import com.ram.nuitparser.service.enrichment.ReferenceDataSnapshot;
+import com.ram.nuitparser.service.enrichment.ReferenceDataSnapshot.Dataset;
+import com.ram.nuitparser.service.enrichment.UnknownCodeTracker;
+import com.ram.nuitparser.service.enrichment.UnknownCodeTracker.CodeKind;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
 
 @Service
 public class EnrichmentService {
     private static final Logger logger = LoggerFactory.getLogger(EnrichmentService.class);
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    private List<Airline> airlines = new ArrayList<>();
-    private List<AirportExtended> airports = new ArrayList<>();
-    private List<Aircraft> aircraftList = new ArrayList<>();
-    private List<Country> countries = new ArrayList<>();
+    // Replaced as a whole on reload; every lookup below is a single hash probe on the current one
+    private volatile ReferenceDataIndex index = ReferenceDataIndex.EMPTY;
+    private final Object reloadLock = new Object();
+    private final UnknownCodeTracker unknownCodes;
+    private final FlightDesignatorResolver designatorResolver;
+
+    public EnrichmentService(UnknownCodeTracker unknownCodes, FlightDesignatorResolver designatorResolver) {
+        this.unknownCodes = unknownCodes;
+        this.designatorResolver = designatorResolver;
+    }
 
     @PostConstruct
     public void init() {
         logger.info("Initializing EnrichmentService data loading");
-        loadAirlines();
-        loadAirports();
-        loadAircraft();
-        loadCountries();
-        logger.info("Enrichment data loaded: {} airlines, {} airports, {} aircraft, {} countries",
-                airlines.size(), airports.size(), aircraftList.size(), countries.size());
+        long started = System.nanoTime();
+        try {
+            index = loadIndex(1, ReferenceDataIndex.EMPTY, this::loadFromClasspath);
+        } catch (IOException e) {
+            // Classpath loading already logs and skips broken datasets
+            logger.error("Failed to load enrichment data: {}", e.getMessage(), e);
+        }
+        ReferenceDataIndex loaded = index;
+        logger.info("Enrichment data loaded in {} ms: {} airlines, {} airports, {} aircraft, {} countries",
+                (System.nanoTime() - started) / 1_000_000, loaded.airlines().size(), loaded.airports().size(),
+                loaded.aircraft().size(), loaded.countries().size());
     }
 
-    private void loadAirlines() {
-        logger.debug("Loading airlines dataset");
-        try (InputStream input = getClass().getResourceAsStream("/data/airlines.json")) {
-            if (input != null) {
-                airlines = objectMapper.readValue(input, new TypeReference<>() {
-                });
-                logger.info("Loaded {} airline records", airlines.size());
-            } else {
-                logger.error("Airlines JSON file not found in classpath");
+    /**
+     * Reloads the datasets found in {@code directory} ({@code airlines.json}, {@code airlines.bin}, ...;
+     * the newer file wins when both exist), keeping the current data for the others. The new index is
+     * built on the calling thread and published with a single write, so concurrent {@link #enrich}
+     * calls keep using the previous version until then and never wait.
+     *
+     * @throws IOException if a dataset in the directory cannot be read; the current data stays in place
+     */
+    public ReferenceDataIndex reload(Path directory) throws IOException {
+        synchronized (reloadLock) {
+            long started = System.nanoTime();
+            ReferenceDataIndex current = index;
+            DirectorySource source = new DirectorySource(directory);
+            ReferenceDataIndex reloaded = loadIndex(current.version() + 1, current, source::load);
+            index = reloaded;
+            // Codes the new data knows are no longer misses
+            unknownCodes.forgetResolved(CodeKind.AIRLINE,
+                    code -> reloaded.airlineByIata(code) != null || reloaded.airlineByIcao(code) != null);
+            unknownCodes.forgetResolved(CodeKind.AIRPORT, code -> reloaded.airportByIata(code) != null);
+            logger.info("Reference data version {} published from {} in {} ms: {} airlines, {} airports, {} aircraft, {} countries",
+                    reloaded.version(), directory, (System.nanoTime() - started) / 1_000_000, reloaded.airlines().size(),
+                    reloaded.airports().size(), reloaded.aircraft().size(), reloaded.countries().size());
+            return reloaded;
+        }
+    }
+
+    public ReferenceDataIndex getReferenceData() {
+        return index;
+    }
+
+    @FunctionalInterface
+    private interface DatasetSource {
+        // Null when the source has no such dataset
+        <T> List<T> load(Dataset<T> dataset) throws IOException;
+    }
+
+    // The four datasets are independent; load them side by side. Missing ones keep the current list
+    private ReferenceDataIndex loadIndex(long version, ReferenceDataIndex current, DatasetSource source) throws IOException {
+        try (ExecutorService loaders = Executors.newFixedThreadPool(ReferenceDataSnapshot.DATASETS.size())) {
+            Future<List<Airline>> airlinesLoad = loaders.submit(() -> source.load(ReferenceDataSnapshot.AIRLINES));
+            Future<List<AirportExtended>> airportsLoad = loaders.submit(() -> source.load(ReferenceDataSnapshot.AIRPORTS));
+            Future<List<Aircraft>> aircraftLoad = loaders.submit(() -> source.load(ReferenceDataSnapshot.AIRCRAFT));
+            Future<List<Country>> countriesLoad = loaders.submit(() -> source.load(ReferenceDataSnapshot.COUNTRIES));
+            List<Airline> airlines = airlinesLoad.get();
+            List<AirportExtended> airports = airportsLoad.get();
+            List<Aircraft> aircraft = aircraftLoad.get();
+            List<Country> countries = countriesLoad.get();
+
+            // Only freshly read records are touched; the current ones are in use by enrich()
+            canonicalizeReferenceStrings(airlines, airports);
+            return ReferenceDataIndex.build(version, Instant.now(),
+                    airlines != null ? airlines : current.airlines(),
+                    airports != null ? airports : current.airports(),
+                    aircraft != null ? aircraft : current.aircraft(),
+                    countries != null ? countries : current.countries());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading reference data", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
             }
-        } catch (Exception e) {
-            logger.error("Failed to load airlines dataset: {}", e.getMessage(), e);
+            throw new IOException(e.getCause().getMessage(), e.getCause());
         }
     }
 
-    private void loadAirports() {
-        logger.debug("Loading airports dataset");
-        try (InputStream input = getClass().getResourceAsStream("/data/airportsExtended.json")) {
+    // Prefers the binary snapshot written at build time, falling back to the JSON source
+    private <T> List<T> loadFromClasspath(Dataset<T> dataset) {
+        logger.debug("Loading {} dataset", dataset.name());
+        try (InputStream input = getClass().getResourceAsStream(dataset.snapshotResource())) {
             if (input != null) {
-                airports = objectMapper.readValue(input, new TypeReference<>() {
-                });
-                logger.info("Loaded {} airport records", airports.size());
-            } else {
-                logger.error("Airports JSON file not found in classpath");
+                List<T> records = ReferenceDataSnapshot.read(dataset, input);
+                logger.info("Loaded {} {} records from snapshot", records.size(), dataset.name());
+                return records;
             }
+            logger.debug("No {} snapshot in classpath, reading JSON", dataset.name());
         } catch (Exception e) {
-            logger.error("Failed to load airports dataset: {}", e.getMessage(), e);
+            logger.warn("Ignoring unreadable {} snapshot, reading JSON: {}", dataset.name(), e.getMessage());
         }
-    }
 
-    private void loadAircraft() {
-        logger.debug("Loading aircraft dataset");
-        try (InputStream input = getClass().getResourceAsStream("/data/aircraft.json")) {
+        try (InputStream input = getClass().getResourceAsStream(dataset.jsonResource())) {
             if (input != null) {
-                aircraftList = objectMapper.readValue(input, new TypeReference<>() {
-                });
-                logger.info("Loaded {} aircraft records", aircraftList.size());
-            } else {
-                logger.error("Aircraft JSON file not found in classpath");
+                List<T> records = objectMapper.readValue(input, dataset.jsonType());
+                logger.info("Loaded {} {} records from JSON", records.size(), dataset.name());
+                return records;
             }
+            logger.error("{} JSON file not found in classpath", dataset.name());
         } catch (Exception e) {
-            logger.error("Failed to load aircraft dataset: {}", e.getMessage(), e);
+            logger.error("Failed to load {} dataset: {}", dataset.name(), e.getMessage(), e);
         }
+        return new ArrayList<>();
     }
 
-    private void loadCountries() {
-        logger.debug("Loading countries dataset");
-        try (InputStream input = getClass().getResourceAsStream("/data/countries.json")) {
-            if (input != null) {
-                countries = objectMapper.readValue(input, new TypeReference<>() {
-                });
-                logger.info("Loaded {} country records", countries.size());
+    private final class DirectorySource {
+        private final Path directory;
+
+        private DirectorySource(Path directory) {
+            this.directory = directory;
+        }
+
+        <T> List<T> load(Dataset<T> dataset) throws IOException {
+            Path json = directory.resolve(dataset.name() + ".json");
+            Path snapshot = directory.resolve(dataset.name() + ".bin");
+            boolean hasJson = Files.isRegularFile(json);
+            boolean hasSnapshot = Files.isRegularFile(snapshot);
+            if (!hasJson && !hasSnapshot) {
+                return null;
+            }
+            List<T> records;
+            if (hasSnapshot && (!hasJson || Files.getLastModifiedTime(snapshot).compareTo(Files.getLastModifiedTime(json)) >= 0)) {
+                try (InputStream input = Files.newInputStream(snapshot)) {
+                    records = ReferenceDataSnapshot.read(dataset, input);
+                }
             } else {
-                logger.error("Countries JSON file not found in classpath");
+                try (InputStream input = Files.newInputStream(json)) {
+                    records = objectMapper.readValue(input, dataset.jsonType());
+                }
             }
-        } catch (Exception e) {
-            logger.error("Failed to load countries dataset: {}", e.getMessage(), e);
+            logger.info("Read {} {} records from {}", records.size(), dataset.name(), directory);
+            return records;
+        }
+    }
+
+    // Countries, timezones and the other low-cardinality columns are repeated thousands of times
+    // in the datasets; share one instance per value so enriched messages all point at the same strings
+    private static void canonicalizeReferenceStrings(List<Airline> airlines, List<AirportExtended> airports) {
+        Map<String, String> canonical = new HashMap<>();
+        UnaryOperator<String> share = value -> value == null ? null : canonical.computeIfAbsent(value, v -> v);
+        for (Airline airline : airlines != null ? airlines : List.<Airline>of()) {
+            airline.setCountry(share.apply(airline.getCountry()));
+            airline.setActive(share.apply(airline.getActive()));
+        }
+        for (AirportExtended airport : airports != null ? airports : List.<AirportExtended>of()) {
+            airport.setCity(share.apply(airport.getCity()));
+            airport.setCountry(share.apply(airport.getCountry()));
+            airport.setDst(share.apply(airport.getDst()));
+            airport.setTzDatabaseTimezone(share.apply(airport.getTzDatabaseTimezone()));
+            airport.setType(share.apply(airport.getType()));
+            airport.setSource(share.apply(airport.getSource()));
         }
+        logger.debug("Reference strings canonicalized to {} distinct values", canonical.size());
     }
 
     public Optional<Airline> getAirlineByIata(String iata) {
-        logger.debug("Looking up airline by IATA: {}", iata);
-        return airlines.stream()
-                .filter(airline -> iata != null && iata.equals(airline.getIata()))
-                .findFirst();
+        return Optional.ofNullable(index.airlineByIata(iata));
+    }
+
+    public Optional<Airline> getAirlineByIcao(String icao) {
+        return Optional.ofNullable(index.airlineByIcao(icao));
     }
 
     public Optional<AirportExtended> getAirportByIata(String iata) {
-        logger.debug("Looking up airport by IATA: {}", iata);
-        return airports.stream()
-                .filter(airport -> iata != null && iata.equals(airport.getIata()))
-                .findFirst();
+        return Optional.ofNullable(index.airportByIata(iata));
+    }
+
+    public Optional<AirportExtended> getAirportByIcao(String icao) {
+        return Optional.ofNullable(index.airportByIcao(icao));
     }
 
     public Optional<Aircraft> getAircraftByIata(String iata) {
-        logger.debug("Looking up aircraft by IATA: {}", iata);
-        return aircraftList.stream()
-                .filter(aircraft -> iata != null && iata.equals(aircraft.getIataCode()))
-                .findFirst();
+        return Optional.ofNullable(index.aircraftByIata(iata));
+    }
+
+    public Optional<Aircraft> getAircraftByIcao(String icao) {
+        return Optional.ofNullable(index.aircraftByIcao(icao));
     }
 
     public Optional<Country> getCountryByCode(String code) {
-        logger.debug("Looking up country by code: {}", code);
-        return countries.stream()
-                .filter(country -> code != null && code.equals(country.getIso_code()))
-                .findFirst();
+        return Optional.ofNullable(index.countryByIso(code));
     }
 
     public void enrich(TelexMessage message) {
@@ -126,42 +234,45 @@ public class EnrichmentService {
             logger.warn("Enrichment skipped: null message received");
             return;
         }
-
-        logger.info("Starting enrichment for flight: {}", message.getFlightDesignator());
+        // One read of the index: a reload published mid-call does not mix two versions
+        ReferenceDataIndex data = index;
+        message.setReferenceDataVersion(data.version());
 
         // Enrich airline information
-        String designator = message.getFlightDesignator();
-        if (designator != null && designator.length() >= 2) {
-            String airlineCode = designator.substring(0, 2);
-            logger.debug("Extracted airline code: {}", airlineCode);
-
-            getAirlineByIata(airlineCode).ifPresentOrElse(airline -> {
+        FlightDesignatorResolver.Resolution flight = designatorResolver.resolve(data, message.getFlightDesignator());
+        if (flight != null) {
+            Airline airline = flight.airline();
+            if (airline != null) {
                 message.setAirlineName(airline.getName());
                 message.setAirlineCountry(airline.getCountry());
-                logger.debug("Enriched airline: {} - {}", airlineCode, airline.getName());
-            }, () -> logger.warn("Airline not found for code: {}", airlineCode));
+            } else if (unknownCodes.recordMiss(CodeKind.AIRLINE, flight.airlineCode())) {
+                // Repeats within the TTL are only counted, see /actuator/telexunknown
+                logger.warn("Airline not found for code: {}", flight.airlineCode());
+            }
         }
 
         // Enrich departure airport
         String depAirport = message.getDepartureAirport();
         if (depAirport != null) {
-            getAirportByIata(depAirport).ifPresentOrElse(airport -> {
+            AirportExtended airport = data.airportByIata(depAirport);
+            if (airport != null) {
                 message.setDepartureAirportName(airport.getName());
                 message.setDepartureTimezone(airport.getTzDatabaseTimezone());
-                logger.debug("Enriched departure airport: {}", airport.getName());
-            }, () -> logger.warn("Departure airport not found for IATA: {}", depAirport));
+            } else if (unknownCodes.recordMiss(CodeKind.AIRPORT, depAirport)) {
+                logger.warn("Departure airport not found for IATA: {}", depAirport);
+            }
         }
 
         // Enrich arrival airport
         String arrAirport = message.getArrivalAirport();
         if (arrAirport != null) {
-            getAirportByIata(arrAirport).ifPresentOrElse(airport -> {
+            AirportExtended airport = data.airportByIata(arrAirport);
+            if (airport != null) {
                 message.setArrivalAirportName(airport.getName());
                 message.setArrivalTimezone(airport.getTzDatabaseTimezone());
-                logger.debug("Enriched arrival airport: {}", airport.getName());
-            }, () -> logger.warn("Arrival airport not found for IATA: {}", arrAirport));
+            } else if (unknownCodes.recordMiss(CodeKind.AIRPORT, arrAirport)) {
+                logger.warn("Arrival airport not found for IATA: {}", arrAirport);
+            }
         }
-
-        logger.info("Completed enrichment for flight: {}", designator);
     }
-}
\ No newline at end of file
+}
@@ -1,69 +1,375 @@
 package com.ram.nuitparser.service;
 
 import com.ram.nuitparser.model.telex.TelexMessage;
+import com.ram.nuitparser.service.store.ColumnarTelexStore;
+import com.ram.nuitparser.service.store.TelexStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
+/**
+ * Bounded in-memory store of parsed telexes, kept as a ring buffer ordered by ingest sequence.
+ * Once {@code capacity} entries are held the oldest one is overwritten; with a non-zero
+ * {@code maxAge} older entries are also dropped by age. Writers serialize on a single lock,
+ * readers never lock: they read the published head/tail bounds and skip any slot that was
+ * overwritten while they were reading it.
+ * <p>
+ * Secondary indexes by type, flight designator and departure/arrival airport map each key to
+ * the ascending sequences stored under it; ingest time needs no index because it grows with
+ * the sequence. Filtered keyset queries therefore walk only the postings of the most selective
+ * key instead of the whole buffer.
+ * <p>
+ * The slots themselves live in a {@link TelexStore} chosen by {@code telex.holder.store}: the
+ * parsed objects as they are, or a columnar encoding that rebuilds each message when it is read.
+ */
 @Service
 public class ParsedTelexHolder {
     private static final Logger logger = LoggerFactory.getLogger(ParsedTelexHolder.class);
 
-    private final List<TelexMessage> telexMessages = new ArrayList<>();
-    private final List<String> rawTelexes = new ArrayList<>();
+    private final int capacity;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final TelexStore store;
+    private final Object writeLock = new Object();
 
-    public void store(TelexMessage message, String raw) {
-        logger.info("Storing parsed telex in holder");
-        logger.debug("Message type: {}, Raw length: {}",
-                message != null ? message.getType() : "null",
-                raw != null ? raw.length() : 0);
+    private final Map<String, SequencePostings> byType = new ConcurrentHashMap<>();
+    private final Map<String, SequencePostings> byFlight = new ConcurrentHashMap<>();
+    private final Map<String, SequencePostings> byDeparture = new ConcurrentHashMap<>();
+    private final Map<String, SequencePostings> byArrival = new ConcurrentHashMap<>();
+    // Stores since the last sweep of index keys whose postings were all evicted
+    private int storesSinceSweep;
 
-        telexMessages.add(message);
-        rawTelexes.add(raw);
+    // Next sequence to be written; everything below it has been published
+    private volatile long head;
+    // Oldest sequence that has not been evicted yet
+    private volatile long tail;
+
+    @Autowired
+    public ParsedTelexHolder(
+            @Value("${telex.holder.capacity:100000}") int capacity,
+            @Value("${telex.holder.max-age:0s}") Duration maxAge,
+            @Value("${telex.holder.store:object}") String storeKind
+    ) {
+        this(capacity, maxAge, Clock.systemUTC(), storeKind);
     }
 
-    public List<TelexMessage> getAllTelexMessages() {
-        logger.debug("Retrieving parsed telex from holder");
-        return Collections.unmodifiableList(telexMessages);
+    public ParsedTelexHolder(int capacity, Duration maxAge) {
+        this(capacity, maxAge, Clock.systemUTC());
     }
 
-    public List<String> getAllRawTelexes() {
-        logger.debug("Retrieving raw telex from holder");
-        return Collections.unmodifiableList(rawTelexes);
+    ParsedTelexHolder(int capacity, Duration maxAge, Clock clock) {
+        this(capacity, maxAge, clock, "object");
     }
 
-    // New methods for pagination support
-    public List<TelexMessage> getTelexMessages(int page, int size) {
-        logger.debug("Retrieving paginated telex messages - page: {}, size: {}", page, size);
-        return getPaginatedList(telexMessages, page, size);
+    ParsedTelexHolder(int capacity, Duration maxAge, Clock clock, String storeKind) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("telex.holder.capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.maxAge = maxAge == null ? Duration.ZERO : maxAge;
+        this.clock = clock;
+        this.store = TelexStore.create(storeKind, capacity);
+        if (store instanceof ColumnarTelexStore) {
+            logger.info("ParsedTelexHolder initialized with capacity {} and max age {}, columnar store of {} bytes per slot",
+                    capacity, this.maxAge, ColumnarTelexStore.fixedBytesPerSlot());
+        } else {
+            logger.info("ParsedTelexHolder initialized with capacity {} and max age {}", capacity, this.maxAge);
+        }
     }
 
-    public List<String> getRawTelexes(int page, int size) {
-        logger.debug("Retrieving paginated raw telexes - page: {}, size: {}", page, size);
-        return getPaginatedList(rawTelexes, page, size);
+    public StoredTelex store(TelexMessage message, String raw) {
+        synchronized (writeLock) {
+            return append(message, raw, clock.instant());
+        }
     }
 
-    public long getTotalCount() {
-        long count = telexMessages.size();
-        logger.debug("Retrieving total telex count: {}", count);
-        return count;
+    /**
+     * Stores every message of one telex under a single lock acquisition, with consecutive
+     * sequences and the same ingest time. All entries share the {@code raw} text.
+     */
+    public List<StoredTelex> storeAll(List<? extends TelexMessage> messages, String raw) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        List<StoredTelex> stored = new ArrayList<>(messages.size());
+        synchronized (writeLock) {
+            Instant now = clock.instant();
+            for (TelexMessage message : messages) {
+                stored.add(append(message, raw, now));
+            }
+        }
+        return stored;
     }
 
-    private <T> List<T> getPaginatedList(List<T> list, int page, int size) {
-        if (list.isEmpty()) {
-            return Collections.emptyList();
+    // Caller holds writeLock
+    private StoredTelex append(TelexMessage message, String raw, Instant now) {
+        long sequence = head;
+        StoredTelex entry = new StoredTelex(sequence, now, message, raw);
+        store.put(slot(sequence), entry);
+        head = sequence + 1;
+        if (head - tail > capacity) {
+            tail = head - capacity;
         }
+        evictExpired(now);
+        index(entry);
+        return entry;
+    }
 
-        int fromIndex = page * size;
-        if (fromIndex >= list.size()) {
+    public List<StoredTelex> getPage(int page, int size) {
+        if (page < 0 || size <= 0) {
             return Collections.emptyList();
         }
+        long h = head;
+        long from = liveTail(h) + (long) page * size;
+        if (from >= h) {
+            return Collections.emptyList();
+        }
+        return read(from, Math.min(from + size, h));
+    }
+
+    public List<StoredTelex> snapshot() {
+        long h = head;
+        return read(liveTail(h), h);
+    }
+
+    /**
+     * Visits retained entries with a sequence greater than {@code afterSequence}, oldest first,
+     * without copying them into a list. Stops after {@code limit} entries (no limit if <= 0) or
+     * at the head as it was when the call started.
+     *
+     * @return the sequence of the last visited entry, or {@code afterSequence} if none was visited
+     */
+    public long forEachAfter(long afterSequence, long limit, Consumer<StoredTelex> visitor) {
+        long h = head;
+        long from = Math.max(afterSequence + 1, liveTail(h));
+        long last = afterSequence;
+        long visited = 0;
+        for (long sequence = from; sequence < h && (limit <= 0 || visited < limit); sequence++) {
+            StoredTelex entry = entryAt(sequence);
+            if (entry != null) {
+                visitor.accept(entry);
+                last = sequence;
+                visited++;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Filtered keyset page: entries after {@code query.after()} matching every non-null filter,
+     * oldest first. Cost is proportional to the postings of the most selective filter, not to
+     * the number of stored telexes.
+     */
+    public TelexQueryResult query(TelexQuery query) {
+        int limit = query.limit() > 0 ? query.limit() : 50;
+        long h = head;
+        long oldest = liveTail(h);
+        long from = Math.max(query.after() + 1, oldest);
+        if (query.from() != null) {
+            from = Math.max(from, firstIngestedAtOrAfter(query.from(), from, h));
+        }
+        long to = query.to() != null ? firstIngestedAtOrAfter(query.to(), from, h) : h;
+
+        // One match beyond the page tells whether a next page exists
+        List<StoredTelex> items = new ArrayList<>(Math.min(limit + 1, 1025));
+        SequencePostings driver = mostSelective(query, oldest);
+        SequencePostings.SequenceVisitor collect = sequence -> {
+            StoredTelex entry = entryAt(sequence);
+            if (entry != null && matches(entry.message(), query)) {
+                items.add(entry);
+            }
+            return items.size() <= limit;
+        };
+
+        if (driver != null) {
+            driver.forEachInRange(from, to, collect);
+        } else if (!hasKeyFilter(query)) {
+            for (long sequence = from; sequence < to; sequence++) {
+                if (!collect.visit(sequence)) {
+                    break;
+                }
+            }
+        }
+        // A key filter without postings means no stored telex matches
+
+        if (items.size() <= limit) {
+            return new TelexQueryResult(items, null);
+        }
+        items.removeLast();
+        return new TelexQueryResult(items, items.getLast().sequence());
+    }
+
+    /**
+     * Sequence of the oldest retained entry; equal to the next sequence to be written when none is held.
+     */
+    public long getOldestSequence() {
+        return liveTail(head);
+    }
+
+    public long getTotalCount() {
+        long h = head;
+        return h - liveTail(h);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private List<StoredTelex> read(long from, long to) {
+        List<StoredTelex> result = new ArrayList<>((int) Math.max(0, to - from));
+        for (long sequence = from; sequence < to; sequence++) {
+            StoredTelex entry = entryAt(sequence);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    // Null when the slot has already been reused by a newer sequence
+    private StoredTelex entryAt(long sequence) {
+        return store.get(slot(sequence), sequence);
+    }
+
+    private Instant ingestedAt(long sequence) {
+        return store.ingestedAt(slot(sequence), sequence);
+    }
+
+    // First sequence that is neither overwritten nor older than maxAge
+    private long liveTail(long h) {
+        long low = Math.max(tail, h - capacity);
+        if (maxAge.isZero() || low >= h) {
+            return low;
+        }
+        Instant cutoff = clock.instant().minus(maxAge);
+        long high = h;
+        // Ingest times increase with the sequence, so the first live entry can be found by bisection
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            Instant ingestedAt = ingestedAt(mid);
+            if (ingestedAt == null || ingestedAt.isBefore(cutoff)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void index(StoredTelex entry) {
+        TelexMessage message = entry.message();
+        if (message == null) {
+            return;
+        }
+        long oldest = tail;
+        addPosting(byType, message.getType(), entry.sequence(), oldest);
+        addPosting(byFlight, message.getFlightDesignator(), entry.sequence(), oldest);
+        addPosting(byDeparture, message.getDepartureAirport(), entry.sequence(), oldest);
+        addPosting(byArrival, message.getArrivalAirport(), entry.sequence(), oldest);
+
+        if (++storesSinceSweep >= capacity) {
+            storesSinceSweep = 0;
+            sweepStaleKeys(oldest);
+        }
+    }
+
+    private static void addPosting(Map<String, SequencePostings> index, String key, long sequence, long oldest) {
+        if (key != null && !key.isEmpty()) {
+            index.computeIfAbsent(key, k -> new SequencePostings()).append(sequence, oldest);
+        }
+    }
+
+    private void sweepStaleKeys(long oldest) {
+        byType.values().removeIf(postings -> postings.isStale(oldest));
+        byFlight.values().removeIf(postings -> postings.isStale(oldest));
+        byDeparture.values().removeIf(postings -> postings.isStale(oldest));
+        byArrival.values().removeIf(postings -> postings.isStale(oldest));
+    }
+
+    private SequencePostings mostSelective(TelexQuery query, long oldest) {
+        SequencePostings best = null;
+        int bestSize = Integer.MAX_VALUE;
+        SequencePostings[] candidates = {
+                lookup(byType, query.type()),
+                lookup(byFlight, query.flightDesignator()),
+                lookup(byDeparture, query.departureAirport()),
+                lookup(byArrival, query.arrivalAirport())
+        };
+        for (SequencePostings candidate : candidates) {
+            if (candidate != null) {
+                int size = candidate.estimateSize(oldest);
+                if (size < bestSize) {
+                    best = candidate;
+                    bestSize = size;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static SequencePostings lookup(Map<String, SequencePostings> index, String key) {
+        return key == null ? null : index.get(key);
+    }
+
+    private static boolean hasKeyFilter(TelexQuery query) {
+        return query.type() != null || query.flightDesignator() != null
+                || query.departureAirport() != null || query.arrivalAirport() != null;
+    }
+
+    private static boolean matches(TelexMessage message, TelexQuery query) {
+        if (message == null) {
+            return !hasKeyFilter(query);
+        }
+        return (query.type() == null || query.type().equals(message.getType()))
+                && (query.flightDesignator() == null || query.flightDesignator().equals(message.getFlightDesignator()))
+                && (query.departureAirport() == null || query.departureAirport().equals(message.getDepartureAirport()))
+                && (query.arrivalAirport() == null || query.arrivalAirport().equals(message.getArrivalAirport()));
+    }
+
+    // First sequence in [low, high) ingested at or after instant; high if there is none
+    private long firstIngestedAtOrAfter(Instant instant, long low, long high) {
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            Instant ingestedAt = ingestedAt(mid);
+            if (ingestedAt == null || ingestedAt.isBefore(instant)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void evictExpired(Instant now) {
+        if (maxAge.isZero()) {
+            return;
+        }
+        Instant cutoff = now.minus(maxAge);
+        long t = tail;
+        while (t < head) {
+            Instant ingestedAt = ingestedAt(t);
+            if (ingestedAt != null && !ingestedAt.isBefore(cutoff)) {
+                break;
+            }
+            store.clear(slot(t), t);
+            t++;
+        }
+        tail = t;
+    }
 
-        int toIndex = Math.min(fromIndex + size, list.size());
-        return new ArrayList<>(list.subList(fromIndex, toIndex));
+    private int slot(long sequence) {
+        return (int) (sequence % capacity);
     }
-}
\ No newline at end of file
+}
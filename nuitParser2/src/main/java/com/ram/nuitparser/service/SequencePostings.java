@@ -0,0 +1,95 @@
+package com.ram.nuitparser.service;
+
+/**
+ * Append-only, ascending list of holder sequences for one index key. Single writer (the holder's
+ * write lock), lock-free readers: a chunk's array is never modified below its published size, and
+ * growing or compacting publishes a new chunk instead of touching the old one.
+ */
+final class SequencePostings {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private volatile Chunk chunk = new Chunk(new long[INITIAL_CAPACITY], 0);
+
+    private static final class Chunk {
+        private final long[] data;
+        private volatile int size;
+
+        private Chunk(long[] data, int size) {
+            this.data = data;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Appends {@code sequence}; sequences below {@code oldestLive} are dropped when the array has to grow.
+     */
+    void append(long sequence, long oldestLive) {
+        Chunk current = chunk;
+        int size = current.size;
+        if (size < current.data.length) {
+            current.data[size] = sequence;
+            current.size = size + 1;
+            return;
+        }
+        int firstLive = firstAtLeast(current.data, size, oldestLive);
+        int live = size - firstLive;
+        int capacity = live + 1 > current.data.length / 2 ? current.data.length * 2 : current.data.length;
+        long[] data = new long[Math.max(capacity, INITIAL_CAPACITY)];
+        System.arraycopy(current.data, firstLive, data, 0, live);
+        data[live] = sequence;
+        chunk = new Chunk(data, live + 1);
+    }
+
+    /**
+     * True if every recorded sequence is below {@code oldestLive}, i.e. the key no longer matches anything.
+     */
+    boolean isStale(long oldestLive) {
+        Chunk current = chunk;
+        int size = current.size;
+        return size == 0 || current.data[size - 1] < oldestLive;
+    }
+
+    /**
+     * Upper bound on the number of live postings; used to pick the most selective index.
+     */
+    int estimateSize(long oldestLive) {
+        Chunk current = chunk;
+        int size = current.size;
+        return size - firstAtLeast(current.data, size, oldestLive);
+    }
+
+    /**
+     * Visits postings in [from, to) in ascending order until the visitor returns false.
+     */
+    void forEachInRange(long from, long to, SequenceVisitor visitor) {
+        Chunk current = chunk;
+        int size = current.size;
+        long[] data = current.data;
+        for (int i = firstAtLeast(data, size, from); i < size; i++) {
+            long sequence = data[i];
+            if (sequence >= to || !visitor.visit(sequence)) {
+                return;
+            }
+        }
+    }
+
+    private static int firstAtLeast(long[] data, int size, long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (data[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @FunctionalInterface
+    interface SequenceVisitor {
+        boolean visit(long sequence);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ram.nuitparser.service;
+
+import com.ram.nuitparser.model.telex.TelexMessage;
+
+import java.time.Instant;
+
+/**
+ * One retained telex: the parsed message together with the raw body it came from.
+ * The sequence number is assigned at store time and is strictly increasing.
+ */
+public record StoredTelex(
+        long sequence,
+        Instant ingestedAt,
+        TelexMessage message,
+        String raw
+) {}
@@ -0,0 +1,18 @@
+package com.ram.nuitparser.service;
+
+import java.time.Instant;
+
+/**
+ * Keyset query over the holder. Null filters are ignored; {@code after} is the sequence of the
+ * last entry already seen (-1 to start from the oldest retained one).
+ */
+public record TelexQuery(
+        String type,
+        String flightDesignator,
+        String departureAirport,
+        String arrivalAirport,
+        Instant from,
+        Instant to,
+        long after,
+        int limit
+) {}
@@ -0,0 +1,11 @@
+package com.ram.nuitparser.service;
+
+import java.util.List;
+
+/**
+ * One page of a keyset query; {@code nextCursor} is null when there is nothing after this page.
+ */
+public record TelexQueryResult(
+        List<StoredTelex> items,
+        Long nextCursor
+) {}
@@ -0,0 +1,239 @@
+package com.ram.nuitparser.service;
+
+import com.ram.nuitparser.model.telex.FlightTime;
+import com.ram.nuitparser.model.telex.TelexMessage;
+import com.ram.nuitparser.model.telex.asm.AsmMessage;
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import com.ram.nuitparser.service.normalization.ZoneOffsetCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Resolves the HHMM / DDHHMM times of enriched messages into {@link FlightTime}s: the UTC instant
+ * plus the offset at the airport the time refers to (departure or arrival). Telex times are UTC
+ * and carry at most a day of month (MVT) or a day and month (ASM); the missing month and year are
+ * the ones putting the date closest to the day the telex was received, taken from its
+ * {@code RCV,yyyy/MM/dd HH:mm} header so replayed archives resolve like live traffic (today when
+ * the header is missing). A time without its own day is taken on the flight date, and an
+ * arrival-side time earlier than the departure is moved to the next day.
+ * <p>
+ * SSM periods and LDM messages carry no single-flight times and are left as they are.
+ */
+@Service
+public class TimeNormalizationService {
+    private static final Logger logger = LoggerFactory.getLogger(TimeNormalizationService.class);
+
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final String RECEIVED = "RCV,";
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN",
+            "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+
+    private final Clock clock;
+    private final ZoneOffsetCache zoneOffsets = new ZoneOffsetCache(2);
+
+    public TimeNormalizationService() {
+        this(Clock.systemUTC());
+    }
+
+    TimeNormalizationService(Clock clock) {
+        this.clock = clock;
+        logger.info("TimeNormalizationService initialized");
+    }
+
+    public void normalize(TelexMessage message) {
+        if (message instanceof MvtMessage mvt) {
+            normalizeMvt(mvt, referenceDate(mvt));
+        } else if (message instanceof AsmMessage asm) {
+            normalizeAsm(asm, referenceDate(asm));
+        }
+    }
+
+    // The receive date of the telex, or today when its header has none
+    private LocalDate referenceDate(TelexMessage message) {
+        LocalDate received = receivedDate(message.getHeader());
+        return received != null ? received : LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC);
+    }
+
+    // yyyy/MM/dd after "RCV," in the envelope HEADER value
+    static LocalDate receivedDate(String header) {
+        int at = header == null ? -1 : header.indexOf(RECEIVED);
+        if (at < 0 || header.length() < at + RECEIVED.length() + 10) {
+            return null;
+        }
+        int from = at + RECEIVED.length();
+        if (header.charAt(from + 4) != '/' || header.charAt(from + 7) != '/') {
+            return null;
+        }
+        int century = twoDigits(header, from);
+        int year = twoDigits(header, from + 2);
+        int month = twoDigits(header, from + 5);
+        int day = twoDigits(header, from + 8);
+        if (century < 0 || year < 0 || month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        LocalDate first = LocalDate.of(century * 100 + year, month, 1);
+        return day > first.lengthOfMonth() ? null : first.withDayOfMonth(day);
+    }
+
+    private void normalizeAsm(AsmMessage message, LocalDate today) {
+        LocalDate flightDate = dayAndMonth(message.getFlightDate(), today);
+        if (flightDate == null) {
+            return;
+        }
+        Instant departure = at(message.getDepartureTime(), flightDate);
+        Instant arrival = afterDeparture(at(message.getArrivalTime(), flightDate), departure);
+        message.setDepartureAt(flightTime(departure, message.getDepartureTimezone()));
+        message.setArrivalAt(flightTime(arrival, message.getArrivalTimezone()));
+    }
+
+    private void normalizeMvt(MvtMessage message, LocalDate today) {
+        String dateOfFlight = message.getDateOfFlight();
+        LocalDate flightDate = dateOfFlight != null && dateOfFlight.length() > 2
+                ? dayAndMonth(dateOfFlight, today) : dayOfMonth(dateOfFlight, today);
+        // Without a flight date, times are taken around today
+        LocalDate base = flightDate != null ? flightDate : today;
+
+        String departureZone = message.getDepartureTimezone();
+        Instant offBlock = mvtTime(message.getActualOffBlockTime(), base, null);
+        Instant takeoff = mvtTime(message.getActualTakeoffTime(), base, offBlock);
+        Instant estimatedDeparture = mvtTime(message.getEstimatedDepartureTime(), base, null);
+        Instant estimatedOffBlock = mvtTime(message.getEstimatedOffBlockTime(), base, null);
+        message.setActualOffBlockAt(flightTime(offBlock, departureZone));
+        message.setActualTakeoffAt(flightTime(takeoff, departureZone));
+        message.setEstimatedDepartureAt(flightTime(estimatedDeparture, departureZone));
+        message.setEstimatedOffBlockAt(flightTime(estimatedOffBlock, departureZone));
+        message.setNextInformationAt(flightTime(mvtTime(message.getNextInformationTime(), base, null), departureZone));
+
+        Instant departure = firstNonNull(takeoff, offBlock, estimatedDeparture, estimatedOffBlock);
+        String arrivalZone = message.getArrivalTimezone();
+        message.setActualLandingAt(flightTime(mvtTime(message.getActualLandingTime(), base, departure), arrivalZone));
+        message.setActualInBlockAt(flightTime(mvtTime(message.getActualInBlockTime(), base, departure), arrivalZone));
+        message.setEstimatedArrivalAt(flightTime(mvtTime(message.getEstimatedArrivalTime(), base, departure), arrivalZone));
+        message.setEstimatedOnBlockAt(flightTime(mvtTime(message.getEstimatedOnBlockTime(), base, departure), arrivalZone));
+    }
+
+    // HHMM on the flight date (after the departure for arrival-side times), or DDHHMM on its own day
+    private static Instant mvtTime(String time, LocalDate base, Instant departure) {
+        if (time == null) {
+            return null;
+        }
+        if (time.length() == 6) {
+            int day = twoDigits(time, 0);
+            LocalDate date = dayOfMonth(day, base);
+            return date == null ? null : at(time, 2, date);
+        }
+        return afterDeparture(at(time, base), departure);
+    }
+
+    private static Instant afterDeparture(Instant arrival, Instant departure) {
+        return arrival != null && departure != null && arrival.isBefore(departure)
+                ? arrival.plusSeconds(SECONDS_PER_DAY) : arrival;
+    }
+
+    private FlightTime flightTime(Instant utc, String zoneId) {
+        return utc == null ? null : new FlightTime(utc, zoneOffsets.offset(zoneId, utc));
+    }
+
+    private static Instant at(String time, LocalDate date) {
+        return at(time, 0, date);
+    }
+
+    // HHMM starting at index from, the end of the time string
+    private static Instant at(String time, int from, LocalDate date) {
+        if (time == null || date == null || time.length() != from + 4) {
+            return null;
+        }
+        int hours = twoDigits(time, from);
+        int minutes = twoDigits(time, from + 2);
+        if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59) {
+            return null;
+        }
+        return Instant.ofEpochSecond(date.toEpochDay() * SECONDS_PER_DAY + hours * 3600L + minutes * 60L);
+    }
+
+    // DD: the day in the month before, of or after the reference date, whichever is closest
+    private static LocalDate dayOfMonth(String value, LocalDate reference) {
+        return value == null || value.length() != 2 ? null : dayOfMonth(twoDigits(value, 0), reference);
+    }
+
+    private static LocalDate dayOfMonth(int day, LocalDate reference) {
+        if (day < 1 || day > 31) {
+            return null;
+        }
+        LocalDate best = null;
+        for (int months = -1; months <= 1; months++) {
+            LocalDate month = reference.plusMonths(months);
+            if (day <= month.lengthOfMonth()) {
+                best = closest(best, month.withDayOfMonth(day), reference);
+            }
+        }
+        return best;
+    }
+
+    // DDMMM (day of 1 or 2 digits) or DDMMMYY; without a year, the one putting the date closest to the reference
+    private static LocalDate dayAndMonth(String value, LocalDate reference) {
+        if (value == null) {
+            return null;
+        }
+        int digits = value.length() > 1 && Character.isDigit(value.charAt(1)) ? 2 : 1;
+        if (value.length() < digits + 3 || !Character.isDigit(value.charAt(0))) {
+            return null;
+        }
+        int day = digits == 2 ? twoDigits(value, 0) : value.charAt(0) - '0';
+        int month = -1;
+        for (int i = 0; i < MONTHS.length && month < 0; i++) {
+            if (value.startsWith(MONTHS[i], digits)) month = i + 1;
+        }
+        if (month < 0 || day < 1) {
+            return null;
+        }
+        if (value.length() == digits + 5) {
+            int year = twoDigits(value, digits + 3);
+            return year < 0 || day > LocalDate.of(2000 + year, month, 1).lengthOfMonth()
+                    ? null : LocalDate.of(2000 + year, month, day);
+        }
+        LocalDate best = null;
+        for (int years = -1; years <= 1; years++) {
+            int year = reference.getYear() + years;
+            if (day <= LocalDate.of(year, month, 1).lengthOfMonth()) {
+                best = closest(best, LocalDate.of(year, month, day), reference);
+            }
+        }
+        return best;
+    }
+
+    private static LocalDate closest(LocalDate best, LocalDate candidate, LocalDate reference) {
+        if (best == null) {
+            return candidate;
+        }
+        long bestDistance = Math.abs(best.toEpochDay() - reference.toEpochDay());
+        return Math.abs(candidate.toEpochDay() - reference.toEpochDay()) < bestDistance ? candidate : best;
+    }
+
+    private static int twoDigits(String value, int at) {
+        char tens = value.charAt(at);
+        char units = value.charAt(at + 1);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + units - '0';
+    }
+
+    @SafeVarargs
+    private static <T> T firstNonNull(T... values) {
+        for (T value : values) {
+            if (value != null) return value;
+        }
+        return null;
+    }
+
+    public int cachedZoneCount() {
+        return zoneOffsets.size();
+    }
+}
@@ -0,0 +1,162 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.ram.nuitparser.model.enrichment.Airline;
+import com.ram.nuitparser.service.enrichment.FlightDesignatorResolver.Source;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Prefix trie over the airline codes a flight designator can start with: the 2-character IATA
+ * code ({@code AT}, {@code 3O}), the 3-letter ICAO code ({@code RAM}) and the callsign with
+ * spaces and punctuation removed ({@code ROYALAIRMAROC}). A designator is matched in one walk
+ * from its first character. As in {@link ReferenceDataIndex}, the first record with a code wins.
+ */
+final class AirlineTrie {
+
+    private static final int MAX_CALLSIGN_LENGTH = 24;
+
+    private final Node root = new Node();
+    private int nodes = 1;
+
+    record Match(Airline airline, int prefixLength, Source source) {
+    }
+
+    static AirlineTrie build(List<Airline> airlines) {
+        AirlineTrie trie = new AirlineTrie();
+        for (Airline airline : airlines) {
+            String iata = airline.getIata();
+            if (iata != null && iata.length() == 2 && isCode(iata, 0, 2)) {
+                Node node = trie.insert(iata);
+                if (node.iata == null) node.iata = airline;
+            }
+            String icao = airline.getIcao();
+            if (icao != null && icao.length() == 3 && isLetter(icao.charAt(0)) && isLetter(icao.charAt(1))
+                    && isLetter(icao.charAt(2))) {
+                Node node = trie.insert(icao);
+                if (node.icao == null) node.icao = airline;
+            }
+            String callsign = normalizeCallsign(airline.getCallsign());
+            if (callsign != null) {
+                Node node = trie.insert(callsign);
+                if (node.callsign == null) node.callsign = airline;
+            }
+        }
+        return trie;
+    }
+
+    int nodeCount() {
+        return nodes;
+    }
+
+    /**
+     * The airline whose code the designator starts with, followed by a flight number. IATA codes
+     * take precedence over ICAO codes, ICAO codes over callsigns (longest first); null if none fits.
+     */
+    Match match(String designator) {
+        Node node = root;
+        Match callsign = null;
+        for (int i = 0; i < designator.length(); i++) {
+            node = node.child(designator.charAt(i));
+            if (node == null) break;
+            int length = i + 1;
+            if (!isFlightNumber(designator, length)) continue;
+            if (length == 2 && node.iata != null) {
+                return new Match(node.iata, 2, Source.IATA);
+            }
+            if (length == 3 && node.icao != null) {
+                return new Match(node.icao, 3, Source.ICAO);
+            }
+            if (node.callsign != null) {
+                callsign = new Match(node.callsign, length, Source.CALLSIGN);
+            }
+        }
+        return callsign;
+    }
+
+    /**
+     * Whether {@code designator} continues at {@code from} with a flight number: 1 to 4 digits and
+     * an optional operational suffix letter.
+     */
+    static boolean isFlightNumber(String designator, int from) {
+        int pos = from;
+        while (pos < designator.length() && pos - from < 4 && isDigit(designator.charAt(pos))) pos++;
+        if (pos == from) return false;
+        if (pos < designator.length() && isLetter(designator.charAt(pos))) pos++;
+        return pos == designator.length();
+    }
+
+    private Node insert(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node next = node.child(key.charAt(i));
+            if (next == null) {
+                next = node.add(key.charAt(i));
+                nodes++;
+            }
+            node = next;
+        }
+        return node;
+    }
+
+    private static String normalizeCallsign(String callsign) {
+        if (callsign == null || callsign.isBlank()) return null;
+        StringBuilder normalized = new StringBuilder(callsign.length());
+        for (int i = 0; i < callsign.length(); i++) {
+            char c = Character.toUpperCase(callsign.charAt(i));
+            if (isLetter(c) || isDigit(c)) normalized.append(c);
+        }
+        // Shorter ones would only shadow codes; longer ones never fit a designator field
+        return normalized.length() < 4 || normalized.length() > MAX_CALLSIGN_LENGTH ? null : normalized.toString();
+    }
+
+    private static boolean isCode(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isLetter(value.charAt(i)) && !isDigit(value.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Children kept in sorted parallel arrays sized to fit: most nodes have one or two
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Airline iata;
+        private Airline icao;
+        private Airline callsign;
+
+        private Node child(char key) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == key) return children[i];
+            }
+            return null;
+        }
+
+        private Node add(char key) {
+            int at = 0;
+            while (at < keys.length && keys[at] < key) at++;
+            char[] grownKeys = Arrays.copyOf(keys, keys.length + 1);
+            Node[] grownChildren = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(keys, at, grownKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, grownChildren, at + 1, children.length - at);
+            Node node = new Node();
+            grownKeys[at] = key;
+            grownChildren[at] = node;
+            keys = grownKeys;
+            children = grownChildren;
+            return node;
+        }
+    }
+}
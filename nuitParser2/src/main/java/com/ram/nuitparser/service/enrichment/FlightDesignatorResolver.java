@@ -0,0 +1,115 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.ram.nuitparser.model.enrichment.Airline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits a flight designator ({@code AT205}, {@code 3O123A}, {@code RAM205}) into airline code and
+ * flight number and resolves the airline through the {@link ReferenceDataIndex#airlineTrie() trie}
+ * of the current reference data: IATA code, then ICAO code, then callsign. Telex traffic repeats
+ * a small set of flights, so resolutions are kept in an LRU cache; entries from an older
+ * reference data version are resolved again.
+ */
+@Component
+public class FlightDesignatorResolver {
+    private static final Logger logger = LoggerFactory.getLogger(FlightDesignatorResolver.class);
+
+    public enum Source {
+        IATA, ICAO, CALLSIGN, NONE
+    }
+
+    /**
+     * @param airlineCode the designator prefix identifying the airline, also when it is unknown
+     * @param airline     null when {@code source} is {@link Source#NONE}
+     */
+    public record Resolution(String airlineCode, String flightNumber, Airline airline, Source source) {
+    }
+
+    private record Cached(long version, Resolution resolution) {
+    }
+
+    private final int cacheSize;
+    private final Map<String, Cached> cache;
+    private long hits;
+    private long misses;
+
+    public FlightDesignatorResolver(@Value("${telex.designator.cache-size:4096}") int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("telex.designator.cache-size must not be negative: " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > FlightDesignatorResolver.this.cacheSize;
+            }
+        };
+        logger.info("FlightDesignatorResolver initialized with cache size {}", cacheSize);
+    }
+
+    /**
+     * @return null when the designator is too short to carry an airline code
+     */
+    public Resolution resolve(ReferenceDataIndex data, String designator) {
+        if (designator == null || designator.length() < 2) {
+            return null;
+        }
+        if (cacheSize == 0) {
+            return decompose(data, designator);
+        }
+        synchronized (cache) {
+            Cached cached = cache.get(designator);
+            if (cached != null && cached.version() == data.version()) {
+                hits++;
+                return cached.resolution();
+            }
+            misses++;
+        }
+        Resolution resolution = decompose(data, designator);
+        synchronized (cache) {
+            cache.put(designator, new Cached(data.version(), resolution));
+        }
+        return resolution;
+    }
+
+    static Resolution decompose(ReferenceDataIndex data, String designator) {
+        AirlineTrie.Match match = data.airlineTrie().match(designator);
+        if (match != null) {
+            return new Resolution(designator.substring(0, match.prefixLength()),
+                    designator.substring(match.prefixLength()), match.airline(), match.source());
+        }
+        // Unknown airline: still split where the designator's shape says the code ends
+        int prefixLength = 2;
+        if (designator.length() > 3 && isLetters(designator, 3) && AirlineTrie.isFlightNumber(designator, 3)) {
+            prefixLength = 3;
+        }
+        String flightNumber = AirlineTrie.isFlightNumber(designator, prefixLength) ? designator.substring(prefixLength) : null;
+        return new Resolution(designator.substring(0, prefixLength), flightNumber, null, Source.NONE);
+    }
+
+    private static boolean isLetters(String value, int length) {
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 'A' || c > 'Z') return false;
+        }
+        return true;
+    }
+
+    public long getCacheHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+    public long getCacheMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.ram.nuitparser.service.EnrichmentService;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * {@code /actuator/telexreference}: GET shows the reference data version in use, POST reloads it
+ * from the configured directory and returns the resulting status.
+ */
+@Component
+@Endpoint(id = "telexreference")
+public class ReferenceDataEndpoint {
+
+    private final EnrichmentService enrichmentService;
+    private final ReferenceDataReloader reloader;
+
+    public ReferenceDataEndpoint(EnrichmentService enrichmentService, ReferenceDataReloader reloader) {
+        this.enrichmentService = enrichmentService;
+        this.reloader = reloader;
+    }
+
+    @ReadOperation
+    public ReferenceStatus status() {
+        ReferenceDataIndex data = enrichmentService.getReferenceData();
+        return new ReferenceStatus(data.version(), data.loadedAt(), data.airlines().size(), data.airports().size(),
+                data.aircraft().size(), data.countries().size(),
+                reloader.isEnabled() ? reloader.getDirectory().toString() : null,
+                reloader.getLastAttemptAt(), reloader.getLastError());
+    }
+
+    @WriteOperation
+    public ReferenceStatus reload() {
+        if (!reloader.isEnabled()) {
+            throw new InvalidEndpointRequestException("No reference data directory configured",
+                    "Set telex.reference.directory to enable reloading");
+        }
+        try {
+            reloader.reloadNow().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // reload() records its own failures; the status below reports them
+        }
+        return status();
+    }
+
+    public record ReferenceStatus(long version, Instant loadedAt, int airlines, int airports, int aircraft,
+                                  int countries, String directory, Instant lastAttemptAt, String lastError) {
+    }
+}
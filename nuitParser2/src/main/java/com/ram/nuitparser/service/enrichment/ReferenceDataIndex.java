@@ -0,0 +1,137 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.ram.nuitparser.model.enrichment.Aircraft;
+import com.ram.nuitparser.model.enrichment.Airline;
+import com.ram.nuitparser.model.enrichment.AirportExtended;
+import com.ram.nuitparser.model.enrichment.Country;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable hash index over the enrichment datasets, keyed on IATA, ICAO and ISO codes.
+ * Built once from the loaded lists; on duplicate codes the first record wins, which keeps
+ * the lookups consistent with the previous {@code stream().filter().findFirst()} behaviour.
+ * A reload builds a new index with the next version instead of changing this one.
+ */
+public final class ReferenceDataIndex {
+
+    public static final ReferenceDataIndex EMPTY = build(List.of(), List.of(), List.of(), List.of());
+
+    private final long version;
+    private final Instant loadedAt;
+    private final List<Airline> airlines;
+    private final List<AirportExtended> airports;
+    private final List<Aircraft> aircraft;
+    private final List<Country> countries;
+
+    private final Map<String, Airline> airlinesByIata;
+    private final Map<String, Airline> airlinesByIcao;
+    private final Map<String, AirportExtended> airportsByIata;
+    private final Map<String, AirportExtended> airportsByIcao;
+    private final Map<String, Aircraft> aircraftByIata;
+    private final Map<String, Aircraft> aircraftByIcao;
+    private final Map<String, Country> countriesByIso;
+    private final AirlineTrie airlineTrie;
+
+    private ReferenceDataIndex(long version, Instant loadedAt, List<Airline> airlines, List<AirportExtended> airports,
+                               List<Aircraft> aircraft, List<Country> countries) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.airlines = List.copyOf(airlines);
+        this.airports = List.copyOf(airports);
+        this.aircraft = List.copyOf(aircraft);
+        this.countries = List.copyOf(countries);
+
+        this.airlinesByIata = index(this.airlines, Airline::getIata);
+        this.airlinesByIcao = index(this.airlines, Airline::getIcao);
+        this.airportsByIata = index(this.airports, AirportExtended::getIata);
+        this.airportsByIcao = index(this.airports, AirportExtended::getIcao);
+        this.aircraftByIata = index(this.aircraft, Aircraft::getIataCode);
+        this.aircraftByIcao = index(this.aircraft, Aircraft::getIcaoCode);
+        this.countriesByIso = index(this.countries, Country::getIso_code);
+        this.airlineTrie = AirlineTrie.build(this.airlines);
+    }
+
+    public static ReferenceDataIndex build(List<Airline> airlines, List<AirportExtended> airports,
+                                           List<Aircraft> aircraft, List<Country> countries) {
+        return build(0, Instant.EPOCH, airlines, airports, aircraft, countries);
+    }
+
+    public static ReferenceDataIndex build(long version, Instant loadedAt, List<Airline> airlines,
+                                           List<AirportExtended> airports, List<Aircraft> aircraft,
+                                           List<Country> countries) {
+        return new ReferenceDataIndex(version, loadedAt, airlines, airports, aircraft, countries);
+    }
+
+    private static <T> Map<String, T> index(List<T> records, Function<T, String> key) {
+        Map<String, T> map = new HashMap<>(Math.max(16, records.size() * 2));
+        for (T record : records) {
+            String code = key.apply(record);
+            // Records without a code are simply not addressable by that key
+            if (code != null && !code.isEmpty()) {
+                map.putIfAbsent(code, record);
+            }
+        }
+        return Map.copyOf(map);
+    }
+
+    public Airline airlineByIata(String iata) {
+        return iata == null ? null : airlinesByIata.get(iata);
+    }
+
+    public Airline airlineByIcao(String icao) {
+        return icao == null ? null : airlinesByIcao.get(icao);
+    }
+
+    public AirportExtended airportByIata(String iata) {
+        return iata == null ? null : airportsByIata.get(iata);
+    }
+
+    public AirportExtended airportByIcao(String icao) {
+        return icao == null ? null : airportsByIcao.get(icao);
+    }
+
+    public Aircraft aircraftByIata(String iata) {
+        return iata == null ? null : aircraftByIata.get(iata);
+    }
+
+    public Aircraft aircraftByIcao(String icao) {
+        return icao == null ? null : aircraftByIcao.get(icao);
+    }
+
+    public Country countryByIso(String isoCode) {
+        return isoCode == null ? null : countriesByIso.get(isoCode);
+    }
+
+    AirlineTrie airlineTrie() {
+        return airlineTrie;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public List<Airline> airlines() {
+        return airlines;
+    }
+
+    public List<AirportExtended> airports() {
+        return airports;
+    }
+
+    public List<Aircraft> aircraft() {
+        return aircraft;
+    }
+
+    public List<Country> countries() {
+        return countries;
+    }
+}
@@ -0,0 +1,171 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.ram.nuitparser.service.EnrichmentService;
+import com.ram.nuitparser.service.reader.IngestExecutors;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads the enrichment datasets from {@code telex.reference.directory} when a {@code .json} or
+ * {@code .bin} file there changes, or on demand through {@code /actuator/telexreference}.
+ * Changes are debounced so a batch of copied files gives a single reload, and reloads run one at
+ * a time on their own thread; telex processing keeps enriching with the previous data meanwhile.
+ */
+@Component
+public class ReferenceDataReloader {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataReloader.class);
+
+    private final EnrichmentService enrichmentService;
+    private final Path directory;
+    private final long debounceMs;
+
+    private final ExecutorService watcherExecutor =
+            Executors.newSingleThreadExecutor(IngestExecutors.namedThreads("reference-watcher"));
+    private final ScheduledExecutorService reloadExecutor =
+            Executors.newSingleThreadScheduledExecutor(IngestExecutors.namedThreads("reference-reload"));
+    private WatchService watchService;
+    private volatile boolean watching = false;
+    private ScheduledFuture<?> pendingReload;
+
+    private volatile Instant lastAttemptAt;
+    private volatile String lastError;
+
+    public ReferenceDataReloader(EnrichmentService enrichmentService,
+                                 @Value("${telex.reference.directory:}") String directory,
+                                 @Value("${telex.reference.reload-debounce-ms:2000}") long debounceMs) {
+        this.enrichmentService = enrichmentService;
+        this.directory = directory == null || directory.isBlank() ? null : Paths.get(directory);
+        this.debounceMs = Math.max(0, debounceMs);
+        logger.info("ReferenceDataReloader initialized for directory {}", this.directory != null ? this.directory : "(none)");
+    }
+
+    @PostConstruct
+    public void init() {
+        if (directory == null) {
+            logger.info("No reference data directory configured, reloading disabled");
+            return;
+        }
+        if (!Files.isDirectory(directory)) {
+            logger.error("Reference data directory does not exist: {}", directory);
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watching = true;
+            watcherExecutor.submit(this::watchDirectory);
+            logger.info("Watching {} for reference data changes", directory);
+        } catch (IOException e) {
+            logger.error("Error setting up WatchService for reference directory: {}", directory, e);
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        watching = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.error("Error closing WatchService", e);
+            }
+        }
+        watcherExecutor.shutdownNow();
+        reloadExecutor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public Instant getLastAttemptAt() {
+        return lastAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Queues a reload behind any running one. The future yields the published index, or null
+     * when the reload failed and the previous data was kept (see {@link #getLastError()}).
+     */
+    public Future<ReferenceDataIndex> reloadNow() {
+        if (directory == null) {
+            throw new IllegalStateException("No reference data directory configured (telex.reference.directory)");
+        }
+        return reloadExecutor.submit(this::reload);
+    }
+
+    private ReferenceDataIndex reload() {
+        lastAttemptAt = Instant.now();
+        try {
+            ReferenceDataIndex reloaded = enrichmentService.reload(directory);
+            lastError = null;
+            return reloaded;
+        } catch (IOException | RuntimeException e) {
+            lastError = e.getMessage();
+            logger.error("Reference data reload from {} failed, keeping version {}: {}",
+                    directory, enrichmentService.getReferenceData().version(), e.getMessage(), e);
+            return null;
+        }
+    }
+
+    // Restarts the debounce delay on every change
+    private synchronized void scheduleReload() {
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = reloadExecutor.schedule(this::reload, debounceMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void watchDirectory() {
+        try {
+            while (watching) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        changed = true;
+                        continue;
+                    }
+                    String name = event.context().toString();
+                    if (!name.startsWith(".") && (name.endsWith(".json") || name.endsWith(".bin"))) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    scheduleReload();
+                }
+                if (!key.reset()) {
+                    logger.warn("Reference directory WatchKey is no longer valid");
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            logger.info("Reference WatchService closed normally");
+        } catch (Exception e) {
+            logger.error("Error in reference WatchService", e);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ram.nuitparser.model.enrichment.Aircraft;
+import com.ram.nuitparser.model.enrichment.Airline;
+import com.ram.nuitparser.model.enrichment.AirportExtended;
+import com.ram.nuitparser.model.enrichment.Country;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Binary snapshot of one reference dataset, written at build time next to its JSON source
+ * ({@code /data/airlines.json} gives {@code /data/airlines.bin}) so startup skips Jackson.
+ * <p>
+ * Layout: magic, format version, a string table in which every distinct value appears once,
+ * then the records with each string field as a table index (-1 for null) and primitives as is.
+ * Values repeated across records (countries, timezones) are therefore read as one shared
+ * instance.
+ */
+public final class ReferenceDataSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataSnapshot.class);
+
+    private static final int MAGIC = 0x4E505244; // "NPRD"
+    private static final int VERSION = 1;
+
+    public static final Dataset<Airline> AIRLINES = new Dataset<>("airlines", new TypeReference<>() {
+    }, Airline::new, (airline, out) -> {
+        out.string(airline.getAirlineId());
+        out.string(airline.getName());
+        out.string(airline.getAlias());
+        out.string(airline.getIata());
+        out.string(airline.getIcao());
+        out.string(airline.getCallsign());
+        out.string(airline.getCountry());
+        out.string(airline.getActive());
+    }, (airline, in) -> {
+        airline.setAirlineId(in.string());
+        airline.setName(in.string());
+        airline.setAlias(in.string());
+        airline.setIata(in.string());
+        airline.setIcao(in.string());
+        airline.setCallsign(in.string());
+        airline.setCountry(in.string());
+        airline.setActive(in.string());
+    });
+
+    public static final Dataset<AirportExtended> AIRPORTS = new Dataset<>("airportsExtended", new TypeReference<>() {
+    }, AirportExtended::new, (airport, out) -> {
+        out.data.writeInt(airport.getAirportId());
+        out.string(airport.getName());
+        out.string(airport.getCity());
+        out.string(airport.getCountry());
+        out.string(airport.getIata());
+        out.string(airport.getIcao());
+        out.data.writeDouble(airport.getLatitude());
+        out.data.writeDouble(airport.getLongitude());
+        out.data.writeInt(airport.getAltitude());
+        out.data.writeFloat(airport.getTimezone());
+        out.string(airport.getDst());
+        out.string(airport.getTzDatabaseTimezone());
+        out.string(airport.getType());
+        out.string(airport.getSource());
+    }, (airport, in) -> {
+        airport.setAirportId(in.data.readInt());
+        airport.setName(in.string());
+        airport.setCity(in.string());
+        airport.setCountry(in.string());
+        airport.setIata(in.string());
+        airport.setIcao(in.string());
+        airport.setLatitude(in.data.readDouble());
+        airport.setLongitude(in.data.readDouble());
+        airport.setAltitude(in.data.readInt());
+        airport.setTimezone(in.data.readFloat());
+        airport.setDst(in.string());
+        airport.setTzDatabaseTimezone(in.string());
+        airport.setType(in.string());
+        airport.setSource(in.string());
+    });
+
+    public static final Dataset<Aircraft> AIRCRAFT = new Dataset<>("aircraft", new TypeReference<>() {
+    }, Aircraft::new, (aircraft, out) -> {
+        out.string(aircraft.getIataCode());
+        out.string(aircraft.getIcaoCode());
+        out.string(aircraft.getName());
+    }, (aircraft, in) -> {
+        aircraft.setIataCode(in.string());
+        aircraft.setIcaoCode(in.string());
+        aircraft.setName(in.string());
+    });
+
+    public static final Dataset<Country> COUNTRIES = new Dataset<>("countries", new TypeReference<>() {
+    }, Country::new, (country, out) -> {
+        out.string(country.getName());
+        out.string(country.getIso_code());
+    }, (country, in) -> {
+        country.setName(in.string());
+        country.setIso_code(in.string());
+    });
+
+    public static final List<Dataset<?>> DATASETS = List.of(AIRLINES, AIRPORTS, AIRCRAFT, COUNTRIES);
+
+    private ReferenceDataSnapshot() {
+    }
+
+    /**
+     * One reference dataset: its JSON and snapshot resources and how a record maps to the snapshot.
+     */
+    public record Dataset<T>(String name, TypeReference<List<T>> jsonType, Supplier<T> factory,
+                             RecordWriter<T> writer, RecordReader<T> reader) {
+
+        public String jsonResource() {
+            return "/data/" + name + ".json";
+        }
+
+        public String snapshotResource() {
+            return "/data/" + name + ".bin";
+        }
+    }
+
+    @FunctionalInterface
+    public interface RecordWriter<T> {
+        void write(T record, SnapshotOutput out) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface RecordReader<T> {
+        void read(T record, SnapshotInput in) throws IOException;
+    }
+
+    public static <T> void write(Dataset<T> dataset, List<T> records, OutputStream target) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(records.size() * 64);
+        SnapshotOutput out = new SnapshotOutput(new DataOutputStream(body));
+        for (T record : records) {
+            dataset.writer().write(record, out);
+        }
+        out.data.flush();
+
+        DataOutputStream data = new DataOutputStream(target);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(out.table.size());
+        for (String value : out.table) {
+            data.writeUTF(value);
+        }
+        data.writeInt(records.size());
+        body.writeTo(data);
+        data.flush();
+    }
+
+    /**
+     * @throws IOException when the stream is not a snapshot of the current format version
+     */
+    public static <T> List<T> read(Dataset<T> dataset, InputStream source) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(source, 1 << 16));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a reference data snapshot: " + dataset.name());
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Snapshot " + dataset.name() + " has format version " + version + ", expected " + VERSION);
+        }
+        String[] table = new String[data.readInt()];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = data.readUTF();
+        }
+        int count = data.readInt();
+        SnapshotInput in = new SnapshotInput(data, table);
+        List<T> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            T record = dataset.factory().get();
+            dataset.reader().read(record, in);
+            records.add(record);
+        }
+        return records;
+    }
+
+    public static final class SnapshotOutput {
+        private final DataOutputStream data;
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> table = new ArrayList<>();
+
+        private SnapshotOutput(DataOutputStream data) {
+            this.data = data;
+        }
+
+        public void string(String value) throws IOException {
+            if (value == null) {
+                data.writeInt(-1);
+                return;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = table.size();
+                ids.put(value, id);
+                table.add(value);
+            }
+            data.writeInt(id);
+        }
+    }
+
+    public static final class SnapshotInput {
+        private final DataInputStream data;
+        private final String[] table;
+
+        private SnapshotInput(DataInputStream data, String[] table) {
+            this.data = data;
+            this.table = table;
+        }
+
+        public String string() throws IOException {
+            int id = data.readInt();
+            return id < 0 ? null : table[id];
+        }
+    }
+
+    /**
+     * Build step (see the exec-maven-plugin execution in pom.xml): writes a snapshot next to each
+     * JSON dataset in the given directory, skipping those already newer than their source.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args.length > 0 ? args[0] : "target/classes/data");
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (Dataset<?> dataset : DATASETS) {
+            writeSnapshot(objectMapper, directory, dataset);
+        }
+    }
+
+    private static <T> void writeSnapshot(ObjectMapper objectMapper, Path directory, Dataset<T> dataset) throws IOException {
+        Path json = directory.resolve(dataset.name() + ".json");
+        Path snapshot = directory.resolve(dataset.name() + ".bin");
+        if (!Files.exists(json)) {
+            logger.debug("Reference data snapshot skipped, no {}", json);
+            return;
+        }
+        if (Files.exists(snapshot) && Files.getLastModifiedTime(snapshot).compareTo(Files.getLastModifiedTime(json)) > 0) {
+            logger.debug("Reference data snapshot {} is up to date", snapshot);
+            return;
+        }
+        List<T> records = objectMapper.readValue(json.toFile(), dataset.jsonType());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(snapshot), 1 << 16)) {
+            write(dataset, records, out);
+        }
+        logger.info("Reference data snapshot {}: {} records, {} -> {} bytes",
+                snapshot, records.size(), Files.size(json), Files.size(snapshot));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ram.nuitparser.service.enrichment;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/telexunknown}: the airline and airport codes most often missing from the
+ * reference data, with their miss counts. {@code limit} defaults to 20.
+ */
+@Component
+@Endpoint(id = "telexunknown")
+public class UnknownCodeEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final UnknownCodeTracker tracker;
+
+    public UnknownCodeEndpoint(UnknownCodeTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public UnknownCodes unknownCodes(@Nullable Integer limit) {
+        return new UnknownCodes(tracker.trackedCount(), tracker.untrackedCount(),
+                tracker.top(limit != null ? limit : DEFAULT_LIMIT));
+    }
+
+    public record UnknownCodes(int tracked, long untrackedMisses, List<UnknownCodeTracker.UnknownCode> top) {
+    }
+}
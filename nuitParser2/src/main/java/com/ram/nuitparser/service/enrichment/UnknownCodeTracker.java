@@ -0,0 +1,170 @@
+package com.ram.nuitparser.service.enrichment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Negative cache for reference codes that enrichment could not resolve. The first miss of a code
+ * is reported (the caller logs it), later misses within the TTL are only counted, so a feed with
+ * bad or legacy codes costs a map lookup per message instead of a WARN line. At most
+ * {@code maxTracked} codes are kept; past that, codes not seen for a TTL are swept out and
+ * misses of codes that still do not fit are only counted in {@code telex.enrichment.misses}.
+ */
+@Component
+public class UnknownCodeTracker {
+    private static final Logger logger = LoggerFactory.getLogger(UnknownCodeTracker.class);
+    private static final long SWEEP_INTERVAL_MS = 1000;
+
+    public enum CodeKind {
+        AIRLINE, AIRPORT
+    }
+
+    private final int maxTracked;
+    private final long ttlMs;
+    private final Clock clock;
+    private final Map<CodeKind, ConcurrentHashMap<String, Miss>> misses = new EnumMap<>(CodeKind.class);
+    private final Map<CodeKind, Counter> missCounters = new EnumMap<>(CodeKind.class);
+    private final AtomicInteger tracked = new AtomicInteger();
+    private final LongAdder untracked = new LongAdder();
+    private final AtomicLong nextSweepAt = new AtomicLong();
+
+    @Autowired
+    public UnknownCodeTracker(MeterRegistry meterRegistry,
+                              @Value("${telex.enrichment.unknown-codes.max-tracked:10000}") int maxTracked,
+                              @Value("${telex.enrichment.unknown-codes.ttl:10m}") Duration ttl) {
+        this(meterRegistry, maxTracked, ttl, Clock.systemUTC());
+    }
+
+    UnknownCodeTracker(MeterRegistry meterRegistry, int maxTracked, Duration ttl, Clock clock) {
+        this.maxTracked = Math.max(0, maxTracked);
+        this.ttlMs = Math.max(0, ttl.toMillis());
+        this.clock = clock;
+        for (CodeKind kind : CodeKind.values()) {
+            misses.put(kind, new ConcurrentHashMap<>());
+            missCounters.put(kind, Counter.builder("telex.enrichment.misses")
+                    .description("Enrichment lookups of codes missing from the reference data")
+                    .tag("kind", kind.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("telex.enrichment.unknown.tracked", tracked, AtomicInteger::get)
+                .description("Distinct unknown codes held by the negative cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("telex.enrichment.unknown.untracked", untracked, LongAdder::sum)
+                .description("Misses not tracked per code because the negative cache was full")
+                .register(meterRegistry);
+        logger.info("UnknownCodeTracker initialized with {} codes max and TTL {}", this.maxTracked, ttl);
+    }
+
+    /**
+     * Counts a miss of {@code code}.
+     *
+     * @return true when the miss should be reported: the code is new, or was last reported more
+     * than a TTL ago
+     */
+    public boolean recordMiss(CodeKind kind, String code) {
+        missCounters.get(kind).increment();
+        long now = clock.millis();
+        ConcurrentHashMap<String, Miss> byCode = misses.get(kind);
+        Miss miss = byCode.get(code);
+        if (miss == null) {
+            if (tracked.get() >= maxTracked && !makeRoom(now)) {
+                untracked.increment();
+                return false;
+            }
+            miss = byCode.computeIfAbsent(code, c -> {
+                tracked.incrementAndGet();
+                return new Miss(now);
+            });
+        }
+        miss.count.increment();
+        miss.lastSeenAt = now;
+        long reportedAt = miss.reportedAt.get();
+        // Only one of the threads racing past the TTL reports it
+        return (reportedAt < 0 || now - reportedAt >= ttlMs) && miss.reportedAt.compareAndSet(reportedAt, now);
+    }
+
+    /**
+     * Drops the codes that now resolve, e.g. after a reference data reload.
+     */
+    public void forgetResolved(CodeKind kind, Predicate<String> resolves) {
+        misses.get(kind).entrySet().removeIf(entry -> {
+            if (resolves.test(entry.getKey())) {
+                tracked.decrementAndGet();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * The {@code limit} most frequently missed codes, most frequent first.
+     */
+    public List<UnknownCode> top(int limit) {
+        List<UnknownCode> codes = new ArrayList<>();
+        misses.forEach((kind, byCode) -> byCode.forEach((code, miss) -> codes.add(new UnknownCode(kind, code,
+                miss.count.sum(), Instant.ofEpochMilli(miss.firstSeenAt), Instant.ofEpochMilli(miss.lastSeenAt)))));
+        codes.sort(Comparator.comparingLong(UnknownCode::misses).reversed());
+        return codes.subList(0, Math.min(Math.max(0, limit), codes.size()));
+    }
+
+    public int trackedCount() {
+        return tracked.get();
+    }
+
+    public long untrackedCount() {
+        return untracked.sum();
+    }
+
+    // Sweeps codes not seen for a TTL, at most once per interval so a flood of new codes stays cheap
+    private boolean makeRoom(long now) {
+        long sweepAt = nextSweepAt.get();
+        if (now >= sweepAt && nextSweepAt.compareAndSet(sweepAt, now + SWEEP_INTERVAL_MS)) {
+            for (ConcurrentHashMap<String, Miss> byCode : misses.values()) {
+                byCode.values().removeIf(miss -> {
+                    if (now - miss.lastSeenAt >= ttlMs) {
+                        tracked.decrementAndGet();
+                        return true;
+                    }
+                    return false;
+                });
+            }
+        }
+        return tracked.get() < maxTracked;
+    }
+
+    private static final class Miss {
+        private final long firstSeenAt;
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong reportedAt = new AtomicLong(-1);
+        private volatile long lastSeenAt;
+
+        private Miss(long now) {
+            this.firstSeenAt = now;
+            this.lastSeenAt = now;
+        }
+    }
+
+    public record UnknownCode(CodeKind kind, String code, long misses, Instant firstSeen, Instant lastSeen) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.ram.nuitparser.service.normalization;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UTC offsets of the airport timezones ({@code tzDatabaseTimezone} in the reference data), one
+ * entry per zone id. Each entry holds the zone's transitions over a window of years around the
+ * time it was built, so an offset is a short search in a few longs; instants outside the window
+ * fall back to the zone's {@link ZoneRules}. Ids that are not valid zones are remembered too.
+ */
+public final class ZoneOffsetCache {
+    private static final Logger logger = LoggerFactory.getLogger(ZoneOffsetCache.class);
+
+    private static final ZoneOffsets UNKNOWN = new ZoneOffsets(null, new long[0], new ZoneOffset[]{null}, 0, 0);
+
+    private final int yearsAround;
+    private final ConcurrentHashMap<String, ZoneOffsets> zones = new ConcurrentHashMap<>();
+
+    /**
+     * @param yearsAround years before and after the current one covered by the precomputed transitions
+     */
+    public ZoneOffsetCache(int yearsAround) {
+        this.yearsAround = Math.max(0, yearsAround);
+    }
+
+    /**
+     * The offset of zone {@code zoneId} at {@code instant}, or null if the id is not a known zone.
+     */
+    public ZoneOffset offset(String zoneId, Instant instant) {
+        if (zoneId == null) {
+            return null;
+        }
+        ZoneOffsets offsets = zones.get(zoneId);
+        if (offsets == null) {
+            offsets = zones.computeIfAbsent(zoneId, this::load);
+        }
+        return offsets.at(instant);
+    }
+
+    public int size() {
+        return zones.size();
+    }
+
+    private ZoneOffsets load(String zoneId) {
+        ZoneRules rules;
+        try {
+            rules = ZoneId.of(zoneId).getRules();
+        } catch (DateTimeException e) {
+            logger.warn("Unknown timezone {}: {}", zoneId, e.getMessage());
+            return UNKNOWN;
+        }
+        int year = ZonedDateTime.now(ZoneOffset.UTC).getYear();
+        long from = ZonedDateTime.of(year - yearsAround, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+        long to = ZonedDateTime.of(year + yearsAround + 1, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+
+        long[] transitions = new long[8];
+        ZoneOffset[] offsets = new ZoneOffset[9];
+        offsets[0] = rules.getOffset(Instant.ofEpochSecond(from));
+        int count = 0;
+        for (ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(from));
+             transition != null && transition.toEpochSecond() < to;
+             transition = rules.nextTransition(transition.getInstant())) {
+            if (count == transitions.length) {
+                transitions = Arrays.copyOf(transitions, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2 + 1);
+            }
+            transitions[count] = transition.toEpochSecond();
+            offsets[++count] = transition.getOffsetAfter();
+        }
+        return new ZoneOffsets(rules, Arrays.copyOf(transitions, count), Arrays.copyOf(offsets, count + 1), from, to);
+    }
+
+    /**
+     * {@code offsets[i]} is in force from {@code transitions[i - 1]} (or the window start) up to
+     * {@code transitions[i]}.
+     */
+    private record ZoneOffsets(ZoneRules rules, long[] transitions, ZoneOffset[] offsets, long from, long to) {
+
+        ZoneOffset at(Instant instant) {
+            long second = instant.getEpochSecond();
+            if (rules == null || second < from || second >= to) {
+                return rules == null ? null : rules.getOffset(instant);
+            }
+            int i = 0;
+            while (i < transitions.length && second >= transitions[i]) i++;
+            return offsets[i];
+        }
+    }
+}
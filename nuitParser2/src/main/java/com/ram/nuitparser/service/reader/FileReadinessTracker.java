@@ -0,0 +1,215 @@
+package com.ram.nuitparser.service.reader;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Decides when a newly created telex file is completely written. A file is ready once its size
+ * and modification time have stayed the same for a quiet period, so a writer pausing briefly
+ * (network share, chunked copy) is not read truncated; a file still empty after the quiet period
+ * is dropped, as there is nothing to parse. Checks are scheduled on a timer rather than sleeping
+ * on the worker threads, with exponential backoff while a file cannot be read. Ready files are
+ * handed over on a separate thread, so a full worker queue never delays the checks of other
+ * pending files. Files still being written under a temporary name (*.tmp, *.part) are ignored
+ * until the writer renames them into place.
+ */
+@Component
+public class FileReadinessTracker {
+    private static final Logger logger = LoggerFactory.getLogger(FileReadinessTracker.class);
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(IngestExecutors.namedThreads("telex-readiness"));
+    // Runs the onReady callbacks, which may block on the worker queue
+    private final ExecutorService handoff =
+            Executors.newSingleThreadExecutor(IngestExecutors.namedThreads("telex-handoff"));
+    private final Map<Path, PendingFile> pending = new ConcurrentHashMap<>();
+    private final Timer readinessLatency;
+    private final Counter readinessTimeouts;
+
+    @Value("${telex.ingest.readiness.initial-delay-ms:5}")
+    private long initialDelayMs;
+
+    @Value("${telex.ingest.readiness.max-delay-ms:500}")
+    private long maxDelayMs;
+
+    @Value("${telex.ingest.readiness.timeout-ms:30000}")
+    private long timeoutMs;
+
+    // How long size and modification time must stay unchanged before a file counts as written
+    @Value("${telex.ingest.readiness.quiet-period-ms:100}")
+    private long quietPeriodMs;
+
+    // > 0 enables ENTRY_MODIFY driven debounce: every write pushes the next check back by this much
+    @Value("${telex.ingest.readiness.modify-debounce-ms:0}")
+    private long modifyDebounceMs;
+
+    public FileReadinessTracker(MeterRegistry meterRegistry) {
+        this.readinessLatency = Timer.builder("telex.ingest.readiness.latency")
+                .description("Time from file creation event until the file is considered fully written")
+                .register(meterRegistry);
+        this.readinessTimeouts = Counter.builder("telex.ingest.readiness.timeouts")
+                .description("Files handed over after the readiness timeout without a stable size")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        handoff.shutdownNow();
+        pending.clear();
+    }
+
+    public static boolean isTemporary(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.startsWith(".") || name.endsWith(".tmp") || name.endsWith(".part");
+    }
+
+    public boolean isModifyDebounceEnabled() {
+        return modifyDebounceMs > 0;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Starts watching {@code file}; {@code onReady} runs on the handoff thread once the file is stable.
+     */
+    public void track(Path file, Consumer<Path> onReady) {
+        PendingFile created = new PendingFile(file, onReady, System.nanoTime());
+        PendingFile existing = pending.putIfAbsent(file, created);
+        if (existing != null) {
+            touched(file);
+            return;
+        }
+        created.schedule(0);
+    }
+
+    /**
+     * Called for ENTRY_MODIFY events. Restarts the stability window of a pending file.
+     */
+    public void touched(Path file) {
+        PendingFile pendingFile = pending.get(file);
+        if (pendingFile == null) {
+            return;
+        }
+        pendingFile.reset();
+        pendingFile.schedule(isModifyDebounceEnabled() ? modifyDebounceMs : initialDelayMs);
+    }
+
+    private final class PendingFile {
+        private final Path file;
+        private final Consumer<Path> onReady;
+        private final long firstSeenNanos;
+
+        private long lastSize = -1;
+        private long lastModified = -1;
+        // When the current size and modification time were first seen
+        private long unchangedSinceNanos;
+        private int attempt;
+        private ScheduledFuture<?> future;
+
+        private PendingFile(Path file, Consumer<Path> onReady, long firstSeenNanos) {
+            this.file = file;
+            this.onReady = onReady;
+            this.firstSeenNanos = firstSeenNanos;
+        }
+
+        private synchronized void reset() {
+            lastSize = -1;
+            lastModified = -1;
+            attempt = 0;
+        }
+
+        private synchronized void schedule(long delayMs) {
+            if (future != null) {
+                future.cancel(false);
+            }
+            future = scheduler.schedule(this::check, delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        private void check() {
+            long size;
+            long modified;
+            try {
+                size = Files.size(file);
+                modified = Files.getLastModifiedTime(file).toMillis();
+            } catch (NoSuchFileException e) {
+                // Deleted or renamed away before it settled; nothing to process
+                pending.remove(file, this);
+                return;
+            } catch (IOException e) {
+                logger.warn("Cannot stat file {}: {}", file.getFileName(), e.getMessage());
+                size = -1;
+                modified = -1;
+            }
+
+            long now = System.nanoTime();
+            long waitedNanos = now - firstSeenNanos;
+            long quietMs;
+            synchronized (this) {
+                if (size != lastSize || modified != lastModified) {
+                    lastSize = size;
+                    lastModified = modified;
+                    unchangedSinceNanos = now;
+                }
+                quietMs = size >= 0 ? TimeUnit.NANOSECONDS.toMillis(now - unchangedSinceNanos) : -1;
+            }
+
+            if (quietMs >= quietPeriodMs && size == 0) {
+                // An empty drop file is final, not a failed write
+                logger.debug("Ignoring empty file {}", file.getFileName());
+                pending.remove(file, this);
+            } else if (quietMs >= quietPeriodMs) {
+                complete(waitedNanos);
+            } else if (TimeUnit.NANOSECONDS.toMillis(waitedNanos) >= timeoutMs) {
+                logger.warn("File {} did not settle within {} ms, processing it as is", file.getFileName(), timeoutMs);
+                readinessTimeouts.increment();
+                complete(waitedNanos);
+            } else if (quietMs >= 0) {
+                // Unchanged so far: check again once the quiet period would be over
+                schedule(Math.max(quietPeriodMs - quietMs, 1));
+            } else {
+                schedule(nextDelay());
+            }
+        }
+
+        private synchronized long nextDelay() {
+            long delay = initialDelayMs << Math.min(attempt++, 20);
+            return Math.min(Math.max(delay, 1), maxDelayMs);
+        }
+
+        private void complete(long waitedNanos) {
+            if (!pending.remove(file, this)) {
+                return;
+            }
+            readinessLatency.record(waitedNanos, TimeUnit.NANOSECONDS);
+            try {
+                handoff.execute(() -> onReady.accept(file));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Dropping ready file {}: tracker is shut down", file.getFileName());
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ram.nuitparser.service.reader;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread pools for the ingestion stages. Worker pools are bounded: once the queue is full,
+ * the submitting thread blocks until a worker frees a slot, so a burst of files slows the
+ * producer down instead of growing the backlog without limit.
+ */
+public final class IngestExecutors {
+
+    private IngestExecutors() {
+    }
+
+    public static ThreadPoolExecutor newBoundedPool(String namePrefix, int threads, int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                namedThreads(namePrefix),
+                new BlockWhenFull());
+    }
+
+    public static ThreadFactory namedThreads(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class BlockWhenFull implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Ingest pool is shut down");
+            }
+            BlockingQueue<Runnable> queue = executor.getQueue();
+            try {
+                queue.put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for ingest queue capacity", e);
+            }
+        }
+    }
+}
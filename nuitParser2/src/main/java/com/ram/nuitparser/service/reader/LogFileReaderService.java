@@ -1,6 +1,9 @@
 package com.ram.nuitparser.service.reader;
 
 import com.ram.nuitparser.service.TelexParserService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
@@ -11,34 +14,75 @@ import java.io.IOException;
 import java.nio.file.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class LogFileReaderService {
     private static final Logger logger = LoggerFactory.getLogger(LogFileReaderService.class);
 
     private final TelexParserService telexParserService;
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private final FileReadinessTracker readinessTracker;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueLatency;
+
+    // Watcher stage: drains the WatchService and hands files to the worker pool
+    private final ExecutorService watcherExecutor =
+            Executors.newSingleThreadExecutor(IngestExecutors.namedThreads("telex-watcher"));
+    // Worker stage: reads and parses files, bounded so the watcher blocks when it is full
+    private ThreadPoolExecutor workerPool;
     private WatchService watchService;
-    private boolean watching = false;
+    private volatile boolean watching = false;
 
     @Value("${telex.directory.path:telex_files}")
     private String telexDirectoryPath;
 
-    public LogFileReaderService(TelexParserService telexParserService) {
+    @Value("${telex.ingest.workers:0}")
+    private int workerCount;
+
+    @Value("${telex.ingest.queue-capacity:1000}")
+    private int queueCapacity;
+
+    public LogFileReaderService(TelexParserService telexParserService,
+                                FileReadinessTracker readinessTracker,
+                                MeterRegistry meterRegistry) {
         this.telexParserService = telexParserService;
+        this.readinessTracker = readinessTracker;
+        this.meterRegistry = meterRegistry;
+        this.queueLatency = Timer.builder("telex.ingest.queue.latency")
+                .description("Time a telex file waits in the ingest queue before a worker picks it up")
+                .register(meterRegistry);
         logger.info("LogFileReaderService initialized");
     }
 
     @PostConstruct
     public void init() {
+        workerPool = IngestExecutors.newBoundedPool("telex-worker", workerCount, queueCapacity);
+        Gauge.builder("telex.ingest.queue.depth", workerPool, pool -> pool.getQueue().size())
+                .description("Telex files waiting for a worker")
+                .register(meterRegistry);
+        logger.info("Ingest worker pool started with {} workers and queue capacity {}",
+                workerPool.getCorePoolSize(), queueCapacity);
         startWatching();
     }
 
     @PreDestroy
     public void cleanup() {
         stopWatching();
-        executorService.shutdown();
-        logger.info("Stopped directory monitoring and shutdown executor service");
+        watcherExecutor.shutdown();
+        workerPool.shutdown();
+        try {
+            if (!workerPool.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Ingest workers did not finish within 10s, {} files left in queue",
+                        workerPool.getQueue().size());
+                workerPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workerPool.shutdownNow();
+        }
+        logger.info("Stopped directory monitoring and shutdown executor services");
     }
 
     private void startWatching() {
@@ -57,10 +101,14 @@ public class LogFileReaderService {
 
         try {
             watchService = FileSystems.getDefault().newWatchService();
-            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+            if (readinessTracker.isModifyDebounceEnabled()) {
+                dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } else {
+                dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+            }
 
             watching = true;
-            executorService.submit(this::watchDirectory);
+            watcherExecutor.submit(this::watchDirectory);
             logger.info("Started directory monitoring for telex files using WatchService");
 
         } catch (IOException e) {
@@ -93,17 +141,22 @@ public class LogFileReaderService {
                         continue;
                     }
 
-                    // Process only ENTRY_CREATE events
+                    @SuppressWarnings("unchecked")
+                    WatchEvent<Path> ev = (WatchEvent<Path>) event;
+                    Path filename = ev.context();
+                    Path fullPath = Paths.get(telexDirectoryPath).resolve(filename);
+
+                    // Skip hidden files and files still being written under a temporary name
+                    if (FileReadinessTracker.isTemporary(filename)) {
+                        continue;
+                    }
+
                     if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
-                        @SuppressWarnings("unchecked")
-                        WatchEvent<Path> ev = (WatchEvent<Path>) event;
-                        Path filename = ev.context();
-                        Path fullPath = Paths.get(telexDirectoryPath).resolve(filename);
-
-                        // Skip directories and hidden files
-                        if (!Files.isDirectory(fullPath) && !filename.toString().startsWith(".")) {
-                            processFile(fullPath);
+                        if (!Files.isDirectory(fullPath)) {
+                            readinessTracker.track(fullPath, this::submitFile);
                         }
+                    } else if (kind == StandardWatchEventKinds.ENTRY_MODIFY) {
+                        readinessTracker.touched(fullPath);
                     }
                 }
 
@@ -124,19 +177,26 @@ public class LogFileReaderService {
         }
     }
 
-    private void processFile(Path file) {
+    private void submitFile(Path file) {
+        long enqueuedAt = System.nanoTime();
         try {
-            // Small delay to ensure file is fully written
-            Thread.sleep(100);
+            // Blocks the calling stage while the queue is full (backpressure)
+            workerPool.execute(() -> {
+                queueLatency.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                processFile(file);
+            });
+        } catch (RejectedExecutionException e) {
+            logger.error("Could not queue file {}: {}", file.getFileName(), e.getMessage());
+        }
+    }
 
+    private void processFile(Path file) {
+        try {
             String content = Files.readString(file);
             telexParserService.parse(content);
-            logger.info("Processed new file: {}", file.getFileName());
+            logger.debug("Processed new file: {}", file.getFileName());
         } catch (IOException e) {
             logger.error("Error reading file {}: {}", file.getFileName(), e.getMessage(), e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error("Processing interrupted for file: {}", file.getFileName());
         }
     }
 }
\ No newline at end of file
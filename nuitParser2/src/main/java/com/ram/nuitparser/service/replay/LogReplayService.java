@@ -0,0 +1,192 @@
+package com.ram.nuitparser.service.replay;
+
+import com.ram.nuitparser.enums.TelexType;
+import com.ram.nuitparser.parser.type.TelexTypeDetector;
+import com.ram.nuitparser.service.TelexParserService;
+import com.ram.nuitparser.service.reader.IngestExecutors;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Re-processes archived telex logs. Each file is streamed, split into envelopes as it is read
+ * and the envelopes are fanned out over a bounded worker pool calling
+ * {@link TelexParserService#parse(String)}. Only one replay runs at a time.
+ */
+@Service
+public class LogReplayService {
+    private static final Logger logger = LoggerFactory.getLogger(LogReplayService.class);
+
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    private final TelexParserService telexParserService;
+    private final TelexTypeDetector typeDetector;
+    private final ExecutorService coordinator =
+            Executors.newSingleThreadExecutor(IngestExecutors.namedThreads("telex-replay-coordinator"));
+    private final AtomicReference<ReplayStatus> status = new AtomicReference<>(ReplayStatus.IDLE);
+
+    // Progress counters of the running replay, read by status()
+    private final AtomicLong files = new AtomicLong();
+    private final AtomicLong envelopes = new AtomicLong();
+    private volatile long startedNanos;
+
+    @Value("${telex.replay.directory:telex_archive}")
+    private String replayDirectory;
+
+    @Value("${telex.replay.workers:0}")
+    private int workerCount;
+
+    @Value("${telex.replay.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // File or directory (relative to telex.replay.directory) to replay once the application is up
+    @Value("${telex.replay.on-startup:}")
+    private String replayOnStartup;
+
+    public LogReplayService(TelexParserService telexParserService, TelexTypeDetector typeDetector) {
+        this.telexParserService = telexParserService;
+        this.typeDetector = typeDetector;
+        logger.info("LogReplayService initialized");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayOnStartup() {
+        if (replayOnStartup != null && !replayOnStartup.isBlank()) {
+            logger.info("Starting replay requested at startup: {}", replayOnStartup);
+            start(replayOnStartup);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    /**
+     * Starts replaying {@code source} (a file or directory below the replay directory) in the background.
+     *
+     * @throws IllegalArgumentException if the source is outside the replay directory or does not exist
+     * @throws IllegalStateException    if a replay is already running
+     */
+    public ReplayStatus start(String source) {
+        Path path = resolve(source);
+        ReplayStatus current = status.get();
+        ReplayStatus starting = new ReplayStatus(true, path.toString(), 0, 0, 0, 0, Instant.now(), null, null);
+        if (current.running() || !status.compareAndSet(current, starting)) {
+            throw new IllegalStateException("A replay is already running: " + current.source());
+        }
+        files.set(0);
+        envelopes.set(0);
+        startedNanos = System.nanoTime();
+        coordinator.submit(() -> run(path, starting.startedAt()));
+        return starting;
+    }
+
+    public ReplayStatus status() {
+        ReplayStatus current = status.get();
+        if (!current.running()) {
+            return current;
+        }
+        return progress(current.source(), current.startedAt(), null, true, null);
+    }
+
+    Path resolve(String source) {
+        Path base = Paths.get(replayDirectory).toAbsolutePath().normalize();
+        Path path = base.resolve(source).normalize();
+        if (!path.startsWith(base)) {
+            throw new IllegalArgumentException("Replay source must be inside " + base);
+        }
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("Replay source does not exist: " + path);
+        }
+        return path;
+    }
+
+    private void run(Path path, Instant startedAt) {
+        String error = null;
+
+        ThreadPoolExecutor workers = IngestExecutors.newBoundedPool("telex-replay", workerCount, queueCapacity);
+        try {
+            for (Path file : listFiles(path)) {
+                replayFile(file, workers);
+                files.incrementAndGet();
+            }
+        } catch (IOException e) {
+            error = e.getMessage();
+            logger.error("Replay of {} failed: {}", path, e.getMessage(), e);
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+            logger.error("Replay of {} aborted: {}", path, e.getMessage(), e);
+        } finally {
+            workers.shutdown();
+            awaitWorkers(workers);
+        }
+
+        ReplayStatus finished = progress(path.toString(), startedAt, Instant.now(), false, error);
+        status.set(finished);
+        logger.info("Replay of {} finished: {} files, {} envelopes in {} ms ({} messages/s)",
+                path, finished.files(), finished.envelopes(), finished.elapsedMillis(),
+                String.format("%.1f", finished.messagesPerSecond()));
+    }
+
+    private void replayFile(Path file, ThreadPoolExecutor workers) throws IOException {
+        logger.info("Replaying archive file {}", file.getFileName());
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+            // Bare telexes (no "=" headers) start their body at the message identifier line
+            TelexLogSplitter.split(reader, line -> typeDetector.detect(line) != TelexType.UNKNOWN, envelope -> {
+                // Blocks while the worker queue is full, so reading never runs ahead of parsing
+                workers.execute(() -> telexParserService.parse(envelope));
+                envelopes.incrementAndGet();
+            });
+        }
+    }
+
+    private static List<Path> listFiles(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> entries = Files.list(path)) {
+            return entries.filter(Files::isRegularFile).sorted().toList();
+        }
+    }
+
+    private static void awaitWorkers(ThreadPoolExecutor workers) {
+        try {
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.info("Replay still draining, {} envelopes queued", workers.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    private ReplayStatus progress(String source, Instant startedAt, Instant finishedAt, boolean running, String error) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+        long count = envelopes.get();
+        double rate = elapsedMillis > 0 ? count * 1000.0 / elapsedMillis : 0;
+        return new ReplayStatus(running, source, files.get(), count, elapsedMillis, rate, startedAt, finishedAt, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ram.nuitparser.service.replay;
+
+import java.time.Instant;
+
+/**
+ * Progress of the current or last replay run.
+ */
+public record ReplayStatus(
+        boolean running,
+        String source,
+        long files,
+        long envelopes,
+        long elapsedMillis,
+        double messagesPerSecond,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+    public static final ReplayStatus IDLE = new ReplayStatus(false, null, 0, 0, 0, 0, null, null, null);
+}
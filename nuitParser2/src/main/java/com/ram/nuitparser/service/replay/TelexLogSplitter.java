@@ -0,0 +1,119 @@
+package com.ram.nuitparser.service.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Splits a log of back-to-back telexes into one envelope string per telex while reading,
+ * so archives of any size are processed with memory bounded by the largest single telex.
+ * The format is taken from the first non-blank line of the log:
+ * <ul>
+ *   <li>"=" header lines: an envelope ends where, after its =TEXT section, the next "=" header
+ *   line begins.</li>
+ *   <li>anything else: bare telexes as in {@code logs/telex.log}, separated by blank lines. The
+ *   address lines before the message identifier (ASM, MVT, ...) are wrapped in a =HEADER section
+ *   and the rest in =TEXT, so each one reads like a received envelope.</li>
+ * </ul>
+ */
+public final class TelexLogSplitter {
+
+    private TelexLogSplitter() {
+    }
+
+    /**
+     * Reads {@code reader} to the end and passes each envelope to {@code sink}.
+     *
+     * @param identifierLine tells the line starting a bare telex's body apart from its address lines
+     * @return the number of envelopes emitted
+     */
+    public static long split(BufferedReader reader, Predicate<String> identifierLine, Consumer<String> sink)
+            throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null && line.isBlank()) {
+            // Leading blank lines tell nothing about the format
+        }
+        if (line == null) {
+            return 0;
+        }
+        return line.startsWith("=")
+                ? splitEnvelopes(line, reader, sink)
+                : splitBare(line, reader, identifierLine, sink);
+    }
+
+    private static long splitEnvelopes(String line, BufferedReader reader, Consumer<String> sink) throws IOException {
+        StringBuilder current = new StringBuilder(1024);
+        boolean seenText = false;
+        long emitted = 0;
+
+        do {
+            if (line.startsWith("=")) {
+                if (seenText) {
+                    emitted += emit(current, sink);
+                    seenText = false;
+                }
+                if (line.startsWith("=TEXT")) {
+                    seenText = true;
+                }
+            }
+            current.append(line).append('\n');
+        } while ((line = reader.readLine()) != null);
+        emitted += emit(current, sink);
+        return emitted;
+    }
+
+    private static long splitBare(String line, BufferedReader reader, Predicate<String> identifierLine,
+                                  Consumer<String> sink) throws IOException {
+        List<String> telex = new ArrayList<>();
+        StringBuilder current = new StringBuilder(1024);
+        long emitted = 0;
+
+        do {
+            if (line.isBlank()) {
+                emitted += emitBare(telex, identifierLine, current, sink);
+            } else {
+                telex.add(line);
+            }
+        } while ((line = reader.readLine()) != null);
+        emitted += emitBare(telex, identifierLine, current, sink);
+        return emitted;
+    }
+
+    private static int emitBare(List<String> telex, Predicate<String> identifierLine,
+                                StringBuilder current, Consumer<String> sink) {
+        if (telex.isEmpty()) {
+            return 0;
+        }
+        int bodyStart = 0;
+        while (bodyStart < telex.size() && !identifierLine.test(telex.get(bodyStart))) bodyStart++;
+        // Without an identifier the whole telex is the body; parsing then reports it as unknown
+        if (bodyStart == telex.size()) {
+            bodyStart = 0;
+        }
+        if (bodyStart > 0) {
+            current.append("=HEADER\n");
+            for (int i = 0; i < bodyStart; i++) {
+                current.append(telex.get(i)).append('\n');
+            }
+        }
+        current.append("=TEXT\n");
+        for (int i = bodyStart; i < telex.size(); i++) {
+            current.append(telex.get(i)).append('\n');
+        }
+        telex.clear();
+        return emit(current, sink);
+    }
+
+    private static int emit(StringBuilder current, Consumer<String> sink) {
+        String envelope = current.toString();
+        current.setLength(0);
+        if (envelope.isBlank()) {
+            return 0;
+        }
+        sink.accept(envelope);
+        return 1;
+    }
+}
@@ -0,0 +1,1153 @@
+package com.ram.nuitparser.service.store;
+
+import com.ram.nuitparser.model.telex.FlightTime;
+import com.ram.nuitparser.model.telex.TelexMessage;
+import com.ram.nuitparser.model.telex.asm.AsmMessage;
+import com.ram.nuitparser.model.telex.ldm.LdmDestination;
+import com.ram.nuitparser.model.telex.ldm.LdmMessage;
+import com.ram.nuitparser.model.telex.mvt.MovementType;
+import com.ram.nuitparser.model.telex.mvt.MvtDelay;
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import com.ram.nuitparser.model.telex.ssm.SsmLeg;
+import com.ram.nuitparser.model.telex.ssm.SsmMessage;
+import com.ram.nuitparser.service.StoredTelex;
+
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stores telexes as columns instead of message objects: codes (stations, designators, header
+ * codes, enrichment names) as ids into one shared {@link StringDictionary}, HHMM times as shorts,
+ * dates as packed ints, counts and weights as ints, normalized times as epoch minutes and offsets,
+ * and nested lists (SSM legs, LDM destinations, MVT delays) flattened into one int[] per entry.
+ * The raw body is kept as Latin-1 bytes. The message types share the same physical columns, each
+ * using as many as it needs, so a slot costs {@link #fixedBytesPerSlot()} bytes plus its nested
+ * lists, raw body and free text.
+ * <p>
+ * Messages are rebuilt only when read. A value that does not fit its packed form (a day-stated
+ * MVT time, a fractional weight, a code past the dictionary limit) is kept as a string in that
+ * column's overflow array; messages of any other class are kept as they are.
+ * <p>
+ * Each slot is guarded by its sequence like a seqlock: the writer invalidates the sequence,
+ * writes the columns, then publishes the sequence; a reader decodes the columns between two
+ * reads of the sequence and drops the entry if it changed.
+ */
+public final class ColumnarTelexStore implements TelexStore {
+
+    // Columns per kind; the widest message type decides each (ASM codes, MVT times, LDM numbers)
+    private static final int CODES = 25;
+    private static final int TIMES = 9;
+    private static final int DATES = 2;
+    private static final int INTS = 8;
+    private static final int NUMBERS = 5;
+    private static final int TEXTS = 2;
+    private static final int FLIGHT_TIMES = 9;
+    // Distinct strings held by the dictionary; later ones go to the overflow arrays
+    private static final int DICTIONARY_LIMIT = 1 << 20;
+
+    private static final long EMPTY = -1;
+    private static final byte NO_MESSAGE = 0;
+    private static final byte ASM = 1;
+    private static final byte SSM = 2;
+    private static final byte MVT = 3;
+    private static final byte LDM = 4;
+    private static final byte OTHER = 5;
+
+    private final AtomicLongArray sequences;
+    private final long[] ingestedNanos;
+    private final long[] referenceVersions;
+    private final byte[] kinds;
+    private final Object[] raws;
+    // int[] nested lists, or the original list/message when it cannot be encoded
+    private final Object[] blobs;
+    private final StringDictionary dictionary = new StringDictionary(DICTIONARY_LIMIT);
+    private final CodeColumn[] codes = new CodeColumn[CODES];
+    private final TimeColumn[] times = new TimeColumn[TIMES];
+    private final DateColumn[] dates = new DateColumn[DATES];
+    private final int[][] ints = new int[INTS][];
+    private final NumberColumn[] numbers = new NumberColumn[NUMBERS];
+    private final String[][] texts = new String[TEXTS][];
+    private final FlightTimeColumn[] flightTimes = new FlightTimeColumn[FLIGHT_TIMES];
+
+    // All messages of one telex share its raw body; encode it once
+    private String lastRaw;
+    private Object lastEncodedRaw;
+
+    public ColumnarTelexStore(int capacity) {
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, EMPTY);
+        }
+        this.ingestedNanos = new long[capacity];
+        this.referenceVersions = new long[capacity];
+        this.kinds = new byte[capacity];
+        this.raws = new Object[capacity];
+        this.blobs = new Object[capacity];
+        for (int i = 0; i < CODES; i++) codes[i] = new CodeColumn(capacity);
+        for (int i = 0; i < TIMES; i++) times[i] = new TimeColumn(capacity);
+        for (int i = 0; i < DATES; i++) dates[i] = new DateColumn(capacity);
+        for (int i = 0; i < INTS; i++) ints[i] = new int[capacity];
+        for (int i = 0; i < NUMBERS; i++) numbers[i] = new NumberColumn(capacity);
+        for (int i = 0; i < TEXTS; i++) texts[i] = new String[capacity];
+        for (int i = 0; i < FLIGHT_TIMES; i++) flightTimes[i] = new FlightTimeColumn(capacity);
+    }
+
+    /**
+     * Bytes every slot costs whatever it holds, assuming 4-byte (compressed) references.
+     */
+    public static int fixedBytesPerSlot() {
+        return Long.BYTES * 3 + 1 + 4 * 2
+                + CODES * Integer.BYTES + TIMES * Short.BYTES + DATES * Integer.BYTES
+                + INTS * Integer.BYTES + NUMBERS * Integer.BYTES + TEXTS * 4
+                + FLIGHT_TIMES * (Integer.BYTES + Short.BYTES);
+    }
+
+    public int dictionarySize() {
+        return dictionary.size();
+    }
+
+    @Override
+    public void put(int slot, StoredTelex entry) {
+        sequences.set(slot, EMPTY);
+        VarHandle.storeStoreFence();
+
+        Instant at = entry.ingestedAt();
+        ingestedNanos[slot] = at.getEpochSecond() * 1_000_000_000L + at.getNano();
+        raws[slot] = encodeRaw(entry.raw());
+        Cursor row = new Cursor(slot);
+        kinds[slot] = row.write(entry.message());
+        row.finish();
+
+        sequences.set(slot, entry.sequence());
+    }
+
+    @Override
+    public StoredTelex get(int slot, long sequence) {
+        if (sequences.get(slot) != sequence) {
+            return null;
+        }
+        try {
+            long nanos = ingestedNanos[slot];
+            Object raw = raws[slot];
+            TelexMessage message = new Cursor(slot).read(kinds[slot]);
+            VarHandle.acquireFence();
+            if (sequences.get(slot) != sequence) {
+                return null;
+            }
+            return new StoredTelex(sequence, instant(nanos), message, decodeRaw(raw));
+        } catch (RuntimeException e) {
+            // Columns torn by a concurrent overwrite can fail to decode; that entry is gone anyway
+            if (sequences.get(slot) != sequence) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Instant ingestedAt(int slot, long sequence) {
+        if (sequences.get(slot) != sequence) {
+            return null;
+        }
+        long nanos = ingestedNanos[slot];
+        VarHandle.acquireFence();
+        return sequences.get(slot) == sequence ? instant(nanos) : null;
+    }
+
+    @Override
+    public void clear(int slot, long sequence) {
+        if (sequences.compareAndSet(slot, sequence, EMPTY)) {
+            raws[slot] = null;
+            blobs[slot] = null;
+            new Cursor(slot).finish();
+        }
+    }
+
+    private static Instant instant(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+    }
+
+    private Object encodeRaw(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        if (raw != lastRaw) {
+            lastRaw = raw;
+            lastEncodedRaw = isLatin1(raw) ? raw.getBytes(StandardCharsets.ISO_8859_1) : raw;
+        }
+        return lastEncodedRaw;
+    }
+
+    private static String decodeRaw(Object raw) {
+        return raw instanceof byte[] bytes ? new String(bytes, StandardCharsets.ISO_8859_1) : (String) raw;
+    }
+
+    private static boolean isLatin1(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Walks the columns of one slot in field order. Writing and reading a message type call the
+     * same sequence of column methods, each advancing that kind's column index.
+     */
+    private final class Cursor {
+        private final int slot;
+        private int code;
+        private int time;
+        private int date;
+        private int integer;
+        private int number;
+        private int text;
+        private int flightTime;
+
+        private Cursor(int slot) {
+            this.slot = slot;
+        }
+
+        private byte write(TelexMessage message) {
+            if (message == null) {
+                blobs[slot] = null;
+                return NO_MESSAGE;
+            }
+            // Exact classes only, with their default type code; anything else is kept as is
+            if (message.getClass() == AsmMessage.class && "ASM".equals(message.getType())) {
+                writeAsm((AsmMessage) message);
+                return ASM;
+            }
+            if (message.getClass() == SsmMessage.class && "SSM".equals(message.getType())) {
+                writeSsm((SsmMessage) message);
+                return SSM;
+            }
+            if (message.getClass() == MvtMessage.class && "MVT".equals(message.getType())) {
+                writeMvt((MvtMessage) message);
+                return MVT;
+            }
+            if (message.getClass() == LdmMessage.class && "LDM".equals(message.getType())) {
+                writeLdm((LdmMessage) message);
+                return LDM;
+            }
+            blobs[slot] = message;
+            return OTHER;
+        }
+
+        private TelexMessage read(byte kind) {
+            return switch (kind) {
+                case ASM -> readAsm();
+                case SSM -> readSsm();
+                case MVT -> readMvt();
+                case LDM -> readLdm();
+                case OTHER -> (TelexMessage) blobs[slot];
+                default -> null;
+            };
+        }
+
+        // Clears the columns this message type left unused so they release stale overflow values
+        private void finish() {
+            while (code < CODES) codes[code++].write(dictionary, slot, null);
+            while (time < TIMES) times[time++].write(slot, null);
+            while (date < DATES) dates[date++].write(slot, null);
+            while (number < NUMBERS) numbers[number++].write(slot, null);
+            while (text < TEXTS) texts[text++][slot] = null;
+            while (flightTime < FLIGHT_TIMES) flightTimes[flightTime++].write(slot, null);
+        }
+
+        private void writeHeader(TelexMessage message) {
+            code(message.getPriority());
+            code(message.getDestination());
+            code(message.getOrigin());
+            text(message.getHeader());
+            code(message.getDblSig());
+            code(message.getSmi());
+            number(message.getMsgId());
+            referenceVersions[slot] = message.getReferenceDataVersion();
+        }
+
+        private void readHeader(TelexMessage message) {
+            message.setPriority(code());
+            message.setDestination(code());
+            message.setOrigin(code());
+            message.setHeader(text());
+            message.setDblSig(code());
+            message.setSmi(code());
+            message.setMsgId(number());
+            message.setReferenceDataVersion(referenceVersions[slot]);
+        }
+
+        private void writeAsm(AsmMessage message) {
+            writeHeader(message);
+            code(message.getFlightDesignator());
+            code(message.getDepartureAirport());
+            code(message.getArrivalAirport());
+            code(message.getAirlineName());
+            code(message.getAirlineCountry());
+            code(message.getDepartureAirportName());
+            code(message.getDepartureTimezone());
+            code(message.getArrivalAirportName());
+            code(message.getArrivalTimezone());
+            code(message.getAction());
+            code(message.getAircraftType());
+            code(message.getEquipmentVersion());
+            code(message.getFlightNumber());
+            code(message.getFlightSuffix());
+            code(message.getOperationalSuffix());
+            code(message.getDaysOfOperation());
+            code(message.getPeriodOfOperation());
+            code(message.getCrewInformation());
+            code(message.getMealService());
+            code(message.getSpecialHandling());
+            time(message.getDepartureTime());
+            time(message.getArrivalTime());
+            date(message.getFlightDate());
+            flightTime(message.getDepartureAt());
+            flightTime(message.getArrivalAt());
+
+            List<String> identifiers = message.getDeIdentifiers();
+            if (identifiers == null) {
+                blobs[slot] = null;
+            } else {
+                Blob blob = new Blob(identifiers.size() + 1);
+                blob.add(identifiers.size());
+                for (String identifier : identifiers) blob.string(identifier);
+                blobs[slot] = blob.orElse(identifiers);
+            }
+        }
+
+        private AsmMessage readAsm() {
+            AsmMessage message = new AsmMessage();
+            readHeader(message);
+            message.setFlightDesignator(code());
+            message.setDepartureAirport(code());
+            message.setArrivalAirport(code());
+            message.setAirlineName(code());
+            message.setAirlineCountry(code());
+            message.setDepartureAirportName(code());
+            message.setDepartureTimezone(code());
+            message.setArrivalAirportName(code());
+            message.setArrivalTimezone(code());
+            message.setAction(code());
+            message.setAircraftType(code());
+            message.setEquipmentVersion(code());
+            message.setFlightNumber(code());
+            message.setFlightSuffix(code());
+            message.setOperationalSuffix(code());
+            message.setDaysOfOperation(code());
+            message.setPeriodOfOperation(code());
+            message.setCrewInformation(code());
+            message.setMealService(code());
+            message.setSpecialHandling(code());
+            message.setDepartureTime(time());
+            message.setArrivalTime(time());
+            message.setFlightDate(date());
+            message.setDepartureAt(flightTime());
+            message.setArrivalAt(flightTime());
+
+            Object blob = blobs[slot];
+            if (blob instanceof int[] values) {
+                BlobReader reader = new BlobReader(values);
+                int count = reader.next();
+                List<String> identifiers = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) identifiers.add(reader.string());
+                message.setDeIdentifiers(identifiers);
+            } else {
+                message.setDeIdentifiers(castList(blob));
+            }
+            return message;
+        }
+
+        private void writeSsm(SsmMessage message) {
+            writeHeader(message);
+            code(message.getFlightDesignator());
+            code(message.getDepartureAirport());
+            code(message.getArrivalAirport());
+            code(message.getAirlineName());
+            code(message.getAirlineCountry());
+            code(message.getDepartureAirportName());
+            code(message.getDepartureTimezone());
+            code(message.getArrivalAirportName());
+            code(message.getArrivalTimezone());
+            code(message.getAircraftType());
+            code(message.getDaysOfOperation());
+            code(message.getRoute());
+            date(message.getEffectiveDate());
+            date(message.getDiscontinuationDate());
+            time(message.getDepartureTime());
+            time(message.getArrivalTime());
+            text(message.getRemarks());
+
+            List<String> identifiers = message.getDeIdentifiers();
+            List<SsmLeg> legs = message.getLegs();
+            if (identifiers == null && legs == null) {
+                blobs[slot] = null;
+                return;
+            }
+            int legCount = legs == null ? 0 : legs.size();
+            Blob blob = new Blob((identifiers == null ? 0 : identifiers.size()) + legCount * 13 + 2);
+            // Length-prefixed lists; -1 for null
+            if (identifiers == null) {
+                blob.add(-1);
+            } else {
+                blob.add(identifiers.size());
+                for (String identifier : identifiers) blob.string(identifier);
+            }
+            blob.add(legs == null ? -1 : legCount);
+            for (int i = 0; i < legCount; i++) {
+                SsmLeg leg = legs.get(i);
+                blob.string(leg.flightDesignator());
+                blob.string(leg.effectiveDate());
+                blob.string(leg.discontinuationDate());
+                blob.string(leg.daysOfOperation());
+                blob.string(leg.serviceType());
+                blob.string(leg.aircraftType());
+                blob.string(leg.configuration());
+                blob.string(leg.departureAirport());
+                blob.string(leg.departureTime());
+                blob.add(leg.departureDateVariation());
+                blob.string(leg.arrivalAirport());
+                blob.string(leg.arrivalTime());
+                blob.add(leg.arrivalDateVariation());
+            }
+            blobs[slot] = blob.complete ? blob.toArray() : new SsmNested(identifiers, legs);
+        }
+
+        private SsmMessage readSsm() {
+            SsmMessage message = new SsmMessage();
+            readHeader(message);
+            message.setFlightDesignator(code());
+            message.setDepartureAirport(code());
+            message.setArrivalAirport(code());
+            message.setAirlineName(code());
+            message.setAirlineCountry(code());
+            message.setDepartureAirportName(code());
+            message.setDepartureTimezone(code());
+            message.setArrivalAirportName(code());
+            message.setArrivalTimezone(code());
+            message.setAircraftType(code());
+            message.setDaysOfOperation(code());
+            message.setRoute(code());
+            message.setEffectiveDate(date());
+            message.setDiscontinuationDate(date());
+            message.setDepartureTime(time());
+            message.setArrivalTime(time());
+            message.setRemarks(text());
+
+            Object blob = blobs[slot];
+            if (blob instanceof SsmNested nested) {
+                message.setDeIdentifiers(nested.deIdentifiers());
+                message.setLegs(nested.legs());
+                return message;
+            }
+            if (blob == null) {
+                message.setLegs(null);
+                return message;
+            }
+            BlobReader reader = new BlobReader((int[]) blob);
+            int identifierCount = reader.next();
+            if (identifierCount >= 0) {
+                List<String> identifiers = new ArrayList<>(identifierCount);
+                for (int i = 0; i < identifierCount; i++) identifiers.add(reader.string());
+                message.setDeIdentifiers(identifiers);
+            }
+            int count = reader.next();
+            if (count < 0) {
+                message.setLegs(null);
+                return message;
+            }
+            List<SsmLeg> legs = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                legs.add(new SsmLeg(reader.string(), reader.string(), reader.string(), reader.string(),
+                        reader.string(), reader.string(), reader.string(), reader.string(), reader.string(),
+                        reader.next(), reader.string(), reader.string(), reader.next()));
+            }
+            message.setLegs(legs);
+            return message;
+        }
+
+        private void writeMvt(MvtMessage message) {
+            writeHeader(message);
+            code(message.getFlightDesignator());
+            code(message.getDepartureAirport());
+            code(message.getArrivalAirport());
+            code(message.getAirlineName());
+            code(message.getAirlineCountry());
+            code(message.getDepartureAirportName());
+            code(message.getDepartureTimezone());
+            code(message.getArrivalAirportName());
+            code(message.getArrivalTimezone());
+            code(message.getAircraftRegistration());
+            code(message.getAircraftType());
+            code(message.getMovementType() == null ? null : message.getMovementType().name());
+            code(message.getDelayReason());
+            date(message.getDateOfFlight());
+            time(message.getActualOffBlockTime());
+            time(message.getActualTakeoffTime());
+            time(message.getActualLandingTime());
+            time(message.getActualInBlockTime());
+            time(message.getEstimatedDepartureTime());
+            time(message.getEstimatedOffBlockTime());
+            time(message.getEstimatedArrivalTime());
+            time(message.getEstimatedOnBlockTime());
+            time(message.getNextInformationTime());
+            text(message.getRemarks());
+            flightTime(message.getActualOffBlockAt());
+            flightTime(message.getActualTakeoffAt());
+            flightTime(message.getActualLandingAt());
+            flightTime(message.getActualInBlockAt());
+            flightTime(message.getEstimatedDepartureAt());
+            flightTime(message.getEstimatedOffBlockAt());
+            flightTime(message.getEstimatedArrivalAt());
+            flightTime(message.getEstimatedOnBlockAt());
+            flightTime(message.getNextInformationAt());
+
+            List<MvtDelay> delays = message.getDelays();
+            if (delays == null) {
+                blobs[slot] = null;
+                return;
+            }
+            Blob blob = new Blob(delays.size() * 3 + 1);
+            blob.add(delays.size());
+            for (MvtDelay delay : delays) {
+                blob.string(delay.code());
+                blob.add(delay.durationMinutes() == null ? 0 : 1);
+                blob.add(delay.durationMinutes() == null ? 0 : delay.durationMinutes());
+            }
+            blobs[slot] = blob.orElse(delays);
+        }
+
+        private MvtMessage readMvt() {
+            MvtMessage message = new MvtMessage();
+            readHeader(message);
+            message.setFlightDesignator(code());
+            message.setDepartureAirport(code());
+            message.setArrivalAirport(code());
+            message.setAirlineName(code());
+            message.setAirlineCountry(code());
+            message.setDepartureAirportName(code());
+            message.setDepartureTimezone(code());
+            message.setArrivalAirportName(code());
+            message.setArrivalTimezone(code());
+            message.setAircraftRegistration(code());
+            message.setAircraftType(code());
+            String movementType = code();
+            message.setMovementType(movementType == null ? null : MovementType.valueOf(movementType));
+            message.setDelayReason(code());
+            message.setDateOfFlight(date());
+            message.setActualOffBlockTime(time());
+            message.setActualTakeoffTime(time());
+            message.setActualLandingTime(time());
+            message.setActualInBlockTime(time());
+            message.setEstimatedDepartureTime(time());
+            message.setEstimatedOffBlockTime(time());
+            message.setEstimatedArrivalTime(time());
+            message.setEstimatedOnBlockTime(time());
+            message.setNextInformationTime(time());
+            message.setRemarks(text());
+            message.setActualOffBlockAt(flightTime());
+            message.setActualTakeoffAt(flightTime());
+            message.setActualLandingAt(flightTime());
+            message.setActualInBlockAt(flightTime());
+            message.setEstimatedDepartureAt(flightTime());
+            message.setEstimatedOffBlockAt(flightTime());
+            message.setEstimatedArrivalAt(flightTime());
+            message.setEstimatedOnBlockAt(flightTime());
+            message.setNextInformationAt(flightTime());
+
+            Object blob = blobs[slot];
+            if (blob instanceof int[] values) {
+                BlobReader reader = new BlobReader(values);
+                int count = reader.next();
+                List<MvtDelay> delays = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    String delayCode = reader.string();
+                    boolean timed = reader.next() == 1;
+                    int minutes = reader.next();
+                    delays.add(new MvtDelay(delayCode, timed ? minutes : null));
+                }
+                message.setDelays(delays);
+            } else {
+                message.setDelays(castList(blob));
+            }
+            return message;
+        }
+
+        private void writeLdm(LdmMessage message) {
+            writeHeader(message);
+            code(message.getFlightDesignator());
+            code(message.getDepartureAirport());
+            code(message.getArrivalAirport());
+            code(message.getAirlineName());
+            code(message.getAirlineCountry());
+            code(message.getDepartureAirportName());
+            code(message.getDepartureTimezone());
+            code(message.getArrivalAirportName());
+            code(message.getArrivalTimezone());
+            code(message.getAircraftRegistration());
+            code(message.getAircraftType());
+            code(message.getConfiguration());
+            code(message.getWeightIndex());
+            code(message.getNotocStatus());
+            code(message.getDaaStatus());
+            date(message.getDateOfFlight());
+            integer(message.getCockpitCrew());
+            integer(message.getCabinCrew());
+            integer(message.getPassengerCount());
+            integer(message.getPassengerCapacity());
+            integer(message.getAdultPassengers());
+            integer(message.getChildPassengers());
+            integer(message.getInfantPassengers());
+            integer(message.getBaggagePieces());
+            weight(message.getFreightWeight());
+            weight(message.getBaggageWeight());
+            weight(message.getMailWeight());
+            weight(message.getTotalWeight());
+            text(message.getSpecialInstructions());
+
+            List<LdmDestination> destinations = message.getDestinations();
+            Blob blob = new Blob(32);
+            blob.ints(message.getCompartmentWeights());
+            blob.add(destinations == null ? -1 : destinations.size());
+            if (destinations != null) {
+                for (LdmDestination destination : destinations) {
+                    blob.string(destination.getAirport());
+                    blob.ints(destination.getPassengers());
+                    blob.ints(destination.getClassPassengers());
+                    blob.ints(destination.getPadPassengers());
+                    blob.add(destination.getTotalWeight());
+                    blob.ints(destination.getCompartmentWeights());
+                    blob.add(destination.getFreightWeight());
+                    blob.add(destination.getMailWeight());
+                    blob.add(destination.getBaggageWeight());
+                    blob.add(destination.getTransitWeight());
+                    blob.add(destination.getBaggagePieces());
+                }
+            }
+            blobs[slot] = blob.complete ? blob.toArray() : new LdmNested(message.getCompartmentWeights(), destinations);
+        }
+
+        private LdmMessage readLdm() {
+            LdmMessage message = new LdmMessage();
+            readHeader(message);
+            message.setFlightDesignator(code());
+            message.setDepartureAirport(code());
+            message.setArrivalAirport(code());
+            message.setAirlineName(code());
+            message.setAirlineCountry(code());
+            message.setDepartureAirportName(code());
+            message.setDepartureTimezone(code());
+            message.setArrivalAirportName(code());
+            message.setArrivalTimezone(code());
+            message.setAircraftRegistration(code());
+            message.setAircraftType(code());
+            message.setConfiguration(code());
+            message.setWeightIndex(code());
+            message.setNotocStatus(code());
+            message.setDaaStatus(code());
+            message.setDateOfFlight(date());
+            message.setCockpitCrew(integer());
+            message.setCabinCrew(integer());
+            message.setPassengerCount(integer());
+            message.setPassengerCapacity(integer());
+            message.setAdultPassengers(integer());
+            message.setChildPassengers(integer());
+            message.setInfantPassengers(integer());
+            message.setBaggagePieces(integer());
+            message.setFreightWeight(weight());
+            message.setBaggageWeight(weight());
+            message.setMailWeight(weight());
+            message.setTotalWeight(weight());
+            message.setSpecialInstructions(text());
+
+            Object blob = blobs[slot];
+            if (blob instanceof LdmNested nested) {
+                message.setCompartmentWeights(nested.compartmentWeights());
+                message.setDestinations(nested.destinations());
+                return message;
+            }
+            BlobReader reader = new BlobReader((int[]) blob);
+            message.setCompartmentWeights(reader.ints());
+            int count = reader.next();
+            if (count < 0) {
+                message.setDestinations(null);
+                return message;
+            }
+            List<LdmDestination> destinations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                LdmDestination destination = new LdmDestination();
+                destination.setAirport(reader.string());
+                destination.setPassengers(reader.ints());
+                destination.setClassPassengers(reader.ints());
+                destination.setPadPassengers(reader.ints());
+                destination.setTotalWeight(reader.next());
+                destination.setCompartmentWeights(reader.ints());
+                destination.setFreightWeight(reader.next());
+                destination.setMailWeight(reader.next());
+                destination.setBaggageWeight(reader.next());
+                destination.setTransitWeight(reader.next());
+                destination.setBaggagePieces(reader.next());
+                destinations.add(destination);
+            }
+            message.setDestinations(destinations);
+            return message;
+        }
+
+        private void code(String value) {
+            codes[code++].write(dictionary, slot, value);
+        }
+
+        private String code() {
+            return codes[code++].read(dictionary, slot);
+        }
+
+        private void time(String value) {
+            times[time++].write(slot, value);
+        }
+
+        private String time() {
+            return times[time++].read(slot);
+        }
+
+        private void date(String value) {
+            dates[date++].write(slot, value);
+        }
+
+        private String date() {
+            return dates[date++].read(slot);
+        }
+
+        private void integer(int value) {
+            ints[integer++][slot] = value;
+        }
+
+        private int integer() {
+            return ints[integer++][slot];
+        }
+
+        private void number(String value) {
+            numbers[number++].write(slot, value);
+        }
+
+        private String number() {
+            return numbers[number++].read(slot);
+        }
+
+        private void weight(double value) {
+            numbers[number++].writeDouble(slot, value);
+        }
+
+        private double weight() {
+            return numbers[number++].readDouble(slot);
+        }
+
+        private void text(String value) {
+            texts[text++][slot] = value;
+        }
+
+        private String text() {
+            return texts[text++][slot];
+        }
+
+        private void flightTime(FlightTime value) {
+            flightTimes[flightTime++].write(slot, value);
+        }
+
+        private FlightTime flightTime() {
+            return flightTimes[flightTime++].read(slot);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> castList(Object blob) {
+        return (List<T>) blob;
+    }
+
+    // Unencodable LDM nested values, kept as they are
+    private record LdmNested(int[] compartmentWeights, List<LdmDestination> destinations) {
+    }
+
+    // Unencodable SSM lists, kept as they are
+    private record SsmNested(List<String> deIdentifiers, List<SsmLeg> legs) {
+    }
+
+    /**
+     * Flattened nested list under construction; strings become dictionary ids (-1 for null).
+     * Incomplete once the dictionary refuses a string, in which case the original is kept.
+     */
+    private final class Blob {
+        private int[] values;
+        private int size;
+        private boolean complete = true;
+
+        private Blob(int expected) {
+            values = new int[Math.max(expected, 4)];
+        }
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void string(String value) {
+            int id = value == null ? -1 : dictionary.encode(value);
+            if (value != null && id == StringDictionary.ABSENT) {
+                complete = false;
+            }
+            add(id);
+        }
+
+        // Length-prefixed; -1 for null
+        private void ints(int[] array) {
+            if (array == null) {
+                add(-1);
+                return;
+            }
+            add(array.length);
+            for (int value : array) add(value);
+        }
+
+        private int[] toArray() {
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+
+        private Object orElse(Object original) {
+            return complete ? toArray() : original;
+        }
+    }
+
+    private final class BlobReader {
+        private final int[] values;
+        private int position;
+
+        private BlobReader(int[] values) {
+            this.values = values;
+        }
+
+        private int next() {
+            return values[position++];
+        }
+
+        private String string() {
+            int id = next();
+            return id < 0 ? null : dictionary.decode(id);
+        }
+
+        private int[] ints() {
+            int length = next();
+            if (length < 0) {
+                return null;
+            }
+            int[] array = Arrays.copyOfRange(values, position, position + length);
+            position += length;
+            return array;
+        }
+    }
+
+    /**
+     * Values that do not fit a column's packed form, allocated on first use.
+     */
+    private abstract static class OverflowColumn {
+        private final int capacity;
+        private String[] overflow;
+
+        OverflowColumn(int capacity) {
+            this.capacity = capacity;
+        }
+
+        final void keep(int slot, String value) {
+            if (overflow == null) {
+                overflow = new String[capacity];
+            }
+            overflow[slot] = value;
+        }
+
+        final void release(int slot) {
+            if (overflow != null) {
+                overflow[slot] = null;
+            }
+        }
+
+        final String overflow(int slot) {
+            return overflow[slot];
+        }
+    }
+
+    private static final class CodeColumn extends OverflowColumn {
+        private static final int NULL = -1;
+        private static final int OVERFLOW = -2;
+        private final int[] ids;
+
+        CodeColumn(int capacity) {
+            super(capacity);
+            this.ids = new int[capacity];
+        }
+
+        void write(StringDictionary dictionary, int slot, String value) {
+            release(slot);
+            if (value == null) {
+                ids[slot] = NULL;
+                return;
+            }
+            int id = dictionary.encode(value);
+            if (id == StringDictionary.ABSENT) {
+                keep(slot, value);
+                id = OVERFLOW;
+            }
+            ids[slot] = id;
+        }
+
+        String read(StringDictionary dictionary, int slot) {
+            int id = ids[slot];
+            return id == NULL ? null : id == OVERFLOW ? overflow(slot) : dictionary.decode(id);
+        }
+    }
+
+    /**
+     * HHMM times as the short 0..9999; other forms (e.g. DDHHMM) overflow.
+     */
+    private static final class TimeColumn extends OverflowColumn {
+        private static final short NULL = -1;
+        private static final short OVERFLOW = -2;
+        // Decoded times are shared, like the pooled strings the parsers produce
+        private static final String[] DECODED = new String[10_000];
+        private final short[] values;
+
+        TimeColumn(int capacity) {
+            super(capacity);
+            this.values = new short[capacity];
+        }
+
+        void write(int slot, String value) {
+            release(slot);
+            if (value == null) {
+                values[slot] = NULL;
+            } else if (value.length() == 4 && digits(value, 0, 4)) {
+                values[slot] = (short) Integer.parseInt(value);
+            } else {
+                keep(slot, value);
+                values[slot] = OVERFLOW;
+            }
+        }
+
+        String read(int slot) {
+            short value = values[slot];
+            if (value == NULL) {
+                return null;
+            }
+            if (value == OVERFLOW) {
+                return overflow(slot);
+            }
+            String decoded = DECODED[value];
+            if (decoded == null) {
+                decoded = new String(new char[]{
+                        (char) ('0' + value / 1000), (char) ('0' + value / 100 % 10),
+                        (char) ('0' + value / 10 % 10), (char) ('0' + value % 10)});
+                DECODED[value] = decoded;
+            }
+            return decoded;
+        }
+    }
+
+    /**
+     * Dates as {@code format << 24 | day << 16 | month << 8 | year} for the DD, DDMMM and DDMMMYY
+     * forms the parsers produce; other forms overflow.
+     */
+    private static final class DateColumn extends OverflowColumn {
+        private static final int NULL = -1;
+        private static final int OVERFLOW = -2;
+        private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN",
+                "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+        private final int[] values;
+
+        DateColumn(int capacity) {
+            super(capacity);
+            this.values = new int[capacity];
+        }
+
+        void write(int slot, String value) {
+            release(slot);
+            int packed = value == null ? NULL : pack(value);
+            if (packed == OVERFLOW) {
+                keep(slot, value);
+            }
+            values[slot] = packed;
+        }
+
+        String read(int slot) {
+            int packed = values[slot];
+            if (packed == NULL) {
+                return null;
+            }
+            if (packed == OVERFLOW) {
+                return overflow(slot);
+            }
+            int format = packed >>> 24;
+            int day = packed >>> 16 & 0xFF;
+            StringBuilder date = new StringBuilder(7).append((char) ('0' + day / 10)).append((char) ('0' + day % 10));
+            if (format >= 2) {
+                date.append(MONTHS[packed >>> 8 & 0xFF]);
+            }
+            if (format == 3) {
+                int year = packed & 0xFF;
+                date.append((char) ('0' + year / 10)).append((char) ('0' + year % 10));
+            }
+            return date.toString();
+        }
+
+        private static int pack(String value) {
+            int length = value.length();
+            if ((length != 2 && length != 5 && length != 7) || !digits(value, 0, 2)) {
+                return OVERFLOW;
+            }
+            int day = (value.charAt(0) - '0') * 10 + value.charAt(1) - '0';
+            if (length == 2) {
+                return 1 << 24 | day << 16;
+            }
+            int month = month(value);
+            if (month < 0) {
+                return OVERFLOW;
+            }
+            if (length == 5) {
+                return 2 << 24 | day << 16 | month << 8;
+            }
+            if (!digits(value, 5, 7)) {
+                return OVERFLOW;
+            }
+            int year = (value.charAt(5) - '0') * 10 + value.charAt(6) - '0';
+            return 3 << 24 | day << 16 | month << 8 | year;
+        }
+
+        private static int month(String value) {
+            for (int i = 0; i < MONTHS.length; i++) {
+                if (value.startsWith(MONTHS[i], 2)) return i;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Normalized times as minutes since the epoch and the local offset in minutes; times or
+     * offsets off the whole minute overflow as {@code "<instant> <offset>"}.
+     */
+    private static final class FlightTimeColumn extends OverflowColumn {
+        private static final int NULL = Integer.MIN_VALUE;
+        private static final int OVERFLOW = Integer.MIN_VALUE + 1;
+        private static final short NO_OFFSET = Short.MIN_VALUE;
+        private final int[] minutes;
+        private final short[] offsets;
+
+        FlightTimeColumn(int capacity) {
+            super(capacity);
+            this.minutes = new int[capacity];
+            this.offsets = new short[capacity];
+        }
+
+        void write(int slot, FlightTime value) {
+            release(slot);
+            if (value == null) {
+                minutes[slot] = NULL;
+                return;
+            }
+            long seconds = value.utc().getEpochSecond();
+            ZoneOffset offset = value.offset();
+            if (value.utc().getNano() == 0 && seconds % 60 == 0 && seconds / 60 > OVERFLOW && seconds / 60 <= Integer.MAX_VALUE
+                    && (offset == null || offset.getTotalSeconds() % 60 == 0)) {
+                minutes[slot] = (int) (seconds / 60);
+                offsets[slot] = offset == null ? NO_OFFSET : (short) (offset.getTotalSeconds() / 60);
+            } else {
+                keep(slot, value.utc() + " " + (offset == null ? "" : offset.getId()));
+                minutes[slot] = OVERFLOW;
+            }
+        }
+
+        FlightTime read(int slot) {
+            int value = minutes[slot];
+            if (value == NULL) {
+                return null;
+            }
+            if (value == OVERFLOW) {
+                String kept = overflow(slot);
+                int space = kept.indexOf(' ');
+                String offset = kept.substring(space + 1);
+                return new FlightTime(Instant.parse(kept.substring(0, space)), offset.isEmpty() ? null : ZoneOffset.of(offset));
+            }
+            short offset = offsets[slot];
+            return new FlightTime(Instant.ofEpochSecond(value * 60L),
+                    offset == NO_OFFSET ? null : ZoneOffset.ofTotalSeconds(offset * 60));
+        }
+    }
+
+    /**
+     * Plain decimal strings (message ids) and whole weights as ints; anything else overflows.
+     */
+    private static final class NumberColumn extends OverflowColumn {
+        private static final int NULL = Integer.MIN_VALUE;
+        private static final int OVERFLOW = Integer.MIN_VALUE + 1;
+        private final int[] values;
+
+        NumberColumn(int capacity) {
+            super(capacity);
+            this.values = new int[capacity];
+        }
+
+        void write(int slot, String value) {
+            release(slot);
+            if (value == null) {
+                values[slot] = NULL;
+                return;
+            }
+            int parsed = canonicalInt(value);
+            if (parsed == OVERFLOW) {
+                keep(slot, value);
+            }
+            values[slot] = parsed;
+        }
+
+        String read(int slot) {
+            int value = values[slot];
+            return value == NULL ? null : value == OVERFLOW ? overflow(slot) : Integer.toString(value);
+        }
+
+        void writeDouble(int slot, double value) {
+            release(slot);
+            int whole = (int) value;
+            // -0.0 and values colliding with the markers keep their exact text
+            if (whole == value && whole > OVERFLOW && Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0.0)) {
+                values[slot] = whole;
+            } else {
+                keep(slot, Double.toString(value));
+                values[slot] = OVERFLOW;
+            }
+        }
+
+        double readDouble(int slot) {
+            int value = values[slot];
+            return value == OVERFLOW ? Double.parseDouble(overflow(slot)) : value;
+        }
+
+        // The int whose decimal form is exactly value, or OVERFLOW
+        private static int canonicalInt(String value) {
+            int length = value.length();
+            if (length == 0 || length > 9 || !digits(value, 0, length) || (length > 1 && value.charAt(0) == '0')) {
+                return OVERFLOW;
+            }
+            return Integer.parseInt(value);
+        }
+    }
+
+    private static boolean digits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ram.nuitparser.service.store;
+
+import com.ram.nuitparser.service.StoredTelex;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps every {@link StoredTelex} as stored: fastest reads, but each entry retains the full
+ * message object graph and its raw body.
+ */
+public final class ObjectTelexStore implements TelexStore {
+
+    private final AtomicReferenceArray<StoredTelex> slots;
+
+    public ObjectTelexStore(int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void put(int slot, StoredTelex entry) {
+        slots.set(slot, entry);
+    }
+
+    @Override
+    public StoredTelex get(int slot, long sequence) {
+        StoredTelex entry = slots.get(slot);
+        return entry != null && entry.sequence() == sequence ? entry : null;
+    }
+
+    @Override
+    public Instant ingestedAt(int slot, long sequence) {
+        StoredTelex entry = get(slot, sequence);
+        return entry == null ? null : entry.ingestedAt();
+    }
+
+    @Override
+    public void clear(int slot, long sequence) {
+        StoredTelex entry = get(slot, sequence);
+        if (entry != null) {
+            slots.compareAndSet(slot, entry, null);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ram.nuitparser.service.store;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append-only dictionary mapping strings to dense int ids. Encoding is done by the single store
+ * writer; decoding is lock-free and safe for any id a reader obtained through the store's
+ * published sequence. Beyond {@code limit} values new strings are no longer encoded.
+ */
+final class StringDictionary {
+
+    static final int ABSENT = -1;
+
+    private final int limit;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private volatile String[] values = new String[256];
+    private int size;
+
+    StringDictionary(int limit) {
+        this.limit = limit;
+    }
+
+    // Writer only; ABSENT once the dictionary is full
+    int encode(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        if (size >= limit) {
+            return ABSENT;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[size] = value;
+        values = current;
+        ids.put(value, size);
+        return size++;
+    }
+
+    String decode(int id) {
+        return values[id];
+    }
+
+    int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ram.nuitparser.service.store;
+
+import com.ram.nuitparser.service.StoredTelex;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Slot storage behind {@code ParsedTelexHolder}'s ring buffer. The holder owns sequencing,
+ * eviction and the indexes; a store only keeps the entry written to each slot. Writes come from
+ * a single thread at a time (the holder's write lock), reads are lock-free and return null for
+ * a slot that no longer holds the requested sequence, including one overwritten mid-read.
+ */
+public interface TelexStore {
+
+    void put(int slot, StoredTelex entry);
+
+    StoredTelex get(int slot, long sequence);
+
+    /**
+     * Ingest time of the entry, without materializing its message.
+     */
+    Instant ingestedAt(int slot, long sequence);
+
+    void clear(int slot, long sequence);
+
+    /**
+     * Builds the store selected by {@code telex.holder.store}: {@code object} keeps the parsed
+     * messages as they are, {@code columnar} encodes them into compact arrays.
+     */
+    static TelexStore create(String kind, int capacity) {
+        return switch (kind == null ? "object" : kind.trim().toLowerCase(Locale.ROOT)) {
+            case "object" -> new ObjectTelexStore(capacity);
+            case "columnar" -> new ColumnarTelexStore(capacity);
+            default -> throw new IllegalArgumentException("Unknown telex.holder.store: " + kind);
+        };
+    }
+}
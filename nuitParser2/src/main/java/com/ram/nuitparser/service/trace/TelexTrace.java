@@ -0,0 +1,46 @@
+package com.ram.nuitparser.service.trace;
+
+/**
+ * Stage timings for one telex going through the pipeline. Each {@link #mark(Stage)} closes the
+ * stage that started at the previous mark. Unsampled telexes get {@link #NOOP}, whose marks
+ * do nothing, so the hot path only pays for timing when the trace will actually be emitted.
+ */
+public class TelexTrace {
+
+    public enum Stage { SCAN, PARSE, ENRICH, NORMALIZE, STORE }
+
+    public enum Outcome { STORED, NO_BODY, UNROUTED, FAILED }
+
+    static final TelexTrace NOOP = new TelexTrace(0L) {
+        @Override
+        public void mark(Stage stage) {
+        }
+    };
+
+    private final long startNanos;
+    private final long[] stageNanos = new long[Stage.values().length];
+    private long lastMarkNanos;
+
+    TelexTrace(long startNanos) {
+        this.startNanos = startNanos;
+        this.lastMarkNanos = startNanos;
+    }
+
+    public void mark(Stage stage) {
+        long now = System.nanoTime();
+        stageNanos[stage.ordinal()] = now - lastMarkNanos;
+        lastMarkNanos = now;
+    }
+
+    public boolean isSampled() {
+        return this != NOOP;
+    }
+
+    long stageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    long totalNanos() {
+        return lastMarkNanos - startNanos;
+    }
+}
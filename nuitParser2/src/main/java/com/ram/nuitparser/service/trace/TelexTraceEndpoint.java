@@ -0,0 +1,46 @@
+package com.ram.nuitparser.service.trace;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/telextrace}: GET shows the trace settings, POST with {@code enabled} and/or
+ * {@code sampleRate} changes them without a restart.
+ */
+@Component
+@Endpoint(id = "telextrace")
+public class TelexTraceEndpoint {
+
+    private final TelexTraceRecorder recorder;
+
+    public TelexTraceEndpoint(TelexTraceRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public TraceSettings settings() {
+        return new TraceSettings(recorder.isEnabled(), recorder.getSampleRate(), recorder.getEmittedCount());
+    }
+
+    @WriteOperation
+    public TraceSettings configure(@Nullable Boolean enabled, @Nullable Double sampleRate) {
+        if (sampleRate != null) {
+            try {
+                recorder.setSampleRate(sampleRate);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+            }
+        }
+        if (enabled != null) {
+            recorder.setEnabled(enabled);
+        }
+        return settings();
+    }
+
+    public record TraceSettings(boolean enabled, double sampleRate, long emitted) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.ram.nuitparser.service.trace;
+
+import com.ram.nuitparser.enums.TelexType;
+import com.ram.nuitparser.model.telex.TelexMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Emits one structured line per sampled telex on the {@code com.ram.nuitparser.trace} logger,
+ * replacing the per-stage INFO/DEBUG lines the parsers used to write. Sampling can be changed
+ * at runtime through the {@code telextrace} actuator endpoint.
+ */
+@Component
+public class TelexTraceRecorder {
+    private static final Logger traceLogger = LoggerFactory.getLogger("com.ram.nuitparser.trace");
+
+    private volatile boolean enabled;
+    private volatile double sampleRate;
+    private final LongAdder emitted = new LongAdder();
+
+    public TelexTraceRecorder(
+            @Value("${telex.trace.enabled:true}") boolean enabled,
+            @Value("${telex.trace.sample-rate:0.01}") double sampleRate
+    ) {
+        this.enabled = enabled;
+        setSampleRate(sampleRate);
+    }
+
+    /**
+     * Starts a trace for the next telex, or returns a no-op trace when this telex is not sampled.
+     */
+    public TelexTrace begin() {
+        if (!enabled || !traceLogger.isInfoEnabled()) {
+            return TelexTrace.NOOP;
+        }
+        double rate = sampleRate;
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return TelexTrace.NOOP;
+        }
+        return new TelexTrace(System.nanoTime());
+    }
+
+    /**
+     * Emits the trace of a sampled telex; {@code messages} are the messages parsed from it,
+     * the first one identifies the telex in the log line.
+     */
+    public void finish(TelexTrace trace, TelexTrace.Outcome outcome, TelexType type,
+                       List<? extends TelexMessage> messages) {
+        if (!trace.isSampled()) {
+            return;
+        }
+        emitted.increment();
+        TelexMessage first = messages.isEmpty() ? null : messages.get(0);
+        traceLogger.info("telex type={} flight={} msgId={} messages={} outcome={} scanUs={} parseUs={} enrichUs={} normalizeUs={} storeUs={} totalUs={}",
+                type,
+                first != null ? first.getFlightDesignator() : null,
+                first != null ? first.getMsgId() : null,
+                messages.size(),
+                outcome,
+                micros(trace.stageNanos(TelexTrace.Stage.SCAN)),
+                micros(trace.stageNanos(TelexTrace.Stage.PARSE)),
+                micros(trace.stageNanos(TelexTrace.Stage.ENRICH)),
+                micros(trace.stageNanos(TelexTrace.Stage.NORMALIZE)),
+                micros(trace.stageNanos(TelexTrace.Stage.STORE)),
+                micros(trace.totalNanos()));
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        if (!(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+            throw new IllegalArgumentException("Trace sample rate must be between 0 and 1, got " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public long getEmittedCount() {
+        return emitted.sum();
+    }
+}
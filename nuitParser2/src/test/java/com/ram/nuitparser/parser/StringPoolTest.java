@@ -0,0 +1,55 @@
+package com.ram.nuitparser.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringPoolTest {
+
+    @Test
+    void testEqualRangesShareOneInstance() {
+        StringPool pool = new StringPool(64);
+
+        String first = pool.intern("AD1015 CMN", 7, 10);
+        String second = pool.intern("ORY1810 CMN2115", 8, 11);
+
+        assertEquals("CMN", first);
+        assertSame(first, second);
+        assertSame(first, pool.intern(new String("CMN"), 0, 3));
+    }
+
+    @Test
+    void testLongValuesAndDisabledPoolAreCopied() {
+        String free = "SI PASSENGER MEDICAL EMERGENCY ON BOARD";
+        StringPool pool = new StringPool(64);
+        assertNotSame(pool.intern(free, 3, free.length()), pool.intern(free, 3, free.length()));
+
+        StringPool disabled = new StringPool(0);
+        assertEquals("CMN", disabled.intern("CMN", 0, 3));
+        assertNotSame(disabled.intern("XCMN", 1, 4), disabled.intern("XCMN", 1, 4));
+    }
+
+    @Test
+    void testFullProbeSequenceOverwritesInsteadOfGrowing() {
+        StringPool pool = new StringPool(4);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(String.valueOf(i), pool.intern(String.valueOf(i), 0, String.valueOf(i).length()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new StringPool(-1));
+    }
+
+    @Test
+    void testSharedPoolIsResizedFromConfiguration() {
+        try {
+            new StringPoolConfigurer(0);
+            assertEquals(0, StringPool.sharedCapacity());
+            assertNotSame(StringPool.pooled("XCMN", 1, 4), StringPool.pooled("XCMN", 1, 4));
+
+            new StringPoolConfigurer(64);
+            assertEquals(64, StringPool.sharedCapacity());
+            assertSame(StringPool.pooled("XCMN", 1, 4), StringPool.pooled("XCMN", 1, 4));
+        } finally {
+            StringPool.configureShared(StringPool.DEFAULT_SIZE);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ram.nuitparser.parser;
+
+import com.ram.nuitparser.enums.TelexType;
+import com.ram.nuitparser.model.telex.TelexMessage;
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import com.ram.nuitparser.parser.asm.ASMParser;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
+import com.ram.nuitparser.parser.ldm.LDMParser;
+import com.ram.nuitparser.parser.mvt.MVTParser;
+import com.ram.nuitparser.parser.ssm.SSMParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TelexRouterTest {
+
+    private final TelexRouter router = new TelexRouter(
+            List.of(new ASMParser(), new MVTParser(), new SSMParser(), new LDMParser()));
+
+    @Test
+    void testDispatchesOnDeclaredTypes() {
+        TelexEnvelope envelope = new TelexEnvelope(Map.of(), TelexLines.of("DIV\nAT205/12.CNROC.CMN"), List.of());
+
+        assertInstanceOf(MvtMessage.class, router.route(envelope, TelexType.DIV));
+        assertInstanceOf(MvtMessage.class, router.route(envelope, TelexType.MVT));
+        assertNull(router.route(envelope, TelexType.CPM));
+        assertTrue(router.routeAll(envelope, TelexType.UNKNOWN).isEmpty());
+    }
+
+    @Test
+    void testTypeClaimedByTwoParsersFailsStartup() {
+        List<TelexParser<? extends TelexMessage>> parsers = List.of(new MVTParser(), new MVTParser());
+
+        assertThrows(IllegalStateException.class, () -> new TelexRouter(parsers));
+    }
+}
@@ -1,4 +1,127 @@
 package com.ram.nuitparser.parser.asm;
 
+import com.ram.nuitparser.model.telex.asm.AsmMessage;
+import com.ram.nuitparser.parser.TelexLines;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 public class ASMParserTest {
+
+    private static final String SAMPLE = "ASM\n"
+            + "UTC\n"
+            + "11AUG14140E001/P42082/01584/FARIS\n"
+            + "RPL\n"
+            + "AT763/05SEP25\n"
+            + "J 73H .J12Y147 CNRNZ 4/AT 5/AT\n"
+            + "ORY1810 CMN2115";
+
+    private ASMParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new ASMParser();
+    }
+
+    @Test
+    void testParseASMMessage() {
+        TelexEnvelope envelope = new TelexEnvelope(
+                Map.of("PRIORITY", "QD", "ORIGIN", "CASPCAT", "MSGID", "111342"),
+                TelexLines.of(SAMPLE),
+                List.of("CASPCAT", "QLHQMAT"));
+
+        AsmMessage message = parser.parse(envelope);
+
+        assertEquals("QD", message.getPriority());
+        assertEquals("CASPCAT,QLHQMAT", message.getDestination());
+        assertEquals("111342", message.getMsgId());
+
+        assertEquals("RPL", message.getAction());
+        assertEquals("AT763", message.getFlightDesignator());
+        assertEquals("763", message.getFlightNumber());
+        assertEquals("", message.getFlightSuffix());
+        assertEquals("05SEP", message.getFlightDate());
+        assertEquals("73H", message.getAircraftType());
+        assertEquals("J12Y147", message.getEquipmentVersion());
+        assertEquals(List.of("4/AT", "5/AT"), message.getDeIdentifiers());
+        assertEquals("ORY", message.getDepartureAirport());
+        assertEquals("1810", message.getDepartureTime());
+        assertEquals("CMN", message.getArrivalAirport());
+        assertEquals("2115", message.getArrivalTime());
+    }
+
+    /**
+     * The tokenizer and the pattern based extraction must agree on the SSIM fields. Aircraft type
+     * and the days/period/crew/meal heuristics are left out: the patterns do not recognise codes
+     * such as 73H and pick those heuristics up from unrelated words.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            SAMPLE,
+            "ASM\nUTC\nNEW\nAT201/12OCT25\nJ 738 .C12Y150 4/AT\nCMN0800 CDG1130",
+            "ASM\nTIM\nAT763/05SEP25\nORY1830 CMN2135",
+            "ASM\nLT\nCNL\nAT202/13OCT",
+            "ASM\nEQT\nAT1402A/07NOV25\nJ 788 .C18Y256 CNRGA 6/AT\nCMN2330 JFK0345/1 7/BD"
+    })
+    void tokenizerMatchesPatternExtraction(String body) {
+        TelexLines lines = TelexLines.of(body);
+
+        AsmMessage tokenized = new AsmMessage();
+        assertTrue(AsmTokenizer.tokenize(lines, tokenized), "tokenizer should accept " + body);
+        AsmMessage matched = new AsmMessage();
+        parser.parseWithPatterns(lines, matched);
+
+        assertEquals(matched.getAction(), tokenized.getAction());
+        assertEquals(matched.getFlightDesignator(), tokenized.getFlightDesignator());
+        assertEquals(matched.getFlightNumber(), tokenized.getFlightNumber());
+        assertEquals(matched.getFlightSuffix(), tokenized.getFlightSuffix());
+        assertEquals(matched.getFlightDate(), tokenized.getFlightDate());
+        assertEquals(matched.getEquipmentVersion(), tokenized.getEquipmentVersion());
+        assertEquals(matched.getDeIdentifiers(), tokenized.getDeIdentifiers());
+        assertEquals(matched.getDepartureAirport(), tokenized.getDepartureAirport());
+        assertEquals(matched.getDepartureTime(), tokenized.getDepartureTime());
+        assertEquals(matched.getArrivalAirport(), tokenized.getArrivalAirport());
+        assertEquals(matched.getArrivalTime(), tokenized.getArrivalTime());
+    }
+
+    @Test
+    void fallsBackToPatternsWhenLayoutIsNotSsim() {
+        // Flight and action on one line: not SSIM layout, but the patterns still find them
+        TelexEnvelope envelope = new TelexEnvelope(Map.of(),
+                TelexLines.of("ASM RPL AT763/05SEP ORY1810 CMN2115"), List.of());
+
+        AsmMessage message = parser.parse(envelope);
+
+        assertEquals("RPL", message.getAction());
+        assertEquals("AT763", message.getFlightDesignator());
+        assertEquals("ORY", message.getDepartureAirport());
+        assertEquals("CMN", message.getArrivalAirport());
+    }
+
+    @Test
+    void testParseEachSplitsFlightBlocks() {
+        String body = "ASM\nUTC\n11AUG14140E001/P42082\nRPL\n"
+                + "AT763/05SEP25\nJ 73H .J12Y147\nORY1810 CMN2115\n"
+                + "//\n"
+                + "AT765/06SEP25\nJ 73H .J12Y147\nORY1910 CMN2215\n"
+                + "//\n"
+                + "CNL\n"
+                + "AT767/07SEP25";
+        TelexEnvelope envelope = new TelexEnvelope(Map.of(), TelexLines.of(body), List.of());
+
+        List<AsmMessage> messages = parser.parseAll(envelope);
+
+        assertEquals(List.of("AT763", "AT765", "AT767"),
+                messages.stream().map(AsmMessage::getFlightDesignator).toList());
+        assertEquals(List.of("RPL", "RPL", "CNL"), messages.stream().map(AsmMessage::getAction).toList());
+        assertEquals("1910", messages.get(1).getDepartureTime());
+        assertNull(messages.get(2).getDepartureAirport());
+    }
 }
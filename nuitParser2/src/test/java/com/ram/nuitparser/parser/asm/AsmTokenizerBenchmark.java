@@ -0,0 +1,55 @@
+package com.ram.nuitparser.parser.asm;
+
+import com.ram.nuitparser.model.telex.asm.AsmMessage;
+import com.ram.nuitparser.parser.TelexLines;
+import com.ram.nuitparser.parser.envelope.EnvelopeScanner;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-pass ASM tokenizer against the per-line regex cascade it replaced, on the body of
+ * telex_files/ASM Message.txt. Run from the module directory via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsmTokenizerBenchmark {
+
+    private final ASMParser parser = new ASMParser();
+    private TelexLines body;
+
+    @Setup
+    public void setUp() throws IOException {
+        body = EnvelopeScanner.scan(Files.readString(Path.of("telex_files", "ASM Message.txt"))).body();
+    }
+
+    @Benchmark
+    public AsmMessage tokenizer() {
+        AsmMessage message = new AsmMessage();
+        AsmTokenizer.tokenize(body, message);
+        return message;
+    }
+
+    @Benchmark
+    public AsmMessage regexCascade() {
+        AsmMessage message = new AsmMessage();
+        parser.parseWithPatterns(body, message);
+        return message;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AsmTokenizerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,70 @@
+package com.ram.nuitparser.parser.envelope;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Receiver extraction for a 12-receiver DESTINATION block (as in telex_files/LDM Message.txt):
+ * the per-telex regex it replaced, the scan alone and the scan behind the cache, each followed
+ * by the comma-joined destination string. Run via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DestinationAddressParserBenchmark {
+
+    private static final String BLOCK = "TYPE B STX,GVAKMXH STX,GVAKLXH STX,GVAKRXH STX,CASWBAT STX,CMNOWAT"
+            + " STX,CASMLAT STX,CMNOPXH STX,CMNAPXH STX,CHACSAT STX,CMNOSXH STX,CMNODXH STX,CMNOVXH";
+
+    private final DestinationAddressParser cached = new DestinationAddressParser(1024);
+    private final DestinationAddressParser uncached = new DestinationAddressParser(0);
+    private String block;
+
+    @Setup(Level.Invocation)
+    public void copyBlock() {
+        // Each telex carries its own copy of the header value
+        block = new String(BLOCK);
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole bh) {
+        String cleaned = block.replaceAll("(?i)TYPE B", "").trim();
+        Matcher matcher = Pattern.compile("STX,([A-Z0-9]+)").matcher(cleaned);
+        List<String> receivers = new ArrayList<>();
+        while (matcher.find()) {
+            String id = matcher.group(1).trim();
+            if (!id.isEmpty()) {
+                receivers.add(id);
+            }
+        }
+        bh.consume(String.join(",", List.copyOf(receivers)));
+    }
+
+    @Benchmark
+    public void scan(Blackhole bh) {
+        bh.consume(uncached.parse(block).joined());
+    }
+
+    @Benchmark
+    public void cachedScan(Blackhole bh) {
+        bh.consume(cached.parse(block).joined());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DestinationAddressParserBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,50 @@
+package com.ram.nuitparser.parser.envelope;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DestinationAddressParserTest {
+
+    @Test
+    void testReceiverIdsAreExtractedFromStxEntries() {
+        DestinationAddressParser parser = new DestinationAddressParser(16);
+
+        ReceiverList receivers = parser.parse("TYPE B STX,GVAKMXH STX,CASWBAT STX,CMNOWAT");
+
+        assertEquals(List.of("GVAKMXH", "CASWBAT", "CMNOWAT"), receivers);
+        assertEquals("GVAKMXH,CASWBAT,CMNOWAT", receivers.joined());
+        assertTrue(parser.parse("type b").isEmpty());
+        assertTrue(parser.parse(null).isEmpty());
+        assertEquals(List.of("QLHQMAT"), parser.parse("STX, STX,QLHQMAT"));
+    }
+
+    @Test
+    void testRepeatedBlocksShareOneCachedList() {
+        DestinationAddressParser parser = new DestinationAddressParser(2);
+        String block = "TYPE B STX,CASPCAT STX,QLHQMAT";
+
+        ReceiverList first = parser.parse(block);
+        assertSame(first, parser.parse(new String(block)));
+        assertEquals(1, parser.getCacheHits());
+        assertEquals(1, parser.getCacheMisses());
+
+        // Least recently used list is evicted beyond the cache size
+        parser.parse("TYPE B STX,AAAAAAA");
+        parser.parse("TYPE B STX,BBBBBBB");
+        assertNotSame(first, parser.parse(block));
+        assertEquals(first, parser.parse(block));
+    }
+
+    @Test
+    void testEnvelopeExposesJoinedReceivers() {
+        ReceiverList receivers = new DestinationAddressParser(0).parse("STX,CASPCAT STX,QLHQMAT");
+        TelexEnvelope envelope = new TelexEnvelope(Map.of(), null, receivers);
+
+        assertSame(receivers, envelope.receivers());
+        assertEquals("CASPCAT,QLHQMAT", envelope.destination());
+    }
+}
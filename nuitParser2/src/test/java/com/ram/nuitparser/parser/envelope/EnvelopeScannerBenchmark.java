@@ -0,0 +1,117 @@
+package com.ram.nuitparser.parser.envelope;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Single-pass envelope scan against the split-based extraction it replaced
+ * (headers split, body split, lines() and the per-parser split). Uses the sample
+ * envelopes in telex_files/, run from the module directory via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnvelopeScannerBenchmark {
+
+    private List<String> envelopes;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of("telex_files"))) {
+            envelopes = new ArrayList<>();
+            for (Path file : files.sorted().toList()) {
+                envelopes.add(Files.readString(file));
+            }
+        }
+    }
+
+    @Benchmark
+    public void singlePassScan(Blackhole bh) {
+        for (String content : envelopes) {
+            ScannedEnvelope envelope = EnvelopeScanner.scan(content);
+            bh.consume(envelope.headers());
+            for (int i = 0; i < envelope.body().size(); i++) {
+                bh.consume(envelope.body().line(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public void legacySplit(Blackhole bh) {
+        for (String content : envelopes) {
+            bh.consume(legacyHeaders(content));
+            String body = legacyBody(content);
+            bh.consume(body.lines().filter(line -> !line.trim().isEmpty()).toList());
+            for (String line : body.split("\\n")) {
+                bh.consume(line.trim());
+            }
+        }
+    }
+
+    private static Map<String, String> legacyHeaders(String content) {
+        Map<String, String> headers = new HashMap<>();
+        String currentHeader = null;
+        StringBuilder currentValue = new StringBuilder();
+        for (String line : content.split("\\r?\\n")) {
+            if (line.startsWith("=")) {
+                if (currentHeader != null) {
+                    headers.put(currentHeader, currentValue.toString().trim());
+                }
+                String headerLine = line.substring(1);
+                int spaceIndex = headerLine.indexOf(' ');
+                if (spaceIndex > 0) {
+                    currentHeader = headerLine.substring(0, spaceIndex).trim();
+                    currentValue = new StringBuilder(headerLine.substring(spaceIndex + 1).trim());
+                } else {
+                    currentHeader = headerLine.trim();
+                    currentValue = new StringBuilder();
+                }
+            } else if (currentHeader != null) {
+                if (!currentValue.isEmpty()) currentValue.append(" ");
+                currentValue.append(line.trim());
+            }
+        }
+        if (currentHeader != null) {
+            headers.put(currentHeader, currentValue.toString().trim());
+        }
+        return headers;
+    }
+
+    private static String legacyBody(String content) {
+        StringBuilder telexBody = new StringBuilder();
+        boolean inTextSection = false;
+        for (String line : content.split("\\r?\\n")) {
+            if (line.startsWith("=TEXT")) {
+                inTextSection = true;
+                continue;
+            }
+            if (inTextSection) {
+                if (line.startsWith("=")) break;
+                telexBody.append(line).append("\n");
+            }
+        }
+        return telexBody.toString().trim();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EnvelopeScannerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
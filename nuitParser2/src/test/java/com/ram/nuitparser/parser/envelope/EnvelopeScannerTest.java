@@ -0,0 +1,96 @@
+package com.ram.nuitparser.parser.envelope;
+
+import com.ram.nuitparser.parser.TelexLines;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvelopeScannerTest {
+
+    private static final String LDM_FILE = String.join("\n",
+            "=HEADER",
+            "RCV,2025/08/17 11:32",
+            "=PRIORITY",
+            "QU",
+            "=DESTINATION TYPE B",
+            "STX,GVAKMXH",
+            "STX,CASWBAT",
+            "=ORIGIN",
+            "MUCKMXH",
+            "=DBLSIG",
+            "AT",
+            "=MSGID",
+            "171120",
+            "=SMI",
+            "LDM",
+            "=TEXT",
+            "",
+            "AT933/17.CNRGV.J12Y147.2/4",
+            "-CMN.15/25/2/0.0.T898.2/203.3/550.4/145.PAX/7/35.PAD/0/0",
+            "",
+            "CMN    FRE       0    POS       0    BAG     898    TRA       0  ",
+            "NOTOC: NO",
+            "",
+            "");
+
+    @Test
+    void testHeadersAreExtracted() {
+        ScannedEnvelope envelope = EnvelopeScanner.scan(LDM_FILE);
+
+        assertEquals("RCV,2025/08/17 11:32", envelope.headers().get("HEADER"));
+        assertEquals("QU", envelope.headers().get("PRIORITY"));
+        assertEquals("TYPE B STX,GVAKMXH STX,CASWBAT", envelope.headers().get("DESTINATION"));
+        assertEquals("MUCKMXH", envelope.headers().get("ORIGIN"));
+        assertEquals("AT", envelope.headers().get("DBLSIG"));
+        assertEquals("171120", envelope.headers().get("MSGID"));
+        assertEquals("LDM", envelope.headers().get("SMI"));
+        assertFalse(envelope.headers().containsKey("TEXT"));
+    }
+
+    @Test
+    void testBodyLinesAreTrimmedOffsets() {
+        TelexLines body = EnvelopeScanner.scan(LDM_FILE).body();
+
+        // Leading and trailing blank lines are dropped, inner blank lines kept
+        assertEquals(5, body.size());
+        assertEquals("AT933/17.CNRGV.J12Y147.2/4", body.line(0));
+        assertTrue(body.isBlank(2));
+        assertEquals("CMN    FRE       0    POS       0    BAG     898    TRA       0", body.line(3));
+        assertEquals("NOTOC: NO", body.line(4));
+        assertTrue(body.text().startsWith("AT933/17"));
+        assertTrue(body.text().endsWith("NOTOC: NO"));
+    }
+
+    @Test
+    void testCrLfContentAndHeadersAfterBody() {
+        String content = "=PRIORITY QD\r\n=TEXT\r\nMVT\r\nAT933/17.CNRGV.CMN\r\n=MSGID\r\n123\r\n";
+
+        ScannedEnvelope envelope = EnvelopeScanner.scan(content);
+
+        assertEquals("QD", envelope.headers().get("PRIORITY"));
+        assertEquals("123", envelope.headers().get("MSGID"));
+        assertEquals(2, envelope.body().size());
+        assertEquals("AT933/17.CNRGV.CMN", envelope.body().line(1));
+        assertEquals("MVT\nAT933/17.CNRGV.CMN", envelope.body().text());
+    }
+
+    @Test
+    void testMissingTextSectionGivesEmptyBody() {
+        ScannedEnvelope envelope = EnvelopeScanner.scan("=PRIORITY\nQD\n=ORIGIN\nCASPCAT");
+
+        assertTrue(envelope.body().isEmpty());
+        assertEquals("CASPCAT", envelope.headers().get("ORIGIN"));
+    }
+
+    @Test
+    void testEnvelopeWrapsScannedHeadersOnceAndSharesThemAcrossBlocks() {
+        TelexEnvelope envelope = TelexEnvelope.of(EnvelopeScanner.scan(LDM_FILE), List.of("GVAKMXH"));
+        TelexEnvelope block = envelope.withBody(TelexLines.of("AT933/17"));
+
+        assertEquals("171120", envelope.msgId());
+        assertThrows(UnsupportedOperationException.class, () -> envelope.headers().put("MSGID", "0"));
+        assertSame(envelope.headers(), block.headers());
+    }
+}
@@ -0,0 +1,92 @@
+package com.ram.nuitparser.parser.ldm;
+
+import com.ram.nuitparser.model.telex.ldm.LdmDestination;
+import com.ram.nuitparser.model.telex.ldm.LdmMessage;
+import com.ram.nuitparser.parser.TelexLines;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LDMParserTest {
+
+    // Body of telex_files/LDM Message.txt
+    private static final String SAMPLE = "AT933/17.CNRGV.J12Y147.2/4\n"
+            + "-CMN.15/25/2/0.0.T898.2/203.3/550.4/145.PAX/7/35.PAD/0/0\n"
+            + "SI SERVICE WEIGHT ADJUSTMENT WEIGHT/INDEX\n"
+            + "ADD\n"
+            + "CMN FULL WATER                               237    3.3\n"
+            + "CMN    FRE       0    POS       0    BAG     898    TRA       0\n"
+            + "CHECKED BAGGAGE PIECES CMN 2/T/13 3/Y/29 4/F/7\n"
+            + "NOTOC: NO\n"
+            + "DAA/NIL";
+
+    private final LDMParser parser = new LDMParser();
+
+    private LdmMessage parse(String body) {
+        return parser.parse(new TelexEnvelope(Map.of(), TelexLines.of(body), List.of()));
+    }
+
+    @Test
+    void testSampleLdm() {
+        LdmMessage message = parse(SAMPLE);
+
+        assertEquals("AT933", message.getFlightDesignator());
+        assertEquals("17", message.getDateOfFlight());
+        assertEquals("CNRGV", message.getAircraftRegistration());
+        assertEquals("J12Y147", message.getConfiguration());
+        assertEquals(159, message.getPassengerCapacity());
+        assertEquals(2, message.getCockpitCrew());
+        assertEquals(4, message.getCabinCrew());
+        assertEquals("CMN", message.getArrivalAirport());
+
+        LdmDestination cmn = message.getDestinations().get(0);
+        assertArrayEquals(new int[]{15, 25, 2, 0}, cmn.getPassengers());
+        assertArrayEquals(new int[]{7, 35}, cmn.getClassPassengers());
+        assertArrayEquals(new int[]{0, 0}, cmn.getPadPassengers());
+        assertEquals(898, cmn.getTotalWeight());
+        assertArrayEquals(new int[]{0, 203, 550, 145}, cmn.getCompartmentWeights());
+        assertEquals(898, cmn.getBaggageWeight());
+        assertEquals(49, cmn.getBaggagePieces());
+
+        assertEquals(40, message.getAdultPassengers());
+        assertEquals(2, message.getChildPassengers());
+        assertEquals(0, message.getInfantPassengers());
+        assertEquals(42, message.getPassengerCount());
+        assertEquals(898.0, message.getTotalWeight());
+        assertEquals(898.0, message.getBaggageWeight());
+        assertEquals("0", message.getWeightIndex());
+        assertEquals("SERVICE WEIGHT ADJUSTMENT WEIGHT/INDEX ADD CMN FULL WATER                               237    3.3",
+                message.getSpecialInstructions());
+        assertEquals("NO", message.getNotocStatus());
+        assertEquals("NIL", message.getDaaStatus());
+    }
+
+    @Test
+    void testEveryDestinationBlockIsKept() {
+        LdmMessage message = parse("LDM\n"
+                + "AT970/05.CNRGK.C16Y150.2/5\n"
+                + "-ORY.40/38/3/1.T2100.1/600.4/900.PAX/10/72.PAD/0/1\n"
+                + "-AMS.12/10/0/0.T700.5/700.PAX/4/18\n"
+                + "ORY FRE 300 POS 50 BAG 1200 TRA 0\n"
+                + "AMS FRE 0 POS 0 BAG 700 TRA 0");
+
+        assertEquals(2, message.getDestinations().size());
+        LdmDestination ams = message.getDestinations().get(1);
+        assertEquals("AMS", ams.getAirport());
+        assertEquals(700, ams.getTotalWeight());
+        assertArrayEquals(new int[]{0, 0, 0, 0, 700}, ams.getCompartmentWeights());
+        assertEquals(700, ams.getBaggageWeight());
+
+        assertEquals("ORY", message.getArrivalAirport());
+        assertEquals(2800.0, message.getTotalWeight());
+        assertEquals(300.0, message.getFreightWeight());
+        assertEquals(50.0, message.getMailWeight());
+        assertEquals(1900.0, message.getBaggageWeight());
+        assertArrayEquals(new int[]{600, 0, 0, 900, 700}, message.getCompartmentWeights());
+        assertEquals(104, message.getPassengerCount());
+    }
+}
@@ -0,0 +1,89 @@
+package com.ram.nuitparser.parser.ldm;
+
+import com.ram.nuitparser.parser.TelexLines;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LDM parse throughput over a generated corpus of one to three destination LDMs, laid out like
+ * telex_files/LDM Message.txt (destination lines, SI block, per-station weights and baggage
+ * pieces). Run via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LdmCorpusBenchmark {
+
+    private static final String[] STATIONS = {"CMN", "GVA", "ORY", "JFK", "RAK", "DXB"};
+
+    @Param({"1000"})
+    public int messages;
+
+    private final LDMParser parser = new LDMParser();
+    private List<TelexEnvelope> corpus;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        corpus = new ArrayList<>(messages);
+        for (int m = 0; m < messages; m++) {
+            int destinations = 1 + random.nextInt(3);
+            StringBuilder body = new StringBuilder()
+                    .append("AT").append(200 + random.nextInt(800)).append("/17.CNRGV.J12Y147.2/4\n");
+            for (int d = 0; d < destinations; d++) {
+                body.append('-').append(STATIONS[d]).append('.')
+                        .append(random.nextInt(80)).append('/').append(random.nextInt(80)).append('/')
+                        .append(random.nextInt(5)).append('/').append(random.nextInt(3))
+                        .append(".0.T").append(random.nextInt(3000))
+                        .append(".2/").append(random.nextInt(900))
+                        .append(".3/").append(random.nextInt(900))
+                        .append(".4/").append(random.nextInt(900))
+                        .append(".PAX/").append(random.nextInt(12)).append('/').append(random.nextInt(147))
+                        .append(".PAD/0/0\n");
+            }
+            body.append("SI SERVICE WEIGHT ADJUSTMENT WEIGHT/INDEX\n")
+                    .append("ADD\n")
+                    .append("CMN FULL WATER                               237    3.3\n");
+            for (int d = 0; d < destinations; d++) {
+                body.append(STATIONS[d]).append("    FRE       ").append(random.nextInt(500))
+                        .append("    POS       ").append(random.nextInt(50))
+                        .append("    BAG     ").append(random.nextInt(1500))
+                        .append("    TRA       0\n");
+            }
+            body.append("CHECKED BAGGAGE PIECES ").append(STATIONS[0])
+                    .append(" 2/T/").append(random.nextInt(40))
+                    .append(" 3/Y/").append(random.nextInt(40))
+                    .append(" 4/F/").append(random.nextInt(40)).append('\n')
+                    .append("NOTOC: NO\n")
+                    .append("DAA/NIL");
+            corpus.add(new TelexEnvelope(Map.of(), TelexLines.of(body.toString()), List.of()));
+        }
+    }
+
+    // Score is corpus passes per millisecond; multiply by messages for LDMs per millisecond
+    @Benchmark
+    public void parseCorpus(Blackhole bh) {
+        for (TelexEnvelope envelope : corpus) {
+            bh.consume(parser.parse(envelope));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LdmCorpusBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
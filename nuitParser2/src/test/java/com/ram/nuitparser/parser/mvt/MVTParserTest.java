@@ -0,0 +1,95 @@
+package com.ram.nuitparser.parser.mvt;
+
+import com.ram.nuitparser.model.telex.mvt.MovementType;
+import com.ram.nuitparser.model.telex.mvt.MvtDelay;
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import com.ram.nuitparser.parser.TelexLines;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MVTParserTest {
+
+    private final MVTParser parser = new MVTParser();
+
+    private MvtMessage parse(String body) {
+        return parser.parse(new TelexEnvelope(Map.of(), TelexLines.of(body), List.of()));
+    }
+
+    @Test
+    void testDepartureWithDelays() {
+        MvtMessage message = parse("MVT\n"
+                + "AT205/12.CNROC.CMN\n"
+                + "AD1015/1025 EA1310 JFK\n"
+                + "DL72/93/0030/0015\n"
+                + "SI CREW LATE");
+
+        assertEquals("AT205", message.getFlightDesignator());
+        assertEquals("12", message.getDateOfFlight());
+        assertEquals("CNROC", message.getAircraftRegistration());
+        assertEquals("CMN", message.getDepartureAirport());
+        assertEquals("JFK", message.getArrivalAirport());
+        assertEquals("1015", message.getActualOffBlockTime());
+        assertEquals("1025", message.getActualTakeoffTime());
+        assertEquals("1310", message.getEstimatedArrivalTime());
+        assertNull(message.getActualInBlockTime(), "EA is an estimate, not an arrival");
+        assertEquals(MovementType.DEP, message.getMovementType());
+        assertEquals(List.of(new MvtDelay("72", 30), new MvtDelay("93", 15)), message.getDelays());
+        assertEquals("72", message.getDelayReason());
+        assertEquals("CREW LATE", message.getRemarks());
+    }
+
+    @Test
+    void testArrivalStationIsTheArrivalAirport() {
+        MvtMessage message = parse("MVT\nAT205/12.CNROC.JFK\nAA1305/1310");
+
+        assertEquals(MovementType.ARR, message.getMovementType());
+        assertEquals("JFK", message.getArrivalAirport());
+        assertNull(message.getDepartureAirport());
+        assertEquals("1305", message.getActualLandingTime());
+        assertEquals("1310", message.getActualInBlockTime());
+    }
+
+    @Test
+    void testEstimatesWithoutMovementAreADelay() {
+        MvtMessage message = parse("MVT\n"
+                + "AT205/12.CNROC.CMN\n"
+                + "ED121130\n"
+                + "EO1040\n"
+                + "NI121100\n"
+                + "DL 41");
+
+        assertEquals(MovementType.DLY, message.getMovementType());
+        assertEquals("121130", message.getEstimatedDepartureTime());
+        assertEquals("1040", message.getEstimatedOffBlockTime());
+        assertEquals("121100", message.getNextInformationTime());
+        assertEquals(List.of(new MvtDelay("41", null)), message.getDelays());
+    }
+
+    @Test
+    void testDiversionAndBodyWithoutIdentifierLine() {
+        MvtMessage diversion = parse("DIV\nAT205/12.CNROC.CMN\nAD1015/1025 EA1400 RAK");
+        assertEquals(MovementType.DIV, diversion.getMovementType());
+        assertEquals("RAK", diversion.getArrivalAirport());
+
+        // With an SMI header the body may start directly with the flight line
+        MvtMessage departure = parse("AT205/12.CNROC.CMN\nAD1015/1025");
+        assertEquals("AT205", departure.getFlightDesignator());
+        assertEquals("CMN", departure.getDepartureAirport());
+        assertEquals(MovementType.DEP, departure.getMovementType());
+    }
+
+    @Test
+    void testDiversionFromSmiHeader() {
+        MvtMessage message = parser.parse(new TelexEnvelope(Map.of("SMI", "DIV"),
+                TelexLines.of("AT205/12.CNROC.CMN\nAD1015/1025 EA1400 RAK"), List.of()));
+
+        assertEquals("DIV", message.getSmi());
+        assertEquals(MovementType.DIV, message.getMovementType());
+        assertEquals("RAK", message.getArrivalAirport());
+    }
+}
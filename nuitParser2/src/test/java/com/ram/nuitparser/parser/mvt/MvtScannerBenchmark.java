@@ -0,0 +1,126 @@
+package com.ram.nuitparser.parser.mvt;
+
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import com.ram.nuitparser.parser.TelexLines;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single-pass MVT scan against the split-and-regex parsing it replaced (kept here as
+ * {@link #legacyParse}), over departure, arrival and delay messages. The legacy parser read the
+ * flight from line 0, so it gets the bodies without the "MVT" identifier line, as it would
+ * have with an SMI header. Run via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MvtScannerBenchmark {
+
+    private static final Pattern FLIGHT_PATTERN = Pattern.compile("([A-Z0-9]{2,3}[0-9]{1,4})/(\\d{1,2})\\.");
+    private static final Pattern AIRCRAFT_REG_PATTERN = Pattern.compile("\\.([A-Z]{5})\\.");
+    private static final Pattern AIRPORT_PATTERN = Pattern.compile("\\.([A-Z]{3})");
+    private static final Pattern TIME_PATTERN = Pattern.compile("(\\d{4})");
+    private static final Pattern DELAY_PATTERN = Pattern.compile("DELAY\\s+(.+)", Pattern.CASE_INSENSITIVE);
+
+    private final MVTParser parser = new MVTParser();
+    private static final List<String> BODIES = List.of(
+            "AT205/12.CNROC.CMN\nAD1015/1025 EA1310 JFK\nDL72/93/0030/0015\nSI CREW LATE",
+            "AT205/12.CNROC.JFK\nAA1305/1310",
+            "AT970/12.CNRGK.CMN\nED121130\nNI121100\nDELAY TECHNICAL");
+
+    private List<TelexEnvelope> envelopes;
+    private List<TelexEnvelope> legacyEnvelopes;
+
+    @Setup
+    public void setUp() {
+        envelopes = BODIES.stream().map(body -> envelope("MVT\n" + body)).toList();
+        legacyEnvelopes = BODIES.stream().map(MvtScannerBenchmark::envelope).toList();
+    }
+
+    private static TelexEnvelope envelope(String body) {
+        return new TelexEnvelope(Map.of(), TelexLines.of(body), List.of());
+    }
+
+    @Benchmark
+    public void scanner(Blackhole bh) {
+        for (TelexEnvelope envelope : envelopes) {
+            bh.consume(parser.parse(envelope));
+        }
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole bh) {
+        for (TelexEnvelope envelope : legacyEnvelopes) {
+            bh.consume(legacyParse(envelope));
+        }
+    }
+
+    private static MvtMessage legacyParse(TelexEnvelope envelope) {
+        MvtMessage message = new MvtMessage();
+        envelope.applyTo(message);
+        TelexLines body = envelope.body();
+        for (int i = 0; i < body.size(); i++) {
+            String line = body.line(i);
+            if (i == 0) {
+                Matcher flight = FLIGHT_PATTERN.matcher(line);
+                if (flight.find()) {
+                    message.setFlightDesignator(flight.group(1));
+                    message.setDateOfFlight(flight.group(2));
+                }
+                Matcher registration = AIRCRAFT_REG_PATTERN.matcher(line);
+                if (registration.find()) {
+                    message.setAircraftRegistration(registration.group(1));
+                }
+                Matcher airport = AIRPORT_PATTERN.matcher(line);
+                int airportCount = 0;
+                while (airport.find()) {
+                    if (airportCount == 0) {
+                        message.setDepartureAirport(airport.group(1));
+                    } else if (airportCount == 1) {
+                        message.setArrivalAirport(airport.group(1));
+                    }
+                    airportCount++;
+                }
+            } else if (line.contains("AD") || line.contains("EO") || line.contains("EA")) {
+                for (String s : line.split("\\s+")) {
+                    String part = s.toUpperCase();
+                    if (part.startsWith("AD") || part.startsWith("EA")) {
+                        Matcher time = TIME_PATTERN.matcher(part.substring(2));
+                        if (time.find()) {
+                            message.setActualOffBlockTime(time.group(1));
+                        }
+                    } else if (part.length() == 4 && part.matches("\\d{4}")) {
+                        message.setActualTakeoffTime(part);
+                    }
+                }
+            } else if (line.toUpperCase().contains("DELAY")) {
+                Matcher delay = DELAY_PATTERN.matcher(line);
+                if (delay.find()) {
+                    message.setDelayReason(delay.group(1));
+                }
+            } else if (message.getRemarks() == null && !line.isEmpty()) {
+                message.setRemarks(line);
+            }
+        }
+        return message;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MvtScannerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
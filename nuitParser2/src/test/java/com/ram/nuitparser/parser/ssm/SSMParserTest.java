@@ -1,13 +1,40 @@
 package com.ram.nuitparser.parser.ssm;
 
+import com.ram.nuitparser.model.telex.ssm.SsmLeg;
 import com.ram.nuitparser.model.telex.ssm.SsmMessage;
+import com.ram.nuitparser.parser.TelexLines;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class SSMParserTest {
 
+    private static final String MULTI_FLIGHT = String.join("\n",
+            "SSM",
+            "UTC",
+            "04AUG35543E001/P37705/06784/MCHAMI",
+            "NEW",
+            "AT248",
+            "04SEP25 11SEP25 1234",
+            "J 332 J24Y275",
+            "CMN0140 MED0740",
+            "MED0910 JED1010",
+            "12SEP25 30SEP25 57",
+            "01OCT25 25OCT25 5",
+            "J 788 C18Y256",
+            "CMN2330 JED0530/1",
+            "SI SEASONAL",
+            "//",
+            "AT249",
+            "05SEP25 12SEP25 2345",
+            "J 332 J24Y275",
+            "JED1200 CMN1640");
+
     private SSMParser parser;
 
     @BeforeEach
@@ -30,22 +57,28 @@ class SSMParserTest {
         );
 
         // Common header fields
-        String priority = "QN";
-        String destination = "STX,CASPCAT";
-        String origin = "CASPCAT";
-        String msgId = "041348";
         String header = "=PRIORITY QN =DESTINATION TYPE B STX,CASPCAT =ORIGIN CASPCAT =MSGID 041348";
-        String dblSig = "d";
-        String smi= "d";
-
-        SsmMessage message = parser.parse(rawMessage, priority, destination, origin, msgId, header, dblSig, smi);
+        TelexEnvelope envelope = new TelexEnvelope(
+                Map.of("PRIORITY", "QN",
+                        "DESTINATION", "TYPE B STX,CASPCAT",
+                        "ORIGIN", "CASPCAT",
+                        "MSGID", "041348",
+                        "HEADER", header,
+                        "DBLSIG", "d",
+                        "SMI", "d"),
+                TelexLines.of(rawMessage),
+                List.of("CASPCAT"));
+
+        SsmMessage message = parser.parse(envelope);
 
         // 🔹 Assert header fields
         assertEquals("QN", message.getPriority(), "Priority mismatch");
-        assertEquals("STX,CASPCAT", message.getDestination(), "Destination mismatch");
+        assertEquals("CASPCAT", message.getDestination(), "Destination mismatch");
         assertEquals("CASPCAT", message.getOrigin(), "Origin mismatch");
         assertEquals("041348", message.getMsgId(), "MsgId mismatch");
-       // assertEquals(header, message.getHeader(), "Header mismatch");
+        assertEquals(header, message.getHeader(), "Header mismatch");
+        assertEquals("d", message.getDblSig(), "DblSig mismatch");
+        assertEquals("d", message.getSmi(), "SMI mismatch");
         //assertEquals(rawMessage, message.getBody(), "Body mismatch");
 
         // 🔹 Assert type
@@ -73,7 +106,52 @@ class SSMParserTest {
         // 🔹 Assert route string (if parser fills it)
         assertNotNull(message.getRoute(), "Route should not be null");
 
-        // 🔹 Assert remarks (if parser fills it)
-        assertNotNull(message.getRemarks(), "Remarks should not be null or empty");
+        // 🔹 Assert DEIs, kept apart from the remarks
+        assertEquals(List.of("3/HFM", "4/HFM", "5/AT"), message.getDeIdentifiers());
+
+        // 🔹 Assert remarks (only SI text, and there is no SI line)
+        assertNull(message.getRemarks(), "Remarks should hold only SI text");
+    }
+
+    @Test
+    void testParseMultiFlightMultiPeriodSSM() {
+        TelexEnvelope envelope = new TelexEnvelope(Map.of(), TelexLines.of(MULTI_FLIGHT), List.of());
+
+        SsmMessage message = parser.parse(envelope);
+
+        // First block: 2 legs; second block: 1 leg for each of its 2 periods; second flight: 1 leg
+        List<SsmLeg> legs = message.getLegs();
+        assertEquals(5, legs.size());
+
+        assertEquals(new SsmLeg("AT248", "04SEP25", "11SEP25", "1234", "J", "332", "J24Y275",
+                "MED", "0910", 0, "JED", "1010", 0), legs.get(1));
+        assertEquals(new SsmLeg("AT248", "12SEP25", "30SEP25", "57", "J", "788", "C18Y256",
+                "CMN", "2330", 0, "JED", "0530", 1), legs.get(2));
+        assertEquals(new SsmLeg("AT248", "01OCT25", "25OCT25", "5", "J", "788", "C18Y256",
+                "CMN", "2330", 0, "JED", "0530", 1), legs.get(3));
+        assertEquals(new SsmLeg("AT249", "05SEP25", "12SEP25", "2345", "J", "332", "J24Y275",
+                "JED", "1200", 0, "CMN", "1640", 0), legs.get(4));
+
+        // Single-valued fields describe the first flight, period and leg
+        assertEquals("AT248", message.getFlightDesignator());
+        assertEquals("1234", message.getDaysOfOperation());
+        assertEquals("CMN-MED-JED", message.getRoute());
+        assertEquals("SEASONAL", message.getRemarks());
+    }
+
+    @Test
+    void testParseEachEmitsOneMessagePerFlightBlock() {
+        TelexEnvelope envelope = new TelexEnvelope(Map.of("MSGID", "041348"), TelexLines.of(MULTI_FLIGHT), List.of());
+
+        List<SsmMessage> messages = parser.parseAll(envelope);
+
+        assertEquals(2, messages.size());
+        assertEquals("AT248", messages.get(0).getFlightDesignator());
+        assertEquals(4, messages.get(0).getLegs().size());
+        assertEquals("AT249", messages.get(1).getFlightDesignator());
+        assertEquals("JED", messages.get(1).getDepartureAirport());
+        assertEquals("05SEP25", messages.get(1).getEffectiveDate());
+        assertEquals(List.of("AT249"), messages.get(1).getLegs().stream().map(SsmLeg::flightDesignator).toList());
+        assertEquals("041348", messages.get(1).getMsgId());
     }
 }
@@ -0,0 +1,87 @@
+package com.ram.nuitparser.parser.ssm;
+
+import com.ram.nuitparser.model.telex.ssm.SsmMessage;
+import com.ram.nuitparser.parser.TelexLines;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
+import com.ram.nuitparser.service.ParsedTelexHolder;
+import com.ram.nuitparser.service.StoredTelex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses one large multi-flight SSM: {@code flights} flights separated by "//", each with two
+ * period blocks of two legs, i.e. 4 legs per flight (10k legs at 2500 flights). Also compares
+ * storing the per-flight messages with one batched holder call against one call per flight.
+ * Run via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SsmScheduleBenchmark {
+
+    @Param({"2500", "10000"})
+    public int flights;
+
+    private final SSMParser parser = new SSMParser();
+    private TelexEnvelope envelope;
+    private ParsedTelexHolder holder;
+
+    @Setup
+    public void setUp() {
+        StringBuilder body = new StringBuilder("SSM\nUTC\n18OCT00001E001/BENCH\nNEW\n");
+        for (int f = 0; f < flights; f++) {
+            if (f > 0) {
+                body.append("//\n");
+            }
+            body.append("AT").append(1000 + f % 9000).append('\n')
+                    .append("01NOV25 28MAR26 1234567\n")
+                    .append("J 73H .J12Y147 4/AT\n")
+                    .append("CMN0800 ORY1130\n")
+                    .append("ORY1230 AMS1400\n")
+                    .append("01APR26 25OCT26 135\n")
+                    .append("J 788 C18Y256\n")
+                    .append("CMN0900 ORY1230\n")
+                    .append("ORY1330 AMS0015/1\n");
+        }
+        envelope = new TelexEnvelope(Map.of(), TelexLines.of(body.toString()), List.of());
+        holder = new ParsedTelexHolder(100_000, Duration.ZERO);
+    }
+
+    @Benchmark
+    public SsmMessage parseSchedule() {
+        return parser.parse(envelope);
+    }
+
+    @Benchmark
+    public List<SsmMessage> parseAllFlights() {
+        return parser.parseAll(envelope);
+    }
+
+    // One message per flight, all stored under a single holder lock
+    @Benchmark
+    public List<StoredTelex> parseAllAndStoreBatch() {
+        return holder.storeAll(parser.parseAll(envelope), "raw");
+    }
+
+    // One message per flight, streamed to the holder one store call at a time
+    @Benchmark
+    public void parseEachAndStoreEach() {
+        parser.parseEach(envelope, message -> holder.store(message, "raw"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SsmScheduleBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
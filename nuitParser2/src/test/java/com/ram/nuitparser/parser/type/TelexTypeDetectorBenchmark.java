@@ -0,0 +1,62 @@
+package com.ram.nuitparser.parser.type;
+
+import com.ram.nuitparser.enums.TelexType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trie detection against the upper-case-and-contains cascade it replaced, over a mix of SMI
+ * values and first body lines (including lines without an identifier). Run via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TelexTypeDetectorBenchmark {
+
+    private static final String[] LINES = {
+            "ASM", "SSM", "MVT", "LDM", "COR MVT", "DIV",
+            "AT933/17.CNRGV.J12Y147.2/4",
+            "AT763/05SEP25",
+            "11AUG14140E001/P42082/01584/FARIS",
+            "CPM"
+    };
+
+    private final TelexTypeDetector detector = new TelexTypeDetector(TelexTypeKeyword.standard());
+
+    @Benchmark
+    public void trie(Blackhole bh) {
+        for (String line : LINES) {
+            bh.consume(detector.detect(line));
+        }
+    }
+
+    @Benchmark
+    public void legacyContains(Blackhole bh) {
+        for (String line : LINES) {
+            bh.consume(legacyDetect(line));
+        }
+    }
+
+    private static TelexType legacyDetect(String line) {
+        String upper = line.toUpperCase();
+        if (upper.contains("ASM")) return TelexType.ASM;
+        if (upper.contains("SSM")) return TelexType.SSM;
+        if (upper.contains("MVT")) return TelexType.MVT;
+        if (upper.contains("LDM")) return TelexType.LDM;
+        return TelexType.UNKNOWN;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TelexTypeDetectorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ram.nuitparser.parser.type;
+
+import com.ram.nuitparser.enums.TelexType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TelexTypeDetectorTest {
+
+    private final TelexTypeDetector detector = new TelexTypeDetector(TelexTypeKeyword.standard());
+
+    // Lines the substring search used to get wrong are the UNKNOWN rows below
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "ASM                          | ASM",
+            "asm                          | ASM",
+            "SSM                          | SSM",
+            "'  SSM  '                    | SSM",
+            "ASM UTC                      | ASM",
+            "MVT                          | MVT",
+            "COR MVT                      | MVT",
+            "PDM COR ASM                  | ASM",
+            "DIV                          | DIV",
+            "LDM                          | LDM",
+            "CPM                          | CPM",
+            "PSM                          | PSM",
+            "PTM                          | PTM",
+            "UCM                          | UCM",
+            "ASMARA                       | UNKNOWN",
+            "CASMLAT                      | UNKNOWN",
+            "MVTX                         | UNKNOWN",
+            "AS                           | UNKNOWN",
+            "COR                          | UNKNOWN",
+            "SI SSM TO FOLLOW             | UNKNOWN",
+            "AT933/17.CNRGV.J12Y147.2/4   | UNKNOWN",
+            "AT763/05SEP25                | UNKNOWN",
+            "-ASM                         | UNKNOWN",
+            "''                           | UNKNOWN"
+    })
+    void testDetectsWholeIdentifierTokensOnly(String line, TelexType expected) {
+        assertEquals(expected, detector.detect(line));
+    }
+
+    @Test
+    void testDetectsWithinRangeOfLargerContent() {
+        String content = "=SMI\nLDM\n=TEXT\nASMARA";
+
+        assertEquals(TelexType.LDM, detector.detect(content, 5, 8));
+        assertEquals(TelexType.UNKNOWN, detector.detect(content, 15, content.length()));
+        assertEquals(TelexType.UNKNOWN, detector.detect(null));
+    }
+
+    @Test
+    void testRegisteredKeywordsExtendDetection() {
+        List<TelexTypeKeyword> keywords = new ArrayList<>(TelexTypeKeyword.standard());
+        keywords.add(new TelexTypeKeyword("MVA", TelexType.MVT));
+        TelexTypeDetector extended = new TelexTypeDetector(keywords);
+
+        assertEquals(TelexType.MVT, extended.detect("MVA"));
+        assertEquals(TelexType.MVT, extended.detect("MVT"));
+        assertEquals(TelexType.UNKNOWN, detector.detect("MVA"));
+    }
+
+    @Test
+    void testConflictingKeywordsAreRejected() {
+        List<TelexTypeKeyword> keywords = new ArrayList<>(TelexTypeKeyword.standard());
+        keywords.add(new TelexTypeKeyword("ASM", TelexType.SSM));
+
+        assertThrows(IllegalStateException.class, () -> new TelexTypeDetector(keywords));
+        assertThrows(IllegalStateException.class,
+                () -> new TelexTypeDetector(List.of(new TelexTypeKeyword("COR", TelexType.MVT))));
+        assertThrows(IllegalArgumentException.class, () -> new TelexTypeKeyword("AS-M", TelexType.ASM));
+    }
+}
@@ -0,0 +1,90 @@
+package com.ram.nuitparser.service;
+
+import com.ram.nuitparser.model.telex.TelexMessage;
+import com.ram.nuitparser.model.telex.asm.AsmMessage;
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtered queries against a holder with 1M stored telexes: indexed keyset query versus
+ * filtering a full snapshot, which is what clients had to do before. The columnar store pays
+ * for rebuilding every message it returns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ParsedTelexHolderQueryBenchmark {
+
+    private static final int MESSAGES = 1_000_000;
+    private static final String[] AIRPORTS = {"CMN", "JED", "ORY", "CDG", "MAD", "FRA", "LHR", "AMS", "BRU", "RAK"};
+
+    @Param({"object", "columnar"})
+    public String store;
+
+    private ParsedTelexHolder holder;
+
+    @Setup
+    public void setUp() {
+        holder = new ParsedTelexHolder(MESSAGES, Duration.ZERO, store);
+        for (int i = 0; i < MESSAGES; i++) {
+            holder.store(message(i), "raw");
+        }
+    }
+
+    private static TelexMessage message(int i) {
+        TelexMessage message = i % 4 == 0 ? new AsmMessage() : new MvtMessage();
+        String designator = "AT" + (100 + i % 2000);
+        String departure = AIRPORTS[i % AIRPORTS.length];
+        String arrival = AIRPORTS[(i / AIRPORTS.length) % AIRPORTS.length];
+        if (message instanceof AsmMessage asm) {
+            asm.setFlightDesignator(designator);
+            asm.setDepartureAirport(departure);
+            asm.setArrivalAirport(arrival);
+        } else if (message instanceof MvtMessage mvt) {
+            mvt.setFlightDesignator(designator);
+            mvt.setDepartureAirport(departure);
+            mvt.setArrivalAirport(arrival);
+        }
+        return message;
+    }
+
+    @Benchmark
+    public TelexQueryResult indexedFlightQuery() {
+        return holder.query(new TelexQuery(null, "AT1234", null, null, null, null, 500_000, 50));
+    }
+
+    @Benchmark
+    public TelexQueryResult indexedTypeAndAirportQuery() {
+        return holder.query(new TelexQuery("ASM", null, "CMN", "MAD", null, null, -1, 50));
+    }
+
+    @Benchmark
+    public List<StoredTelex> page() {
+        return holder.getPage(10_000, 50);
+    }
+
+    @Benchmark
+    public List<StoredTelex> snapshotFilter() {
+        return holder.snapshot().stream()
+                .filter(entry -> entry.sequence() > 500_000)
+                .filter(entry -> "AT1234".equals(entry.message().getFlightDesignator()))
+                .limit(50)
+                .toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ParsedTelexHolderQueryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,275 @@
+package com.ram.nuitparser.service;
+
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsedTelexHolderTest {
+
+    @Test
+    void testPagesKeepMessageAndRawTogether() {
+        ParsedTelexHolder holder = new ParsedTelexHolder(10, Duration.ZERO);
+        for (int i = 0; i < 5; i++) {
+            holder.store(message("AT" + i), "raw AT" + i);
+        }
+
+        List<StoredTelex> page = holder.getPage(1, 2);
+
+        assertEquals(5, holder.getTotalCount());
+        assertEquals(2, page.size());
+        assertEquals("AT2", page.get(0).message().getFlightDesignator());
+        assertEquals("raw AT2", page.get(0).raw());
+        assertEquals("AT3", page.get(1).message().getFlightDesignator());
+        assertTrue(holder.getPage(3, 2).isEmpty());
+    }
+
+    @Test
+    void testForEachAfterResumesFromCursor() {
+        ParsedTelexHolder holder = new ParsedTelexHolder(4, Duration.ZERO);
+        for (int i = 0; i < 6; i++) {
+            holder.store(message("AT" + i), "raw AT" + i);
+        }
+        List<Long> visited = new ArrayList<>();
+
+        // Sequence 0 and 1 were evicted, so a stale cursor resumes at the oldest retained entry
+        assertEquals(2, holder.getOldestSequence());
+        long last = holder.forEachAfter(0, 2, entry -> visited.add(entry.sequence()));
+        assertEquals(List.of(2L, 3L), visited);
+        assertEquals(3, last);
+
+        last = holder.forEachAfter(last, 0, entry -> visited.add(entry.sequence()));
+        assertEquals(List.of(2L, 3L, 4L, 5L), visited);
+        assertEquals(5, holder.forEachAfter(last, 0, entry -> fail("nothing left after the head")));
+    }
+
+    @Test
+    void testOldestEntriesAreEvictedAtCapacity() {
+        ParsedTelexHolder holder = new ParsedTelexHolder(3, Duration.ZERO);
+        for (int i = 0; i < 7; i++) {
+            holder.store(message("AT" + i), "raw AT" + i);
+        }
+
+        List<StoredTelex> all = holder.snapshot();
+
+        assertEquals(3, holder.getTotalCount());
+        assertEquals(List.of(4L, 5L, 6L), all.stream().map(StoredTelex::sequence).toList());
+    }
+
+    @Test
+    void testEntriesOlderThanMaxAgeAreEvicted() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-08-17T11:00:00Z"));
+        ParsedTelexHolder holder = new ParsedTelexHolder(100, Duration.ofMinutes(10), clock);
+
+        holder.store(message("AT1"), "raw AT1");
+        clock.advance(Duration.ofMinutes(6));
+        holder.store(message("AT2"), "raw AT2");
+        clock.advance(Duration.ofMinutes(6));
+
+        // Expired on read even before the next write evicts it
+        assertEquals(1, holder.getTotalCount());
+        assertEquals("AT2", holder.getPage(0, 10).getFirst().message().getFlightDesignator());
+
+        holder.store(message("AT3"), "raw AT3");
+        assertEquals(2, holder.getTotalCount());
+    }
+
+    @Test
+    void testStoreAllAssignsConsecutiveSequencesAndIndexesEveryMessage() {
+        ParsedTelexHolder holder = new ParsedTelexHolder(10, Duration.ZERO);
+        holder.store(message("AT1"), "raw AT1");
+
+        List<StoredTelex> stored = holder.storeAll(
+                List.of(message("AT248", "CMN", "MED"), message("AT249", "MED", "JED")), "raw SSM");
+
+        assertEquals(List.of(1L, 2L), stored.stream().map(StoredTelex::sequence).toList());
+        assertEquals(stored.get(0).ingestedAt(), stored.get(1).ingestedAt());
+        assertSame(stored.get(0).raw(), stored.get(1).raw());
+        assertEquals(3, holder.getTotalCount());
+        assertEquals(List.of(2L), holder.query(new TelexQuery(null, null, null, "JED", null, null, -1, 10))
+                .items().stream().map(StoredTelex::sequence).toList());
+        assertTrue(holder.storeAll(List.of(), "raw").isEmpty());
+    }
+
+    @Test
+    void testFilteredKeysetQuery() {
+        ParsedTelexHolder holder = new ParsedTelexHolder(100, Duration.ZERO);
+        for (int i = 0; i < 30; i++) {
+            holder.store(message(i % 3 == 0 ? "AT933" : "AT248", "CMN", i % 2 == 0 ? "JED" : "ORY"), "raw " + i);
+        }
+
+        TelexQueryResult first = holder.query(new TelexQuery(null, "AT933", null, "JED", null, null, -1, 3));
+        assertEquals(List.of(0L, 6L, 12L), first.items().stream().map(StoredTelex::sequence).toList());
+        assertEquals(12L, first.nextCursor());
+
+        TelexQueryResult second = holder.query(new TelexQuery("MVT", "AT933", null, "JED", null, null, first.nextCursor(), 3));
+        assertEquals(List.of(18L, 24L), second.items().stream().map(StoredTelex::sequence).toList());
+        assertNull(second.nextCursor());
+
+        // Exactly a page of matches: no cursor to an empty next page
+        TelexQueryResult exact = holder.query(new TelexQuery(null, "AT933", null, "JED", null, null, -1, 5));
+        assertEquals(5, exact.items().size());
+        assertNull(exact.nextCursor());
+        TelexQueryResult middle = holder.query(new TelexQuery(null, "AT933", null, "JED", null, null, 6, 2));
+        assertEquals(List.of(12L, 18L), middle.items().stream().map(StoredTelex::sequence).toList());
+        assertEquals(18L, middle.nextCursor());
+
+        assertTrue(holder.query(new TelexQuery(null, "XX1", null, null, null, null, -1, 10)).items().isEmpty());
+        assertEquals(10, holder.query(new TelexQuery(null, null, "CMN", null, null, null, -1, 10)).items().size());
+    }
+
+    @Test
+    void testQueryByIngestTimeAndEvictedPostings() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-08-17T11:00:00Z"));
+        ParsedTelexHolder holder = new ParsedTelexHolder(5, Duration.ZERO, clock);
+        for (int i = 0; i < 8; i++) {
+            holder.store(message("AT933", "CMN", "JED"), "raw " + i);
+            clock.advance(Duration.ofMinutes(1));
+        }
+
+        TelexQueryResult window = holder.query(new TelexQuery(null, "AT933", null, null,
+                Instant.parse("2025-08-17T11:04:00Z"), Instant.parse("2025-08-17T11:06:00Z"), -1, 10));
+        assertEquals(List.of(4L, 5L), window.items().stream().map(StoredTelex::sequence).toList());
+
+        // Sequences 0-2 are evicted, their postings must not resurface
+        TelexQueryResult all = holder.query(new TelexQuery(null, "AT933", null, null, null, null, -1, 10));
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), all.items().stream().map(StoredTelex::sequence).toList());
+    }
+
+    @Test
+    void testColumnarStoreServesPagesQueriesAndAgeEviction() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-08-17T11:00:00Z"));
+        ParsedTelexHolder holder = new ParsedTelexHolder(4, Duration.ofMinutes(10), clock, "columnar");
+        for (int i = 0; i < 6; i++) {
+            holder.store(message(i % 2 == 0 ? "AT933" : "AT248", "CMN", "JED"), "raw " + i);
+            clock.advance(Duration.ofMinutes(3));
+        }
+
+        // Sequences 0-1 were overwritten, 2 is older than ten minutes
+        assertEquals(List.of(3L, 4L, 5L), holder.snapshot().stream().map(StoredTelex::sequence).toList());
+        StoredTelex first = holder.getPage(0, 1).getFirst();
+        assertEquals("raw 3", first.raw());
+        assertEquals(message("AT248", "CMN", "JED"), first.message());
+        assertEquals(List.of(4L), holder.query(new TelexQuery(null, "AT933", "CMN", null, null, null, -1, 10))
+                .items().stream().map(StoredTelex::sequence).toList());
+        assertThrows(IllegalArgumentException.class, () -> new ParsedTelexHolder(4, Duration.ZERO, clock, "binary"));
+    }
+
+    @Test
+    void testConcurrentWritersAndReaders() throws Exception {
+        int capacity = 1_000;
+        int writers = 4;
+        int perWriter = 50_000;
+        ParsedTelexHolder holder = new ParsedTelexHolder(capacity, Duration.ZERO);
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 4);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+
+        List<Future<?>> writerFutures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            writerFutures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perWriter; i++) {
+                    String designator = "W" + writer + "-" + i;
+                    holder.store(message(designator), "raw " + designator);
+                }
+                return null;
+            }));
+        }
+        List<Future<?>> readerFutures = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            readerFutures.add(pool.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    long total = holder.getTotalCount();
+                    if (total > capacity) {
+                        failures.add("count above capacity: " + total);
+                    }
+                    long previous = -1;
+                    for (StoredTelex entry : holder.getPage(0, 100)) {
+                        if (entry.sequence() <= previous) {
+                            failures.add("sequence not increasing: " + previous + " -> " + entry.sequence());
+                        }
+                        if (!entry.raw().equals("raw " + entry.message().getFlightDesignator())) {
+                            failures.add("raw/message mismatch at " + entry.sequence());
+                        }
+                        previous = entry.sequence();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : writerFutures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        for (Future<?> future : readerFutures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertTrue(failures.isEmpty(), () -> failures.peek());
+        List<StoredTelex> retained = holder.snapshot();
+        assertEquals(capacity, retained.size());
+        assertEquals((long) writers * perWriter - 1, retained.getLast().sequence());
+    }
+
+    private static MvtMessage message(String designator) {
+        MvtMessage message = new MvtMessage();
+        message.setFlightDesignator(designator);
+        return message;
+    }
+
+    private static MvtMessage message(String designator, String departure, String arrival) {
+        MvtMessage message = message(designator);
+        message.setDepartureAirport(departure);
+        message.setArrivalAirport(arrival);
+        return message;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ram.nuitparser.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.ram.nuitparser.parser.StringPool;
+import com.ram.nuitparser.parser.TelexRouter;
+import com.ram.nuitparser.parser.asm.ASMParser;
+import com.ram.nuitparser.parser.envelope.DestinationAddressParser;
+import com.ram.nuitparser.parser.ldm.LDMParser;
+import com.ram.nuitparser.parser.mvt.MVTParser;
+import com.ram.nuitparser.parser.ssm.SSMParser;
+import com.ram.nuitparser.parser.type.TelexTypeDetector;
+import com.ram.nuitparser.parser.type.TelexTypeKeyword;
+import com.ram.nuitparser.service.enrichment.EnrichmentServices;
+import com.ram.nuitparser.service.trace.TelexTraceRecorder;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Retained heap of one million parsed and enriched MVT/ASM telexes held in {@link ParsedTelexHolder}.
+ * Every telex is a fresh String, as read from the feed. Compare a default run with one passing
+ * the pool size {@code 0} as first argument, and the object store with {@code -Dtelex.holder.store=columnar};
+ * run with {@code -Xmx4g} via {@link #main(String[])}.
+ */
+public class StringPoolRetentionReport {
+
+    private static final int MESSAGES = 1_000_000;
+    private static final String[] STATIONS = {"CMN", "ORY", "CDG", "JFK", "MAD", "LHR", "RAK", "TNG", "FEZ", "AGA",
+            "BCN", "FCO", "AMS", "BRU", "DXB", "IST", "GVA", "LIS", "YUL", "DSS"};
+    private static final String[] PRIORITIES = {"QU", "QD", "QK"};
+    private static final String[] ORIGINS = {"CMNKKAT", "CMNOWAT", "CASPCAT", "ORYKKAT", "JFKKKAT"};
+
+    public static void main(String[] args) {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("ROOT").setLevel(Level.ERROR);
+        int poolSize = args.length > 0 ? Integer.parseInt(args[0]) : StringPool.DEFAULT_SIZE;
+        StringPool.configureShared(poolSize);
+
+        EnrichmentService enrichmentService = EnrichmentServices.loaded();
+        TelexRouter router = new TelexRouter(List.of(new ASMParser(), new MVTParser(), new SSMParser(), new LDMParser()));
+        // Taken before the holder so that preallocated slot arrays count as retained
+        long baseline = usedHeap();
+        String store = System.getProperty("telex.holder.store", "object");
+        ParsedTelexHolder holder = new ParsedTelexHolder(MESSAGES, Duration.ZERO, store);
+        TelexParserService service = new TelexParserService(router, enrichmentService, new TimeNormalizationService(), holder,
+                new TelexTraceRecorder(false, 0), new TelexTypeDetector(TelexTypeKeyword.standard()),
+                new DestinationAddressParser(1024));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            service.parse(telex(i));
+        }
+        long elapsed = System.nanoTime() - start;
+        long retained = usedHeap() - baseline;
+
+        System.out.printf("telex.string-pool.size=%s, %s store: %d messages held, %.1f MB retained (%d B/message), parsed in %d ms%n",
+                poolSize, store, holder.getTotalCount(),
+                retained / 1048576.0, retained / MESSAGES, elapsed / 1_000_000);
+    }
+
+    private static String telex(int i) {
+        String dep = STATIONS[i % STATIONS.length];
+        String arr = STATIONS[(i / 7 + 1 + i % 19) % STATIONS.length];
+        if (arr.equals(dep)) {
+            arr = STATIONS[(i + 3) % STATIONS.length];
+        }
+        int flight = 200 + i % 800;
+        String day = String.format("%02d", 1 + i % 28);
+        String header = "=PRIORITY\n" + PRIORITIES[i % PRIORITIES.length]
+                + "\n=DESTINATION TYPE B\nSTX,CASPCAT\nSTX,QLHQMAT\n=ORIGIN\n" + ORIGINS[i % ORIGINS.length]
+                + "\n=MSGID\n" + (100000 + i) + "\n=TEXT\n";
+        if (i % 2 == 0) {
+            return header + "MVT\nAT" + flight + "/" + day + ".CNR" + (char) ('A' + i % 26) + (char) ('A' + i % 17)
+                    + "." + dep + "\nAD1015/1025 EA1310 " + arr + "\nDL72/93/0030/0015\n";
+        }
+        return header + "ASM\nUTC\nNEW\nAT" + flight + "/" + day + "SEP25\nJ 73H .J12Y147\n"
+                + dep + "1810 " + arr + "2115\n";
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
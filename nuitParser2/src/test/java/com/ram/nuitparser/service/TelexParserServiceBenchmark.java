@@ -0,0 +1,133 @@
+package com.ram.nuitparser.service;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.ram.nuitparser.parser.TelexRouter;
+import com.ram.nuitparser.parser.asm.ASMParser;
+import com.ram.nuitparser.parser.envelope.DestinationAddressParser;
+import com.ram.nuitparser.parser.ldm.LDMParser;
+import com.ram.nuitparser.parser.mvt.MVTParser;
+import com.ram.nuitparser.parser.ssm.SSMParser;
+import com.ram.nuitparser.parser.type.TelexTypeDetector;
+import com.ram.nuitparser.parser.type.TelexTypeKeyword;
+import com.ram.nuitparser.service.enrichment.EnrichmentServices;
+import com.ram.nuitparser.service.trace.TelexTraceRecorder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end cost of {@link TelexParserService#parse(String)} (scan, parse, enrich, store) for the
+ * sample envelopes in telex_files/, with the application logger at DEBUG or INFO, the per-telex
+ * trace sampled at 1% or on every telex, and the file written either directly or through an
+ * async appender. Run from the module directory via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TelexParserServiceBenchmark {
+
+    @Param({"DEBUG", "INFO"})
+    public String logLevel;
+
+    @Param({"false", "true"})
+    public boolean asyncAppender;
+
+    @Param({"0.01", "1.0"})
+    public double traceSampleRate;
+
+    private List<String> envelopes;
+    private TelexParserService service;
+    private Path logFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("telex-bench", ".log");
+        configureLogging();
+
+        try (Stream<Path> files = Files.list(Path.of("telex_files"))) {
+            envelopes = new ArrayList<>();
+            for (Path file : files.sorted().toList()) {
+                envelopes.add(Files.readString(file));
+            }
+        }
+
+        EnrichmentService enrichmentService = EnrichmentServices.loaded();
+        TelexRouter router = new TelexRouter(List.of(new ASMParser(), new MVTParser(), new SSMParser(), new LDMParser()));
+        ParsedTelexHolder holder = new ParsedTelexHolder(10_000, Duration.ZERO, Clock.systemUTC());
+        service = new TelexParserService(router, enrichmentService, new TimeNormalizationService(), holder,
+                new TelexTraceRecorder(true, traceSampleRate), new TelexTypeDetector(TelexTypeKeyword.standard()),
+                new DestinationAddressParser(1024));
+    }
+
+    private void configureLogging() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (asyncAppender) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        context.getLogger("com.ram.nuitparser").setLevel(Level.toLevel(logLevel));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void parseSamples() {
+        for (String content : envelopes) {
+            service.parse(content);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TelexParserServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
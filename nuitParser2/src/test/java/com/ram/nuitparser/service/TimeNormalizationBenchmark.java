@@ -0,0 +1,66 @@
+package com.ram.nuitparser.service;
+
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import com.ram.nuitparser.service.normalization.ZoneOffsetCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local offset of one airport time: resolving the zone id and its rules per call, as a consumer
+ * of the raw timezone string would, against the precomputed {@link ZoneOffsetCache}; and the
+ * whole normalization of an MVT carrying four times. Run via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeNormalizationBenchmark {
+
+    private static final String[] ZONES = {"Africa/Casablanca", "Europe/Paris", "America/New_York", "Asia/Riyadh"};
+
+    private final ZoneOffsetCache cache = new ZoneOffsetCache(2);
+    private final TimeNormalizationService service = new TimeNormalizationService();
+    private final Instant at = Instant.now();
+    private int next;
+
+    @Benchmark
+    public void zoneIdPerCall(Blackhole bh) {
+        String zone = ZONES[next++ & 3];
+        bh.consume(ZonedDateTime.ofInstant(at, ZoneId.of(zone)).getOffset());
+    }
+
+    @Benchmark
+    public void cachedOffset(Blackhole bh) {
+        bh.consume(cache.offset(ZONES[next++ & 3], at));
+    }
+
+    @Benchmark
+    public void normalizeMvt(Blackhole bh) {
+        MvtMessage message = new MvtMessage();
+        message.setDateOfFlight("12");
+        message.setActualOffBlockTime("1015");
+        message.setActualTakeoffTime("1027");
+        message.setEstimatedArrivalTime("1310");
+        message.setNextInformationTime("121330");
+        message.setDepartureTimezone(ZONES[next++ & 3]);
+        message.setArrivalTimezone(ZONES[next & 3]);
+        service.normalize(message);
+        bh.consume(message);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TimeNormalizationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
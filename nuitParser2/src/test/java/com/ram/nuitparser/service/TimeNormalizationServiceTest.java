@@ -0,0 +1,116 @@
+package com.ram.nuitparser.service;
+
+import com.ram.nuitparser.model.telex.FlightTime;
+import com.ram.nuitparser.model.telex.asm.AsmMessage;
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeNormalizationServiceTest {
+
+    @Test
+    void testAsmTimesGetTheirYearAndAirportOffsets() {
+        AsmMessage message = asm("05SEP", "1810", "2115");
+        message.setDepartureTimezone("Europe/Paris");
+
+        service("2025-08-11T13:42:00Z").normalize(message);
+
+        assertEquals(new FlightTime(Instant.parse("2025-09-05T18:10:00Z"), ZoneOffset.ofHours(2)), message.getDepartureAt());
+        assertEquals(LocalDateTime.parse("2025-09-05T20:10"), message.getDepartureAt().local());
+        assertEquals(Instant.parse("2025-09-05T21:15:00Z"), message.getArrivalAt().utc());
+        assertEquals(ZoneOffset.ofHours(1), message.getArrivalAt().offset());
+    }
+
+    @Test
+    void testAsmArrivalAfterMidnightAndDateInTheNextYear() {
+        AsmMessage message = asm("02JAN", "2250", "0140");
+
+        service("2025-12-30T08:00:00Z").normalize(message);
+
+        assertEquals(Instant.parse("2026-01-02T22:50:00Z"), message.getDepartureAt().utc());
+        assertEquals(Instant.parse("2026-01-03T01:40:00Z"), message.getArrivalAt().utc());
+    }
+
+    @Test
+    void testReplayedTelexResolvesAroundItsReceiveDate() {
+        AsmMessage asm = asm("05SEP", "1810", "2115");
+        asm.setHeader("RCV,2023/08/17 11:32");
+        MvtMessage mvt = new MvtMessage();
+        mvt.setHeader("RCV,2023/08/17 11:32");
+        mvt.setDateOfFlight("16");
+        mvt.setActualOffBlockTime("2350");
+
+        // Processed years later, e.g. by a log replay
+        TimeNormalizationService service = service("2025-03-02T08:00:00Z");
+        service.normalize(asm);
+        service.normalize(mvt);
+
+        assertEquals(Instant.parse("2023-09-05T18:10:00Z"), asm.getDepartureAt().utc());
+        assertEquals(Instant.parse("2023-08-16T23:50:00Z"), mvt.getActualOffBlockAt().utc());
+    }
+
+    @Test
+    void testReceiveDateIsReadFromTheHeader() {
+        assertEquals(LocalDate.of(2025, 8, 17), TimeNormalizationService.receivedDate("RCV,2025/08/17 11:32"));
+        assertNull(TimeNormalizationService.receivedDate("RCV,2025/02/30 11:32"));
+        assertNull(TimeNormalizationService.receivedDate("=PRIORITY QN =ORIGIN CASPCAT"));
+        assertNull(TimeNormalizationService.receivedDate(null));
+    }
+
+    @Test
+    void testMvtDayOfMonthRollsBackToThePreviousMonth() {
+        MvtMessage message = new MvtMessage();
+        message.setDateOfFlight("31");
+        message.setActualOffBlockTime("2350");
+        message.setActualTakeoffTime("0005");
+        message.setEstimatedArrivalTime("0130");
+        message.setEstimatedDepartureTime("011030");
+        message.setDepartureTimezone("Africa/Casablanca");
+        message.setArrivalTimezone("Not/AZone");
+
+        service("2025-09-01T02:00:00Z").normalize(message);
+
+        assertEquals(Instant.parse("2025-08-31T23:50:00Z"), message.getActualOffBlockAt().utc());
+        assertEquals(Instant.parse("2025-09-01T00:05:00Z"), message.getActualTakeoffAt().utc());
+        assertEquals(Instant.parse("2025-09-01T01:30:00Z"), message.getEstimatedArrivalAt().utc());
+        assertEquals(Instant.parse("2025-09-01T10:30:00Z"), message.getEstimatedDepartureAt().utc());
+        assertEquals(ZoneOffset.ofHours(1), message.getActualOffBlockAt().offset());
+        assertNull(message.getEstimatedArrivalAt().offset(), "unknown zone");
+        assertNull(message.getEstimatedArrivalAt().local());
+        assertNull(message.getActualLandingAt());
+    }
+
+    @Test
+    void testOffsetFollowsDaylightSavingChanges() {
+        MvtMessage message = new MvtMessage();
+        message.setDateOfFlight("26");
+        message.setEstimatedOffBlockTime("0030");
+        message.setActualOffBlockTime("0130");
+        message.setDepartureTimezone("Europe/Paris");
+
+        service("2025-10-25T12:00:00Z").normalize(message);
+
+        assertEquals(ZoneOffset.ofHours(2), message.getEstimatedOffBlockAt().offset());
+        assertEquals(ZoneOffset.ofHours(1), message.getActualOffBlockAt().offset());
+    }
+
+    private static AsmMessage asm(String flightDate, String departureTime, String arrivalTime) {
+        AsmMessage message = new AsmMessage();
+        message.setFlightDate(flightDate);
+        message.setDepartureTime(departureTime);
+        message.setArrivalTime(arrivalTime);
+        message.setArrivalTimezone("Africa/Casablanca");
+        return message;
+    }
+
+    private static TimeNormalizationService service(String now) {
+        return new TimeNormalizationService(Clock.fixed(Instant.parse(now), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ram.nuitparser.service.enrichment;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import com.ram.nuitparser.service.EnrichmentService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * enrich() on a message whose airline and airports are all known, and on one from a feed with
+ * unknown codes, logging through the same async file appender setup as logback-spring.xml
+ * (into target/enrichment-miss-benchmark.log). Run via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnrichmentMissBenchmark {
+
+    private EnrichmentService enrichmentService;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile("target/enrichment-miss-benchmark.log");
+        file.setAppend(false);
+        file.setEncoder(encoder);
+        file.start();
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(file);
+        async.start();
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(async);
+
+        enrichmentService = EnrichmentServices.loaded();
+    }
+
+    @Benchmark
+    public void knownCodes(Blackhole bh) {
+        bh.consume(enrich("AT970", "CMN", "ORY"));
+    }
+
+    @Benchmark
+    public void unknownCodes(Blackhole bh) {
+        bh.consume(enrich("0Z970", "QQZ", "QQY"));
+    }
+
+    private MvtMessage enrich(String flight, String departure, String arrival) {
+        MvtMessage message = new MvtMessage();
+        message.setFlightDesignator(flight);
+        message.setDepartureAirport(departure);
+        message.setArrivalAirport(arrival);
+        enrichmentService.enrich(message);
+        return message;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EnrichmentMissBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,27 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.ram.nuitparser.service.EnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+
+/**
+ * Builds an {@link EnrichmentService} outside Spring, with the default sizes of
+ * application.properties, for tests, benchmarks and reports.
+ */
+public final class EnrichmentServices {
+
+    private EnrichmentServices() {
+    }
+
+    /**
+     * A service with the classpath reference data already loaded.
+     */
+    public static EnrichmentService loaded() {
+        EnrichmentService service = new EnrichmentService(
+                new UnknownCodeTracker(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(10)),
+                new FlightDesignatorResolver(4096));
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,73 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.ram.nuitparser.model.enrichment.Airline;
+import com.ram.nuitparser.service.EnrichmentService;
+import com.ram.nuitparser.service.enrichment.FlightDesignatorResolver.Resolution;
+import com.ram.nuitparser.service.enrichment.FlightDesignatorResolver.Source;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightDesignatorResolverTest {
+
+    private static ReferenceDataIndex data;
+
+    @BeforeAll
+    static void loadReferenceData() {
+        EnrichmentService enrichmentService = EnrichmentServices.loaded();
+        data = enrichmentService.getReferenceData();
+    }
+
+    @Test
+    void testIataDesignatorsIncludingDigits() {
+        assertResolution("AT205", "AT", "205", "Royal Air Maroc", Source.IATA);
+        assertResolution("3O123A", "3O", "123A", "Air Arabia Maroc", Source.IATA);
+    }
+
+    @Test
+    void testIcaoDesignatorIsNotReadAsAnIataCodeFollowedByLetters() {
+        // RA is Nepal Airlines, but "M205" is no flight number
+        assertResolution("RAM205", "RAM", "205", "Royal Air Maroc", Source.ICAO);
+    }
+
+    @Test
+    void testCallsignPrefix() {
+        assertResolution("ROYALAIRMAROC205", "ROYALAIRMAROC", "205", "Royal Air Maroc", Source.CALLSIGN);
+    }
+
+    @Test
+    void testUnknownDesignatorsStillYieldTheirAirlineCode() {
+        assertResolution("0Z970", "0Z", "970", null, Source.NONE);
+        assertResolution("QQX12", "QQX", "12", null, Source.NONE);
+        assertNull(new FlightDesignatorResolver(16).resolve(data, "A"));
+    }
+
+    @Test
+    void testCachedResolutionsAreRefreshedForNewReferenceData() {
+        FlightDesignatorResolver resolver = new FlightDesignatorResolver(16);
+        assertSame(resolver.resolve(data, "AT205"), resolver.resolve(data, "AT205"));
+        assertEquals(1, resolver.getCacheHits());
+
+        Airline renamed = new Airline();
+        renamed.setIata("AT");
+        renamed.setName("Royal Air Maroc (renamed)");
+        ReferenceDataIndex reloaded = ReferenceDataIndex.build(data.version() + 1, Instant.now(),
+                List.of(renamed), data.airports(), data.aircraft(), data.countries());
+
+        assertEquals("Royal Air Maroc (renamed)", resolver.resolve(reloaded, "AT205").airline().getName());
+        assertEquals(2, resolver.getCacheMisses());
+    }
+
+    private static void assertResolution(String designator, String airlineCode, String flightNumber,
+                                         String airlineName, Source source) {
+        Resolution resolution = new FlightDesignatorResolver(0).resolve(data, designator);
+        assertEquals(airlineCode, resolution.airlineCode(), designator);
+        assertEquals(flightNumber, resolution.flightNumber(), designator);
+        assertEquals(source, resolution.source(), designator);
+        assertEquals(airlineName, resolution.airline() != null ? resolution.airline().getName() : null, designator);
+    }
+}
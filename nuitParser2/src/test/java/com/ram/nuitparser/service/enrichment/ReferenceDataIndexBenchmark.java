@@ -0,0 +1,79 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ram.nuitparser.model.enrichment.Aircraft;
+import com.ram.nuitparser.model.enrichment.Airline;
+import com.ram.nuitparser.model.enrichment.AirportExtended;
+import com.ram.nuitparser.model.enrichment.Country;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hash index against the linear stream-filter lookups it replaced.
+ * The codes mirror one enrich() call: airline, departure and arrival airport, aircraft and country.
+ * Run via {@link #main(String[])} from the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReferenceDataIndexBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Airline> airlines;
+    private List<AirportExtended> airports;
+    private List<Aircraft> aircraft;
+    private List<Country> countries;
+    private ReferenceDataIndex index;
+
+    @Setup
+    public void setUp() throws IOException {
+        airlines = read("/data/airlines.json", new TypeReference<>() {});
+        airports = read("/data/airportsExtended.json", new TypeReference<>() {});
+        aircraft = read("/data/aircraft.json", new TypeReference<>() {});
+        countries = read("/data/countries.json", new TypeReference<>() {});
+        index = ReferenceDataIndex.build(airlines, airports, aircraft, countries);
+    }
+
+    private <T> List<T> read(String resource, TypeReference<List<T>> type) throws IOException {
+        try (InputStream input = getClass().getResourceAsStream(resource)) {
+            return objectMapper.readValue(input, type);
+        }
+    }
+
+    @Benchmark
+    public void streamFilter(Blackhole bh) {
+        bh.consume(airlines.stream().filter(a -> "AT".equals(a.getIata())).findFirst());
+        bh.consume(airports.stream().filter(a -> "CMN".equals(a.getIata())).findFirst());
+        bh.consume(airports.stream().filter(a -> "JED".equals(a.getIata())).findFirst());
+        bh.consume(aircraft.stream().filter(a -> "73H".equals(a.getIataCode())).findFirst());
+        bh.consume(countries.stream().filter(c -> "MA".equals(c.getIso_code())).findFirst());
+    }
+
+    @Benchmark
+    public void hashIndex(Blackhole bh) {
+        bh.consume(index.airlineByIata("AT"));
+        bh.consume(index.airportByIata("CMN"));
+        bh.consume(index.airportByIata("JED"));
+        bh.consume(index.aircraftByIata("73H"));
+        bh.consume(index.countryByIso("MA"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReferenceDataIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
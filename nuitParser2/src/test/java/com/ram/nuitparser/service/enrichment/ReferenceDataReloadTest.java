@@ -0,0 +1,104 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ram.nuitparser.model.enrichment.AirportExtended;
+import com.ram.nuitparser.model.telex.asm.AsmMessage;
+import com.ram.nuitparser.service.EnrichmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceDataReloadTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EnrichmentService enrichmentService;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        enrichmentService = EnrichmentServices.loaded();
+    }
+
+    @Test
+    void testReloadPublishesNextVersionAndKeepsMissingDatasets() throws IOException {
+        ReferenceDataIndex initial = enrichmentService.getReferenceData();
+        assertEquals(1, initial.version());
+        writeAirportsRenamingCasablanca("Casablanca Mohammed V");
+
+        ReferenceDataIndex reloaded = enrichmentService.reload(directory);
+
+        assertEquals(2, reloaded.version());
+        assertSame(reloaded, enrichmentService.getReferenceData());
+        assertEquals(initial.airports().size(), reloaded.airports().size());
+        assertSame(initial.airlines(), reloaded.airlines());
+        assertSame(initial.aircraft(), reloaded.aircraft());
+
+        AsmMessage message = message();
+        enrichmentService.enrich(message);
+        assertEquals("Casablanca Mohammed V", message.getDepartureAirportName());
+        assertEquals("Royal Air Maroc", message.getAirlineName());
+        assertEquals(2, message.getReferenceDataVersion());
+    }
+
+    @Test
+    void testFailedReloadKeepsCurrentData() throws IOException {
+        ReferenceDataIndex initial = enrichmentService.getReferenceData();
+        Files.writeString(directory.resolve("airportsExtended.json"), "[{\"iata\": ");
+
+        assertThrows(IOException.class, () -> enrichmentService.reload(directory));
+
+        assertSame(initial, enrichmentService.getReferenceData());
+        AsmMessage message = message();
+        enrichmentService.enrich(message);
+        assertEquals("Mohammed V International Airport", message.getDepartureAirportName());
+        assertEquals(1, message.getReferenceDataVersion());
+    }
+
+    @Test
+    void testWatchedDirectoryChangeTriggersReload() throws Exception {
+        ReferenceDataReloader reloader = new ReferenceDataReloader(enrichmentService, directory.toString(), 50);
+        reloader.init();
+        try {
+            writeAirportsRenamingCasablanca("Casablanca Watched");
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (enrichmentService.getReferenceData().version() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(2, enrichmentService.getReferenceData().version());
+            assertEquals("Casablanca Watched", enrichmentService.getAirportByIata("CMN").orElseThrow().getName());
+            assertNull(reloader.getLastError());
+        } finally {
+            reloader.cleanup();
+        }
+    }
+
+    private void writeAirportsRenamingCasablanca(String name) throws IOException {
+        List<AirportExtended> airports;
+        try (InputStream input = getClass().getResourceAsStream(ReferenceDataSnapshot.AIRPORTS.jsonResource())) {
+            airports = objectMapper.readValue(input, ReferenceDataSnapshot.AIRPORTS.jsonType());
+        }
+        airports.stream().filter(a -> "CMN".equals(a.getIata())).forEach(a -> a.setName(name));
+        // Written aside and moved in, as an ops copy would, so the watcher never sees a partial file
+        Path staged = Files.createTempFile("airports", ".tmp");
+        objectMapper.writeValue(staged.toFile(), airports);
+        Files.move(staged, directory.resolve("airportsExtended.json"));
+    }
+
+    private static AsmMessage message() {
+        AsmMessage message = new AsmMessage();
+        message.setFlightDesignator("AT763");
+        message.setDepartureAirport("CMN");
+        return message;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ram.nuitparser.model.enrichment.AirportExtended;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceDataSnapshotTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testEveryDatasetReadsBackEqualToItsJson() throws IOException {
+        for (ReferenceDataSnapshot.Dataset<?> dataset : ReferenceDataSnapshot.DATASETS) {
+            assertRoundTrip(dataset);
+        }
+    }
+
+    @Test
+    void testRepeatedValuesShareOneInstance() throws IOException {
+        List<AirportExtended> airports = readBack(ReferenceDataSnapshot.AIRPORTS, json(ReferenceDataSnapshot.AIRPORTS));
+
+        AirportExtended goroka = airports.get(0);
+        AirportExtended madang = airports.get(1);
+        assertEquals("Papua New Guinea", goroka.getCountry());
+        assertSame(goroka.getCountry(), madang.getCountry());
+        assertSame(goroka.getTzDatabaseTimezone(), madang.getTzDatabaseTimezone());
+    }
+
+    @Test
+    void testForeignOrOutdatedStreamsAreRejected() {
+        byte[] json = "[{\"name\":\"Aruba\"}]".getBytes();
+        assertThrows(IOException.class,
+                () -> ReferenceDataSnapshot.read(ReferenceDataSnapshot.COUNTRIES, new ByteArrayInputStream(json)));
+
+        byte[] outdated = {0x4E, 0x50, 0x52, 0x44, 0, 0, 0, 0};
+        assertThrows(IOException.class,
+                () -> ReferenceDataSnapshot.read(ReferenceDataSnapshot.COUNTRIES, new ByteArrayInputStream(outdated)));
+    }
+
+    private <T> void assertRoundTrip(ReferenceDataSnapshot.Dataset<T> dataset) throws IOException {
+        List<T> records = json(dataset);
+        assertFalse(records.isEmpty(), dataset.name());
+        assertEquals(records, readBack(dataset, records), dataset.name());
+    }
+
+    private <T> List<T> json(ReferenceDataSnapshot.Dataset<T> dataset) throws IOException {
+        try (InputStream input = getClass().getResourceAsStream(dataset.jsonResource())) {
+            return objectMapper.readValue(input, dataset.jsonType());
+        }
+    }
+
+    private static <T> List<T> readBack(ReferenceDataSnapshot.Dataset<T> dataset, List<T> records) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReferenceDataSnapshot.write(dataset, records, out);
+        return ReferenceDataSnapshot.read(dataset, new ByteArrayInputStream(out.toByteArray()));
+    }
+}
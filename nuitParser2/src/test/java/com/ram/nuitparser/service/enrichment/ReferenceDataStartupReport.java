@@ -0,0 +1,30 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import com.ram.nuitparser.service.EnrichmentService;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Cold-start cost of the enrichment data: time from entering main, and from JVM start, to the
+ * first enriched telex. Run in a fresh JVM each time via {@link #main(String[])}; delete the
+ * *.bin files under target/classes/data to measure the JSON fallback.
+ */
+public class ReferenceDataStartupReport {
+
+    public static void main(String[] args) {
+        long started = System.nanoTime();
+
+        EnrichmentService enrichmentService = EnrichmentServices.loaded();
+        MvtMessage message = new MvtMessage();
+        message.setFlightDesignator("AT205");
+        message.setDepartureAirport("CMN");
+        message.setArrivalAirport("JFK");
+        enrichmentService.enrich(message);
+
+        long elapsed = (System.nanoTime() - started) / 1_000_000;
+        System.out.printf("First enriched telex (%s, %s) after %d ms in main, %d ms since JVM start%n",
+                message.getAirlineName(), message.getArrivalAirportName(), elapsed,
+                ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
@@ -0,0 +1,112 @@
+package com.ram.nuitparser.service.enrichment;
+
+import com.ram.nuitparser.service.enrichment.UnknownCodeTracker.CodeKind;
+import com.ram.nuitparser.service.enrichment.UnknownCodeTracker.UnknownCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnknownCodeTrackerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-08-17T11:00:00Z"));
+
+    @Test
+    void testRepeatedMissIsReportedOncePerTtl() {
+        UnknownCodeTracker tracker = new UnknownCodeTracker(registry, 100, Duration.ofMinutes(10), clock);
+
+        assertTrue(tracker.recordMiss(CodeKind.AIRLINE, "0Z"));
+        assertFalse(tracker.recordMiss(CodeKind.AIRLINE, "0Z"));
+        clock.advance(Duration.ofMinutes(9));
+        assertFalse(tracker.recordMiss(CodeKind.AIRLINE, "0Z"));
+        clock.advance(Duration.ofMinutes(1));
+        assertTrue(tracker.recordMiss(CodeKind.AIRLINE, "0Z"));
+        // Same code as another kind is a separate entry
+        assertTrue(tracker.recordMiss(CodeKind.AIRPORT, "0Z"));
+
+        assertEquals(4, registry.get("telex.enrichment.misses").tag("kind", "airline").counter().count());
+        assertEquals(1, registry.get("telex.enrichment.misses").tag("kind", "airport").counter().count());
+    }
+
+    @Test
+    void testTopListsMostFrequentCodesFirst() {
+        UnknownCodeTracker tracker = new UnknownCodeTracker(registry, 100, Duration.ofMinutes(10), clock);
+        for (int i = 0; i < 3; i++) tracker.recordMiss(CodeKind.AIRPORT, "QQZ");
+        for (int i = 0; i < 5; i++) tracker.recordMiss(CodeKind.AIRLINE, "0Z");
+        tracker.recordMiss(CodeKind.AIRPORT, "QQY");
+
+        List<UnknownCode> top = tracker.top(2);
+
+        assertEquals(2, top.size());
+        assertEquals(new UnknownCode(CodeKind.AIRLINE, "0Z", 5, clock.instant(), clock.instant()), top.get(0));
+        assertEquals("QQZ", top.get(1).code());
+        assertEquals(3, top.get(1).misses());
+    }
+
+    @Test
+    void testFullCacheSweepsStaleCodesAndCountsTheRest() {
+        UnknownCodeTracker tracker = new UnknownCodeTracker(registry, 2, Duration.ofMinutes(10), clock);
+        tracker.recordMiss(CodeKind.AIRPORT, "AAA");
+        tracker.recordMiss(CodeKind.AIRPORT, "BBB");
+
+        assertFalse(tracker.recordMiss(CodeKind.AIRPORT, "CCC"));
+        assertEquals(2, tracker.trackedCount());
+        assertEquals(1, tracker.untrackedCount());
+
+        clock.advance(Duration.ofMinutes(5));
+        tracker.recordMiss(CodeKind.AIRPORT, "BBB");
+        clock.advance(Duration.ofMinutes(6));
+        // AAA has not been seen for a TTL and makes room
+        assertTrue(tracker.recordMiss(CodeKind.AIRPORT, "CCC"));
+        assertEquals(Set.of("BBB", "CCC"), Set.copyOf(tracker.top(10).stream().map(UnknownCode::code).toList()));
+    }
+
+    @Test
+    void testForgetResolvedDropsCodesTheNewDataKnows() {
+        UnknownCodeTracker tracker = new UnknownCodeTracker(registry, 100, Duration.ofMinutes(10), clock);
+        tracker.recordMiss(CodeKind.AIRPORT, "QQZ");
+        tracker.recordMiss(CodeKind.AIRPORT, "QQY");
+
+        tracker.forgetResolved(CodeKind.AIRPORT, "QQZ"::equals);
+
+        assertEquals(1, tracker.trackedCount());
+        assertEquals("QQY", tracker.top(10).get(0).code());
+        assertTrue(tracker.recordMiss(CodeKind.AIRPORT, "QQZ"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
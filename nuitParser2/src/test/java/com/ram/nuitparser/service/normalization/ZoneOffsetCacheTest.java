@@ -0,0 +1,40 @@
+package com.ram.nuitparser.service.normalization;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRules;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneOffsetCacheTest {
+
+    @Test
+    void testOffsetsMatchTheZoneRulesInsideAndOutsideTheWindow() {
+        ZoneOffsetCache cache = new ZoneOffsetCache(1);
+        int year = ZonedDateTime.now(ZoneOffset.UTC).getYear();
+        Instant from = ZonedDateTime.of(year - 3, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toInstant();
+        Instant to = ZonedDateTime.of(year + 3, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toInstant();
+        for (String zone : new String[]{"Europe/Paris", "Africa/Casablanca", "America/New_York", "Asia/Kathmandu", "UTC"}) {
+            ZoneRules rules = ZoneId.of(zone).getRules();
+            for (Instant at = from; at.isBefore(to); at = at.plus(Duration.ofMinutes(30))) {
+                assertEquals(rules.getOffset(at), cache.offset(zone, at), zone + " at " + at);
+            }
+        }
+        assertEquals(5, cache.size());
+    }
+
+    @Test
+    void testUnknownZonesHaveNoOffset() {
+        ZoneOffsetCache cache = new ZoneOffsetCache(1);
+
+        assertNull(cache.offset("\\N", Instant.EPOCH));
+        assertNull(cache.offset("Not/AZone", Instant.EPOCH));
+        assertNull(cache.offset(null, Instant.EPOCH));
+        assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,154 @@
+package com.ram.nuitparser.service.reader;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileReadinessTrackerTest {
+
+    @TempDir
+    Path dir;
+
+    private SimpleMeterRegistry registry;
+    private FileReadinessTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tracker = new FileReadinessTracker(registry);
+        ReflectionTestUtils.setField(tracker, "initialDelayMs", 5L);
+        ReflectionTestUtils.setField(tracker, "maxDelayMs", 50L);
+        ReflectionTestUtils.setField(tracker, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(tracker, "quietPeriodMs", 100L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.shutdown();
+    }
+
+    @Test
+    void testStableFileIsHandedOver() throws Exception {
+        Path file = Files.writeString(dir.resolve("ASM.txt"), "=TEXT\nASM");
+        CompletableFuture<Path> ready = new CompletableFuture<>();
+
+        tracker.track(file, ready::complete);
+
+        assertEquals(file, ready.get(2, TimeUnit.SECONDS));
+        assertEquals(0, tracker.pendingCount());
+        assertEquals(1, registry.get("telex.ingest.readiness.latency").timer().count());
+    }
+
+    @Test
+    void testFileMustStayUnchangedForTheQuietPeriod() throws Exception {
+        Path file = Files.writeString(dir.resolve("LDM.txt"), "=TEXT\nLDM");
+        CompletableFuture<Long> ready = new CompletableFuture<>();
+        long started = System.nanoTime();
+
+        tracker.track(file, path -> ready.complete(System.nanoTime()));
+
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(ready.get(2, TimeUnit.SECONDS) - started);
+        assertTrue(waitedMs >= 100, "handed over after " + waitedMs + " ms");
+    }
+
+    @Test
+    void testBlockedHandoffDoesNotStallReadinessChecks() throws Exception {
+        Path first = Files.writeString(dir.resolve("first.txt"), "=TEXT\nASM");
+        Path second = Files.writeString(dir.resolve("second.txt"), "=TEXT\nMVT");
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Path> secondReady = new CompletableFuture<>();
+
+        // The first callback blocks like a submit into a full worker queue
+        tracker.track(first, path -> awaitQuietly(release));
+        tracker.track(second, secondReady::complete);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (tracker.pendingCount() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(0, tracker.pendingCount(), "both files were checked while the handoff was blocked");
+        assertEquals(2, registry.get("telex.ingest.readiness.latency").timer().count());
+
+        release.countDown();
+        assertEquals(second, secondReady.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testGrowingFileWaitsUntilWriterStops() throws Exception {
+        Path file = Files.writeString(dir.resolve("MVT.txt"), "=TEXT\n");
+        CompletableFuture<String> ready = new CompletableFuture<>();
+
+        tracker.track(file, path -> ready.complete(readQuietly(path)));
+        for (int i = 0; i < 5 && !ready.isDone(); i++) {
+            Files.writeString(file, "=TEXT\nMVT".repeat(i + 2));
+            tracker.touched(file);
+        }
+
+        String content = ready.get(2, TimeUnit.SECONDS);
+        assertEquals(Files.readString(file), content);
+    }
+
+    @Test
+    void testEmptyFileIsDroppedWithoutTimingOut() throws Exception {
+        Path file = Files.createFile(dir.resolve("empty.txt"));
+        CompletableFuture<Path> ready = new CompletableFuture<>();
+
+        tracker.track(file, ready::complete);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (tracker.pendingCount() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(0, tracker.pendingCount(), "settled well before the 5 s timeout");
+        assertFalse(ready.isDone());
+        assertEquals(0, registry.get("telex.ingest.readiness.timeouts").counter().count());
+    }
+
+    @Test
+    void testDeletedFileIsDropped() throws Exception {
+        Path file = Files.writeString(dir.resolve("gone.txt"), "x");
+        CompletableFuture<Path> ready = new CompletableFuture<>();
+        Files.delete(file);
+
+        tracker.track(file, ready::complete);
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertFalse(ready.isDone());
+        assertEquals(0, tracker.pendingCount());
+    }
+
+    @Test
+    void testTemporaryNamesAreIgnored() {
+        assertTrue(FileReadinessTracker.isTemporary(Path.of("telex.tmp")));
+        assertTrue(FileReadinessTracker.isTemporary(Path.of("telex.TXT.part")));
+        assertTrue(FileReadinessTracker.isTemporary(Path.of(".hidden")));
+        assertFalse(FileReadinessTracker.isTemporary(Path.of("SSM Message.txt")));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String readQuietly(Path path) {
+        try {
+            return Files.readString(path);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
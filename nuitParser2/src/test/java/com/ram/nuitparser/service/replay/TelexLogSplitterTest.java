@@ -0,0 +1,97 @@
+package com.ram.nuitparser.service.replay;
+
+import com.ram.nuitparser.enums.TelexType;
+import com.ram.nuitparser.parser.envelope.EnvelopeScanner;
+import com.ram.nuitparser.parser.envelope.ScannedEnvelope;
+import com.ram.nuitparser.parser.type.TelexTypeDetector;
+import com.ram.nuitparser.parser.type.TelexTypeKeyword;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelexLogSplitterTest {
+
+    private static final TelexTypeDetector DETECTOR = new TelexTypeDetector(TelexTypeKeyword.standard());
+    private static final Predicate<String> IDENTIFIER = line -> DETECTOR.detect(line) != TelexType.UNKNOWN;
+
+    @Test
+    void testBackToBackEnvelopesAreSplit() throws Exception {
+        String log = String.join("\n",
+                "=PRIORITY",
+                "QD",
+                "=TEXT",
+                "ASM",
+                "RPL",
+                "=HEADER",
+                "RCV,2025/08/17 11:32",
+                "=PRIORITY",
+                "QU",
+                "=SMI",
+                "LDM",
+                "=TEXT",
+                "AT933/17.CNRGV.J12Y147.2/4",
+                "",
+                "=PRIORITY",
+                "QN",
+                "=TEXT",
+                "SSM",
+                "");
+        List<String> envelopes = new ArrayList<>();
+
+        long count = TelexLogSplitter.split(new BufferedReader(new StringReader(log)), IDENTIFIER, envelopes::add);
+
+        assertEquals(3, count);
+        assertEquals("=PRIORITY\nQD\n=TEXT\nASM\nRPL\n", envelopes.get(0));
+        assertTrue(envelopes.get(1).startsWith("=HEADER\n"));
+        assertTrue(envelopes.get(1).contains("=SMI\nLDM\n=TEXT\nAT933"));
+        assertEquals("=PRIORITY\nQN\n=TEXT\nSSM\n", envelopes.get(2));
+    }
+
+    @Test
+    void testBlankInputEmitsNothing() throws Exception {
+        List<String> envelopes = new ArrayList<>();
+
+        assertEquals(0, TelexLogSplitter.split(new BufferedReader(new StringReader("\n\n")), IDENTIFIER, envelopes::add));
+        assertTrue(envelopes.isEmpty());
+    }
+
+    @Test
+    void testBareTelexesAreSplitAtBlankLinesAndWrapped() throws Exception {
+        // The logs/telex.log layout: address lines, the message identifier, the body, a blank line
+        String log = String.join("\n",
+                "AFRPPYA",
+                "AFRFACA LFPGZDCA",
+                "ASM",
+                "XY123/24MAR",
+                "JFKLAX",
+                "",
+                "DLPPSIA",
+                "AALFJSJ KLAXZDCA",
+                "MVT",
+                "AA456/25MAR",
+                "JFK-LAX",
+                "",
+                "",
+                "FREE TEXT WITHOUT IDENTIFIER",
+                "");
+        List<String> envelopes = new ArrayList<>();
+
+        long count = TelexLogSplitter.split(new BufferedReader(new StringReader(log)), IDENTIFIER, envelopes::add);
+
+        assertEquals(3, count);
+        assertEquals("=HEADER\nAFRPPYA\nAFRFACA LFPGZDCA\n=TEXT\nASM\nXY123/24MAR\nJFKLAX\n", envelopes.get(0));
+
+        ScannedEnvelope mvt = EnvelopeScanner.scan(envelopes.get(1));
+        assertEquals("DLPPSIA AALFJSJ KLAXZDCA", mvt.headers().get("HEADER"));
+        assertEquals(3, mvt.body().size());
+        assertEquals(TelexType.MVT, DETECTOR.detect(mvt.body().line(0)));
+
+        assertEquals("=TEXT\nFREE TEXT WITHOUT IDENTIFIER\n", envelopes.get(2));
+    }
+}
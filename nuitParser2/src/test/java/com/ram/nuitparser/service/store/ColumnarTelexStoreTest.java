@@ -0,0 +1,143 @@
+package com.ram.nuitparser.service.store;
+
+import com.ram.nuitparser.enums.TelexType;
+import com.ram.nuitparser.model.telex.FlightTime;
+import com.ram.nuitparser.model.telex.TelexMessage;
+import com.ram.nuitparser.model.telex.asm.AsmMessage;
+import com.ram.nuitparser.model.telex.mvt.MovementType;
+import com.ram.nuitparser.model.telex.mvt.MvtDelay;
+import com.ram.nuitparser.model.telex.mvt.MvtMessage;
+import com.ram.nuitparser.parser.TelexRouter;
+import com.ram.nuitparser.parser.asm.ASMParser;
+import com.ram.nuitparser.parser.envelope.DestinationAddressParser;
+import com.ram.nuitparser.parser.envelope.EnvelopeScanner;
+import com.ram.nuitparser.parser.envelope.ScannedEnvelope;
+import com.ram.nuitparser.parser.envelope.TelexEnvelope;
+import com.ram.nuitparser.parser.ldm.LDMParser;
+import com.ram.nuitparser.parser.mvt.MVTParser;
+import com.ram.nuitparser.parser.ssm.SSMParser;
+import com.ram.nuitparser.service.StoredTelex;
+import com.ram.nuitparser.service.TimeNormalizationService;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarTelexStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-08-17T11:00:00.123456789Z");
+
+    private final TelexRouter router = new TelexRouter(
+            List.of(new ASMParser(), new MVTParser(), new SSMParser(), new LDMParser()));
+
+    @ParameterizedTest
+    @CsvSource({"ASM Message.txt, ASM", "SSM Message.txt, SSM", "LDM Message.txt, LDM"})
+    void testSampleTelexesAreRebuiltUnchanged(String file, TelexType type) throws Exception {
+        String content = Files.readString(Path.of("telex_files", file));
+        ScannedEnvelope scanned = EnvelopeScanner.scan(content);
+        TelexEnvelope envelope = TelexEnvelope.of(scanned,
+                new DestinationAddressParser(0).parse(scanned.headers().get("DESTINATION")));
+        List<TelexMessage> messages = router.routeAll(envelope, type);
+        assertFalse(messages.isEmpty());
+        messages.forEach(new TimeNormalizationService()::normalize);
+
+        ColumnarTelexStore store = new ColumnarTelexStore(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            store.put(i, new StoredTelex(i, NOW, messages.get(i), content));
+        }
+        for (int i = 0; i < messages.size(); i++) {
+            StoredTelex stored = store.get(i, i);
+            assertEquals(messages.get(i), stored.message());
+            assertEquals(content, stored.raw());
+            assertEquals(NOW, stored.ingestedAt());
+        }
+    }
+
+    @Test
+    void testValuesOutsideThePackedFormsOverflow() {
+        MvtMessage message = new MvtMessage();
+        message.setFlightDesignator("AT205");
+        message.setDateOfFlight("12");
+        message.setMsgId("0042");
+        message.setActualOffBlockTime("121015");
+        message.setActualTakeoffTime("0005");
+        message.setMovementType(MovementType.DEP);
+        message.setDelays(List.of(new MvtDelay("72", 30), new MvtDelay("93A", null)));
+        message.setRemarks("CREW LATE ÄÖ€");
+        message.setReferenceDataVersion(3);
+        message.setActualOffBlockAt(new FlightTime(Instant.parse("2025-08-12T10:15:00Z"), ZoneOffset.ofHours(-4)));
+        message.setActualTakeoffAt(new FlightTime(Instant.parse("2025-08-13T00:05:30Z"), null));
+        message.setNextInformationAt(new FlightTime(Instant.parse("1890-03-01T11:00:00Z"), ZoneOffset.ofHoursMinutesSeconds(0, -30, -21)));
+        ColumnarTelexStore store = new ColumnarTelexStore(2);
+
+        store.put(1, new StoredTelex(7, NOW, message, "AD1015 €"));
+        StoredTelex stored = store.get(1, 7);
+
+        assertEquals(message, stored.message());
+        assertEquals("AD1015 €", stored.raw());
+        assertNull(store.get(1, 8), "another sequence in the slot");
+        assertNull(store.get(0, 0), "never written");
+    }
+
+    @Test
+    void testOtherMessagesAndClearedSlots() {
+        AsmMessage renamed = new AsmMessage();
+        renamed.setType("ASX");
+        ColumnarTelexStore store = new ColumnarTelexStore(3);
+
+        store.put(0, new StoredTelex(0, NOW, renamed, "raw"));
+        store.put(1, new StoredTelex(1, NOW, null, null));
+
+        assertSame(renamed, store.get(0, 0).message());
+        assertNull(store.get(1, 1).message());
+        assertEquals(NOW, store.ingestedAt(1, 1));
+        store.clear(1, 1);
+        assertNull(store.get(1, 1));
+        assertNull(store.ingestedAt(1, 1));
+    }
+
+    @Test
+    void testReadersNeverSeeTornEntries() throws Exception {
+        int capacity = 64;
+        ColumnarTelexStore store = new ColumnarTelexStore(capacity);
+        int writes = 200_000;
+        List<String> failures = new ArrayList<>();
+
+        Thread writer = new Thread(() -> {
+            for (int sequence = 0; sequence < writes; sequence++) {
+                MvtMessage message = new MvtMessage();
+                message.setFlightDesignator("AT" + sequence);
+                message.setRemarks("R" + sequence);
+                store.put(sequence % capacity, new StoredTelex(sequence, NOW, message, "raw " + sequence));
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            for (int slot = 0; slot < capacity; slot++) {
+                for (long sequence = slot; sequence < writes; sequence += capacity) {
+                    StoredTelex entry = store.get(slot, sequence);
+                    if (entry != null) {
+                        String expected = "AT" + sequence;
+                        if (!expected.equals(entry.message().getFlightDesignator())
+                                || !("raw " + sequence).equals(entry.raw())) {
+                            failures.add("torn entry at " + sequence);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        writer.join();
+
+        assertTrue(failures.isEmpty(), () -> failures.getFirst());
+        assertEquals("AT" + (writes - 1), store.get((writes - 1) % capacity, writes - 1).message().getFlightDesignator());
+    }
+}